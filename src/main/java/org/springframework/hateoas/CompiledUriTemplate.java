@@ -0,0 +1,369 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.hateoas.TemplateVariable.VariableType;
+import org.springframework.hateoas.core.UriEncoder;
+
+/**
+ * Compiled form of the expansion of a {@link UriTemplate}. The base URI is split into static parts and the names of
+ * the required variables it contains, the optional variables are kept in order. Expansion then writes the URI string
+ * into a {@link StringBuilder} right away instead of expanding a {@link org.springframework.web.util.UriTemplate},
+ * going through a {@link org.springframework.web.util.UriComponentsBuilder} and creating {@link URI}s.
+ * <p>
+ * The result has to be identical to the one of the general expansion in {@link UriTemplate}, which encodes the base
+ * URI but appends optional values without encoding them and normalizes the path. Thus only templates with a plain base
+ * URI, i.e. a path and query that don't need any encoding and required variables only in the path, are compiled. Other
+ * templates are represented by {@link #NOT_COMPILABLE}. Likewise {@link #expand(Object[])} and {@link #expand(Map)}
+ * return {@literal null} for missing values and values that would need encoding, so that callers fall back to the
+ * general expansion.
+ */
+final class CompiledUriTemplate {
+
+	/**
+	 * Template that cannot be compiled, always falls back.
+	 */
+	static final CompiledUriTemplate NOT_COMPILABLE = new CompiledUriTemplate(null, null, null, null, null);
+
+	private static final Object MISSING = new Object();
+
+	private final String prefix;
+	private final String[] literals;
+	private final String[] names;
+	private final String query;
+	private final TemplateVariable[] optionalVariables;
+
+	private CompiledUriTemplate(String prefix, String[] literals, String[] names, String query,
+			TemplateVariable[] optionalVariables) {
+
+		this.prefix = prefix;
+		this.literals = literals;
+		this.names = names;
+		this.query = query;
+		this.optionalVariables = optionalVariables;
+	}
+
+	/**
+	 * Compiles the expansion of the template with the given base URI and variables.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 * @param variables must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static CompiledUriTemplate compile(String baseUri, TemplateVariables variables) {
+
+		if (baseUri.length() == 0 || baseUri.indexOf('#') != -1) {
+			return NOT_COMPILABLE;
+		}
+
+		int queryIndex = baseUri.indexOf('?');
+		String base = queryIndex == -1 ? baseUri : baseUri.substring(0, queryIndex);
+		String query = queryIndex == -1 ? null : baseUri.substring(queryIndex + 1);
+		Set<String> queryNames = new HashSet<String>();
+
+		if (query != null && !isPlainQuery(query, queryNames)) {
+			return NOT_COMPILABLE;
+		}
+
+		int pathIndex = base.startsWith("/") ? 0 : getPathIndex(base);
+
+		if (pathIndex == -1) {
+			return NOT_COMPILABLE;
+		}
+
+		List<String> literals = new ArrayList<String>();
+		List<String> names = new ArrayList<String>();
+		int literalStart = pathIndex;
+
+		for (int start = base.indexOf('{', pathIndex); start != -1; start = base.indexOf('{', literalStart)) {
+
+			int end = base.indexOf('}', start);
+
+			if (end == -1 || !isName(base, start + 1, end)) {
+				return NOT_COMPILABLE;
+			}
+
+			literals.add(base.substring(literalStart, start));
+			names.add(base.substring(start + 1, end));
+			literalStart = end + 1;
+		}
+
+		literals.add(base.substring(literalStart));
+
+		for (String literal : literals) {
+			if (!UriEncoder.PATH.isAllowed(literal) || literal.contains("//")) {
+				return NOT_COMPILABLE;
+			}
+		}
+
+		List<TemplateVariable> optionalVariables = new ArrayList<TemplateVariable>();
+
+		for (TemplateVariable variable : variables) {
+
+			if (variable.isRequired()) {
+				continue;
+			}
+
+			// repeated parameters are grouped by name, changing their order
+			if (variable.isRequestParameterVariable() && !queryNames.add(variable.getName())) {
+				return NOT_COMPILABLE;
+			}
+
+			optionalVariables.add(variable);
+		}
+
+		return new CompiledUriTemplate(base.substring(0, pathIndex), literals.toArray(new String[literals.size()]),
+				names.toArray(new String[names.size()]), query,
+				optionalVariables.toArray(new TemplateVariable[optionalVariables.size()]));
+	}
+
+	/**
+	 * Expands the template with the given parameters, applied in the order of the variables.
+	 *
+	 * @param parameters can be {@literal null}.
+	 * @return the expanded URI or {@literal null} if the general expansion has to be used.
+	 */
+	String expand(Object[] parameters) {
+		return parameters == null ? null : expand(parameters, null);
+	}
+
+	/**
+	 * Expands the template with the given parameters.
+	 *
+	 * @param parameters can be {@literal null}.
+	 * @return the expanded URI or {@literal null} if the general expansion has to be used.
+	 */
+	String expand(Map<String, ? extends Object> parameters) {
+		return parameters == null ? null : expand(null, parameters);
+	}
+
+	private String expand(Object[] arguments, Map<String, ? extends Object> parameters) {
+
+		if (this == NOT_COMPILABLE) {
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder(prefix.length() + 64);
+		builder.append(prefix).append(literals[0]);
+
+		for (int i = 0; i < names.length; i++) {
+
+			Object value = arguments != null ? (i < arguments.length ? arguments[i] : MISSING)
+					: parameters.containsKey(names[i]) ? parameters.get(names[i]) : MISSING;
+
+			// missing values are reported, null and empty ones lead to empty segments collapsed by the general expansion
+			if (value == MISSING || !append(builder, value, UriEncoder.PATH_SEGMENT, false)) {
+				return null;
+			}
+
+			builder.append(literals[i + 1]);
+		}
+
+		boolean hasSegments = false;
+
+		for (int i = 0; i < optionalVariables.length; i++) {
+
+			TemplateVariable variable = optionalVariables[i];
+
+			if (variable.getType() != VariableType.SEGMENT) {
+				continue;
+			}
+
+			Object value = getOptionalValue(arguments, parameters, i);
+
+			if (value == null) {
+				continue;
+			}
+
+			if (!hasSegments && builder.length() > prefix.length() && builder.charAt(builder.length() - 1) == '/') {
+				builder.setLength(builder.length() - 1);
+			}
+
+			hasSegments = true;
+
+			if (!append(builder.append('/'), value, UriEncoder.PATH_SEGMENT, false)) {
+				return null;
+			}
+		}
+
+		boolean hasQuery = query != null;
+
+		if (hasQuery) {
+			builder.append('?').append(query);
+		}
+
+		Object fragment = null;
+
+		for (int i = 0; i < optionalVariables.length; i++) {
+
+			TemplateVariable variable = optionalVariables[i];
+			Object value = getOptionalValue(arguments, parameters, i);
+
+			if (value == null) {
+				continue;
+			}
+
+			if (variable.isFragment()) {
+				fragment = value;
+			} else if (variable.isRequestParameterVariable()) {
+
+				builder.append(hasQuery ? '&' : '?').append(variable.getName()).append('=');
+				hasQuery = true;
+
+				if (!append(builder, value, UriEncoder.QUERY_PARAM, true)) {
+					return null;
+				}
+			}
+		}
+
+		if (fragment != null && !append(builder.append('#'), fragment, UriEncoder.FRAGMENT, false)) {
+			return null;
+		}
+
+		return builder.toString();
+	}
+
+	private Object getOptionalValue(Object[] arguments, Map<String, ? extends Object> parameters, int index) {
+
+		if (arguments != null) {
+			return index < arguments.length ? arguments[index] : null;
+		}
+
+		return parameters.get(optionalVariables[index].getName());
+	}
+
+	/**
+	 * Appends the given value if it doesn't need to be encoded.
+	 *
+	 * @return whether the value was appended.
+	 */
+	private static boolean append(StringBuilder builder, Object value, UriEncoder encoder, boolean allowEmpty) {
+
+		if (value == null) {
+			return false;
+		}
+
+		String string = value.toString();
+
+		if (string.length() == 0 ? !allowEmpty : !encoder.isAllowed(string)) {
+			return false;
+		}
+
+		builder.append(string);
+		return true;
+	}
+
+	/**
+	 * Returns the index of the path of the given absolute URI or {@literal -1} if it doesn't consist of a scheme and a
+	 * plain host and port only.
+	 */
+	private static int getPathIndex(String base) {
+
+		int authorityIndex = base.indexOf("://");
+
+		if (authorityIndex <= 0 || !isScheme(base, authorityIndex)) {
+			return -1;
+		}
+
+		int pathIndex = base.indexOf('/', authorityIndex + 3);
+		pathIndex = pathIndex == -1 ? base.length() : pathIndex;
+		String authority = base.substring(authorityIndex + 3, pathIndex);
+
+		if (authority.length() == 0 || !authority.matches("[A-Za-z0-9.:-]+")) {
+			return -1;
+		}
+
+		try {
+
+			URI uri = new URI(base.substring(0, pathIndex));
+			String host = uri.getHost();
+
+			// the host and port are rendered from their parsed form
+			if (host == null || !authority.equals(uri.getPort() == -1 ? host : host + ":" + uri.getPort())) {
+				return -1;
+			}
+
+		} catch (Exception o_O) {
+			return -1;
+		}
+
+		return pathIndex;
+	}
+
+	private static boolean isScheme(String base, int end) {
+
+		for (int i = 0; i < end; i++) {
+
+			char c = base.charAt(i);
+
+			if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || i > 0
+					&& (c >= '0' && c <= '9' || c == '+' || c == '-' || c == '.'))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isName(String base, int start, int end) {
+
+		if (start == end) {
+			return false;
+		}
+
+		for (int i = start; i < end; i++) {
+
+			char c = base.charAt(i);
+
+			if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns whether the given query consists of distinct, plain parameters rendered as given, collecting their names.
+	 */
+	private static boolean isPlainQuery(String query, Set<String> names) {
+
+		if (query.length() == 0) {
+			return false;
+		}
+
+		for (String parameter : query.split("&", -1)) {
+
+			int separator = parameter.indexOf('=');
+			String name = separator == -1 ? parameter : parameter.substring(0, separator);
+			String value = separator == -1 ? "" : parameter.substring(separator + 1);
+
+			if (name.length() == 0 || value.indexOf('=') != -1 || !UriEncoder.QUERY_PARAM.isAllowed(name)
+					|| !UriEncoder.QUERY_PARAM.isAllowed(value) || !names.add(name)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -27,6 +27,7 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlType;
 
+import org.springframework.hateoas.core.BoundedCache;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -52,8 +53,11 @@ public class Link implements Serializable {
 	public static final String REL_NEXT = "next";
 	public static final String REL_LAST = "last";
 
-	@XmlAttribute private String rel;
-	@XmlAttribute private String href;
+	private static final int RELS_CACHE_SIZE = 1024;
+	private static final BoundedCache<String, String> RELS = new BoundedCache<String, String>(RELS_CACHE_SIZE);
+
+	private String rel;
+	private String href;
 	@XmlTransient @JsonIgnore private UriTemplate template;
 
 	/**
@@ -73,7 +77,19 @@ public class Link implements Serializable {
 	 * @param rel must not be {@literal null} or empty.
 	 */
 	public Link(String href, String rel) {
-		this(new UriTemplate(href), rel);
+
+		Assert.hasText(href, "Href must not be null or empty!");
+		Assert.hasText(rel, "Rel must not be null or empty!");
+
+		// plain hrefs render as they are, the template is only created when needed
+		if (href.indexOf('{') == -1) {
+			this.href = href;
+		} else {
+			this.template = UriTemplate.of(href);
+			this.href = template.toString();
+		}
+
+		this.rel = internRel(rel);
 	}
 
 	/**
@@ -89,7 +105,25 @@ public class Link implements Serializable {
 
 		this.template = template;
 		this.href = template.toString();
-		this.rel = rel;
+		this.rel = internRel(rel);
+	}
+
+	/**
+	 * Creates a new {@link Link} with the given href, rel and {@link UriTemplate} taken as they are. Subclasses rendering
+	 * the href on demand, like {@link org.springframework.hateoas.core.DeferredLink}, hand in a {@literal null} href and
+	 * override {@link #getHref()}.
+	 * 
+	 * @param href can be {@literal null}.
+	 * @param rel must not be {@literal null} or empty.
+	 * @param template the {@link UriTemplate} of the href, can be {@literal null}.
+	 */
+	protected Link(String href, String rel, UriTemplate template) {
+
+		Assert.hasText(rel, "Rel must not be null or empty!");
+
+		this.href = href;
+		this.rel = internRel(rel);
+		this.template = template;
 	}
 
 	/**
@@ -104,6 +138,7 @@ public class Link implements Serializable {
 	 * 
 	 * @return
 	 */
+	@XmlAttribute
 	public String getHref() {
 		return href;
 	}
@@ -113,6 +148,7 @@ public class Link implements Serializable {
 	 * 
 	 * @return
 	 */
+	@XmlAttribute
 	public String getRel() {
 		return rel;
 	}
@@ -124,7 +160,7 @@ public class Link implements Serializable {
 	 * @return
 	 */
 	public Link withRel(String rel) {
-		return new Link(href, rel);
+		return new Link(getHref(), rel);
 	}
 
 	/**
@@ -162,7 +198,7 @@ public class Link implements Serializable {
 	 * @return
 	 */
 	public boolean isTemplated() {
-		return !getUriTemplate().getVariables().isEmpty();
+		return (template != null || getHref().indexOf('{') != -1) && !getUriTemplate().getVariables().isEmpty();
 	}
 
 	/**
@@ -172,7 +208,7 @@ public class Link implements Serializable {
 	 * @return
 	 */
 	public Link expand(Object... arguments) {
-		return new Link(getUriTemplate().expand(arguments).toString(), getRel());
+		return new Link(getUriTemplate().expandToString(arguments), getRel());
 	}
 
 	/**
@@ -182,18 +218,73 @@ public class Link implements Serializable {
 	 * @return
 	 */
 	public Link expand(Map<String, ? extends Object> arguments) {
-		return new Link(getUriTemplate().expand(arguments).toString(), getRel());
+		return new Link(getUriTemplate().expandToString(arguments), getRel());
 	}
 
+	/**
+	 * Returns a canonical instance of the given rel, so that links with the same rel don't hold copies of it. Up to
+	 * {@value #RELS_CACHE_SIZE} rels are kept, the least recently used ones are evicted once full.
+	 * 
+	 * @param rel can be {@literal null}.
+	 * @return
+	 */
+	private static String internRel(String rel) {
+
+		if (rel == null) {
+			return null;
+		}
+
+		String interned = RELS.get(rel);
+
+		if (interned == null) {
+			interned = RELS.putIfAbsent(rel, rel);
+			interned = interned == null ? rel : interned;
+		}
+
+		return interned;
+	}
+
+	/**
+	 * Returns the {@link UriTemplate} of the link. Templates of plain hrefs are created on demand but not kept.
+	 * 
+	 * @return
+	 */
 	private UriTemplate getUriTemplate() {
 
-		if (template == null) {
-			this.template = new UriTemplate(href);
+		if (template != null) {
+			return template;
+		}
+
+		String href = getHref();
+		UriTemplate template = UriTemplate.of(href);
+
+		if (href.indexOf('{') != -1) {
+			this.template = template;
 		}
 
 		return template;
 	}
 
+	/**
+	 * Setter for the href used by JAXB when unmarshalling.
+	 * 
+	 * @param href
+	 */
+	@SuppressWarnings("unused")
+	private void setHref(String href) {
+		this.href = href;
+	}
+
+	/**
+	 * Setter for the rel used by JAXB when unmarshalling.
+	 * 
+	 * @param rel
+	 */
+	@SuppressWarnings("unused")
+	private void setRel(String rel) {
+		this.rel = rel;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
@@ -211,7 +302,7 @@ public class Link implements Serializable {
 
 		Link that = (Link) obj;
 
-		return this.href.equals(that.href) && this.rel.equals(that.rel);
+		return this.getHref().equals(that.getHref()) && this.getRel().equals(that.getRel());
 	}
 
 	/* 
@@ -222,8 +313,8 @@ public class Link implements Serializable {
 	public int hashCode() {
 
 		int result = 17;
-		result += 31 * href.hashCode();
-		result += 31 * rel.hashCode();
+		result += 31 * getHref().hashCode();
+		result += 31 * getRel().hashCode();
 		return result;
 	}
 
@@ -233,7 +324,7 @@ public class Link implements Serializable {
 	 */
 	@Override
 	public String toString() {
-		return String.format("<%s>;rel=\"%s\"", href, rel);
+		return String.format("<%s>;rel=\"%s\"", getHref(), getRel());
 	}
 
 	/**
@@ -0,0 +1,465 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Insertion ordered {@link List} of {@link Link}s allowing to look up links by rel. Small lists are scanned, once a
+ * list holds more than {@value #INDEX_THRESHOLD} links lookups go through a hash index from rel to the links with that
+ * rel, built on first lookup. Appending links keeps the index up to date, other modifications drop it so that it's
+ * rebuilt on the next lookup. Lists shared between threads have to be indexed upfront through {@link #buildIndex()},
+ * so that lookups never write to them.
+ * <p>
+ * Links are looked up by exact rel. The index holds a single link of a rel as singleton list, so that looking up the
+ * links of a rel doesn't allocate if the list is indexed and only a single link matches.
+ * <p>
+ * A list can be layered on top of an immutable list of links shared with other lists, see {@link #sharing(LinkList)}.
+ * The shared links come first and are looked up through their own index, links added go to a per-list overlay. The
+ * shared links are only copied if they are modified through the list. The overlay is allocated with the first link
+ * added and grows from a single slot.
+ */
+class LinkList extends AbstractList<Link> implements RandomAccess {
+
+	static final int INDEX_THRESHOLD = 8;
+
+	private static final Link[] NO_LINKS = new Link[0];
+
+	private LinkList shared;
+	private Link[] links;
+	private int size;
+	private Map<String, List<Link>> index;
+
+	/**
+	 * Creates a new, empty {@link LinkList}.
+	 */
+	public LinkList() {
+		this.links = NO_LINKS;
+	}
+
+	/**
+	 * Creates a new {@link LinkList} containing the given {@link Link}s.
+	 *
+	 * @param links must not be {@literal null}.
+	 */
+	public LinkList(Collection<? extends Link> links) {
+
+		this.links = links.toArray(new Link[links.size()]);
+		this.size = this.links.length;
+	}
+
+	/**
+	 * Creates a new {@link LinkList} starting with the given shared links.
+	 *
+	 * @param shared must not be {@literal null}, must not be modified anymore and must have been indexed through
+	 *          {@link #buildIndex()}.
+	 * @return
+	 */
+	static LinkList sharing(LinkList shared) {
+
+		LinkList result = new LinkList();
+		result.shared = shared.isEmpty() ? null : shared;
+
+		return result;
+	}
+
+	/**
+	 * Builds the rel index right away if the list exceeds the threshold. Lists that are not modified anymore are safe to
+	 * be read by multiple threads afterwards, as long as they are published safely, e.g. through a final field.
+	 *
+	 * @return the list itself.
+	 */
+	LinkList buildIndex() {
+
+		getIndex();
+		return this;
+	}
+
+	/**
+	 * Returns the first {@link Link} with the given rel from the given {@link List}, using the index if it's a
+	 * {@link LinkList}. Other lists, e.g. set by deserialization, are scanned.
+	 *
+	 * @param links must not be {@literal null}.
+	 * @param rel can be {@literal null}.
+	 * @return the {@link Link} or {@literal null} if none found.
+	 */
+	static Link getLink(List<Link> links, String rel) {
+
+		if (links instanceof LinkList) {
+			return ((LinkList) links).getLink(rel);
+		}
+
+		for (Link link : links) {
+			if (link.getRel().equals(rel)) {
+				return link;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns all {@link Link}s with the given rel from the given {@link List}, using the index if it's a
+	 * {@link LinkList}.
+	 *
+	 * @param links must not be {@literal null}.
+	 * @param rel can be {@literal null}.
+	 * @return an unmodifiable {@link List}, will never be {@literal null}.
+	 */
+	static List<Link> getLinks(List<Link> links, String rel) {
+
+		if (links instanceof LinkList) {
+			return ((LinkList) links).getLinks(rel);
+		}
+
+		List<Link> result = new ArrayList<Link>();
+
+		for (Link link : links) {
+			if (link.getRel().equals(rel)) {
+				result.add(link);
+			}
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Returns the first {@link Link} with the given rel.
+	 *
+	 * @param rel can be {@literal null}.
+	 * @return the {@link Link} or {@literal null} if none found.
+	 */
+	public Link getLink(String rel) {
+
+		if (rel == null) {
+			return null;
+		}
+
+		if (shared != null) {
+
+			Link link = shared.getLink(rel);
+
+			if (link != null) {
+				return link;
+			}
+		}
+
+		Map<String, List<Link>> index = getIndex();
+
+		if (index != null) {
+			List<Link> result = index.get(rel);
+			return result == null ? null : result.get(0);
+		}
+
+		for (int i = 0; i < size; i++) {
+
+			Link link = links[i];
+
+			if (link != null && rel.equals(link.getRel())) {
+				return link;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns all {@link Link}s with the given rel in the order they were added.
+	 *
+	 * @param rel can be {@literal null}.
+	 * @return an unmodifiable {@link List}, will never be {@literal null}.
+	 */
+	public List<Link> getLinks(String rel) {
+
+		if (rel == null) {
+			return Collections.emptyList();
+		}
+
+		List<Link> links = getOwnLinks(rel);
+
+		if (shared == null) {
+			return links;
+		}
+
+		List<Link> sharedLinks = shared.getLinks(rel);
+
+		if (links.isEmpty() || sharedLinks.isEmpty()) {
+			return links.isEmpty() ? sharedLinks : links;
+		}
+
+		List<Link> result = new ArrayList<Link>(sharedLinks.size() + links.size());
+		result.addAll(sharedLinks);
+		result.addAll(links);
+
+		return Collections.unmodifiableList(result);
+	}
+
+	private List<Link> getOwnLinks(String rel) {
+
+		Map<String, List<Link>> index = getIndex();
+
+		if (index != null) {
+			List<Link> result = index.get(rel);
+
+			if (result == null) {
+				return Collections.emptyList();
+			}
+
+			return result.size() == 1 ? result : Collections.unmodifiableList(result);
+		}
+
+		Link first = null;
+		List<Link> result = null;
+
+		for (int i = 0; i < size; i++) {
+
+			Link link = links[i];
+
+			if (link == null || !rel.equals(link.getRel())) {
+				continue;
+			}
+
+			if (first == null) {
+				first = link;
+			} else {
+
+				if (result == null) {
+					result = new ArrayList<Link>(4);
+					result.add(first);
+				}
+
+				result.add(link);
+			}
+		}
+
+		if (result != null) {
+			return Collections.unmodifiableList(result);
+		}
+
+		return first == null ? Collections.<Link> emptyList() : Collections.singletonList(first);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public Link get(int index) {
+
+		int sharedSize = getSharedSize();
+
+		checkIndex(index, sharedSize + size);
+		return index < sharedSize ? shared.get(index) : links[index - sharedSize];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return getSharedSize() + size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#add(java.lang.Object)
+	 */
+	@Override
+	public boolean add(Link link) {
+
+		ensureCapacity(size + 1);
+		links[size++] = link;
+		modCount++;
+
+		if (index != null) {
+			addToIndex(index, link);
+		}
+
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(int index, Link link) {
+
+		if (index == size()) {
+			add(link);
+			return;
+		}
+
+		index = toOwnIndex(index);
+		checkIndex(index, size);
+		ensureCapacity(size + 1);
+
+		System.arraycopy(links, index, links, index + 1, size - index);
+		links[index] = link;
+		size++;
+		modCount++;
+		this.index = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#set(int, java.lang.Object)
+	 */
+	@Override
+	public Link set(int index, Link link) {
+
+		index = toOwnIndex(index);
+		checkIndex(index, size);
+
+		Link previous = links[index];
+		links[index] = link;
+		this.index = null;
+
+		return previous;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public Link remove(int index) {
+
+		index = toOwnIndex(index);
+		checkIndex(index, size);
+
+		Link previous = links[index];
+		System.arraycopy(links, index + 1, links, index, size - index - 1);
+		links[--size] = null;
+		modCount++;
+		this.index = null;
+
+		return previous;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#clear()
+	 */
+	@Override
+	public void clear() {
+
+		Arrays.fill(links, 0, size, null);
+		size = 0;
+		modCount++;
+		this.shared = null;
+		this.index = null;
+	}
+
+	private int getSharedSize() {
+		return shared == null ? 0 : shared.size();
+	}
+
+	/**
+	 * Translates the given index into one of the overlay, copying the shared links into the overlay if the index points
+	 * to one of them.
+	 */
+	private int toOwnIndex(int index) {
+
+		int sharedSize = getSharedSize();
+
+		if (index >= sharedSize) {
+			return index - sharedSize;
+		}
+
+		if (index >= 0) {
+
+			Link[] links = new Link[sharedSize + size + 1];
+
+			shared.toArray(links);
+			System.arraycopy(this.links, 0, links, sharedSize, size);
+
+			this.links = links;
+			this.size += sharedSize;
+			this.shared = null;
+			this.index = null;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns the rel index, building it if the list exceeds the threshold, or {@literal null} if the list is to be
+	 * scanned.
+	 */
+	private Map<String, List<Link>> getIndex() {
+
+		if (index != null || size <= INDEX_THRESHOLD) {
+			return index;
+		}
+
+		Map<String, List<Link>> index = new HashMap<String, List<Link>>(size * 2);
+
+		for (int i = 0; i < size; i++) {
+			addToIndex(index, links[i]);
+		}
+
+		this.index = index;
+		return index;
+	}
+
+	private static void addToIndex(Map<String, List<Link>> index, Link link) {
+
+		if (link == null || link.getRel() == null) {
+			return;
+		}
+
+		String rel = link.getRel();
+		List<Link> existing = index.get(rel);
+
+		if (existing == null) {
+			index.put(rel, Collections.singletonList(link));
+		} else if (existing.size() == 1) {
+
+			List<Link> result = new ArrayList<Link>(4);
+			result.add(existing.get(0));
+			result.add(link);
+
+			index.put(rel, result);
+
+		} else {
+			existing.add(link);
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+
+		if (capacity > links.length) {
+			links = Arrays.copyOf(links, Math.max(capacity, links.length * 2));
+		}
+	}
+
+	private static void checkIndex(int index, int size) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+		}
+	}
+}
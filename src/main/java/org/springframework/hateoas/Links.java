@@ -32,6 +32,7 @@ public class Links implements Iterable<Link> {
 
 	static final Links NO_LINKS = new Links(Collections.<Link> emptyList());
 
+	private final LinkList index;
 	private final List<Link> links;
 
 	/**
@@ -40,7 +41,8 @@ public class Links implements Iterable<Link> {
 	 * @param links
 	 */
 	public Links(List<Link> links) {
-		this.links = links == null ? Collections.<Link> emptyList() : Collections.unmodifiableList(links);
+		this.index = (links == null ? new LinkList() : new LinkList(links)).buildIndex();
+		this.links = Collections.unmodifiableList(index);
 	}
 
 	/**
@@ -59,27 +61,21 @@ public class Links implements Iterable<Link> {
 	 * @return the {@link Link} with the given rel or {@literal null} if none found.
 	 */
 	public Link getLink(String rel) {
-
-		for (Link link : links) {
-			if (link.getRel().equals(rel)) {
-				return link;
-			}
-		}
-
-		return null;
+		return index.getLink(rel);
 	}
 
 	/**
-	 * Returns all {@link Links} with the given relation type.
+	 * Returns all {@link Links} with the given relation type, i.e. the links whose rel ends with the given one. Unlike
+	 * {@link #getLink(String)}, which uses the index built for exact rels, the suffix match scans the links.
 	 * 
-	 * @return the links
+	 * @return a new, modifiable {@link List} of the links in their original order, will never be {@literal null}.
 	 */
 	public List<Link> getLinks(String rel) {
 
 		List<Link> result = new ArrayList<Link>();
 
 		for (Link link : links) {
-			if (link.getRel().endsWith(rel)) {
+			if (link.getRel() != null && link.getRel().endsWith(rel)) {
 				result.add(link);
 			}
 		}
@@ -124,6 +120,16 @@ public class Links implements Iterable<Link> {
 		return new Links(links);
 	}
 
+	/**
+	 * Returns the indexed {@link Link}s, which must not be modified. The index is built upfront, so that the list can be
+	 * shared between threads.
+	 * 
+	 * @return
+	 */
+	LinkList getLinkList() {
+		return index;
+	}
+
 	/**
 	 * Returns whether the {@link Links} containter is empty.
 	 * 
@@ -15,7 +15,6 @@
  */
 package org.springframework.hateoas;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,7 +35,20 @@ public class ResourceSupport implements Identifiable<Link> {
 	private final List<Link> links;
 
 	public ResourceSupport() {
-		this.links = new ArrayList<Link>();
+		this.links = new LinkList();
+	}
+
+	/**
+	 * Creates a new {@link ResourceSupport} starting with the given links. The links are shared, not copied, so that
+	 * resources carrying the same static links, e.g. all resources of a type, can use a single {@link Links} instance
+	 * built once. Links added to the resource are kept per instance.
+	 * 
+	 * @param sharedLinks must not be {@literal null}.
+	 */
+	protected ResourceSupport(Links sharedLinks) {
+
+		Assert.notNull(sharedLinks, "Shared links must not be null!");
+		this.links = LinkList.sharing(sharedLinks.getLinkList());
 	}
 
 	/**
@@ -123,14 +135,17 @@ public class ResourceSupport implements Identifiable<Link> {
 	 * @return the link with the given rel or {@literal null} if none found.
 	 */
 	public Link getLink(String rel) {
+		return LinkList.getLink(links, rel);
+	}
 
-		for (Link link : links) {
-			if (link.getRel().equals(rel)) {
-				return link;
-			}
-		}
-
-		return null;
+	/**
+	 * Returns all {@link Link}s with the given rel in the order they were added.
+	 * 
+	 * @param rel
+	 * @return an unmodifiable {@link List} of the links with the given rel, will never be {@literal null}.
+	 */
+	public List<Link> getLinks(String rel) {
+		return LinkList.getLinks(links, rel);
 	}
 
 	/* 
@@ -18,12 +18,15 @@ package org.springframework.hateoas;
 import static org.springframework.hateoas.TemplateVariable.VariableType.*;
 
 import java.io.Serializable;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.hateoas.TemplateVariable.VariableType;
 import org.springframework.util.Assert;
@@ -78,11 +81,21 @@ public final class TemplateVariables implements Iterable<TemplateVariable>, Seri
 	 */
 	public TemplateVariables concat(Collection<TemplateVariable> variables) {
 
+		if (variables.isEmpty()) {
+			return this;
+		}
+
 		List<TemplateVariable> result = new ArrayList<TemplateVariable>(this.variables.size() + variables.size());
 		result.addAll(this.variables);
 
+		Set<Object> existing = new HashSet<Object>(this.variables.size() * 2);
+
+		for (TemplateVariable variable : this.variables) {
+			existing.add(getEquivalenceKey(variable));
+		}
+
 		for (TemplateVariable variable : variables) {
-			if (!containsEquivalentFor(variable)) {
+			if (!existing.contains(getEquivalenceKey(variable))) {
 				result.add(variable);
 			}
 		}
@@ -109,15 +122,14 @@ public final class TemplateVariables implements Iterable<TemplateVariable>, Seri
 		return this.variables;
 	}
 
-	private boolean containsEquivalentFor(TemplateVariable candidate) {
-
-		for (TemplateVariable variable : this.variables) {
-			if (variable.isEquivalent(candidate)) {
-				return true;
-			}
-		}
+	/**
+	 * Returns a key equal for {@link TemplateVariable#isEquivalent(TemplateVariable) equivalent} variables, i.e. the
+	 * name and the type, considering continued request parameters the same as request parameters.
+	 */
+	private static Object getEquivalenceKey(TemplateVariable variable) {
 
-		return false;
+		VariableType type = variable.getType() == REQUEST_PARAM_CONTINUED ? REQUEST_PARAM : variable.getType();
+		return new SimpleImmutableEntry<String, VariableType>(variable.getName(), type);
 	}
 
 	/* 
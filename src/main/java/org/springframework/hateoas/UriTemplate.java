@@ -19,20 +19,21 @@ import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.springframework.hateoas.TemplateVariable.VariableType;
+import org.springframework.hateoas.core.BoundedCache;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
- * Custom URI template to support qualified URI template variables.
+ * Custom URI template to support qualified URI template variables. Templates are immutable, their string
+ * representation, variable names and parsed base URI are computed once on first use.
  * 
  * @author Oliver Gierke
  * @see http://tools.ietf.org/html/rfc6570
@@ -40,11 +41,19 @@ import org.springframework.web.util.UriComponentsBuilder;
  */
 public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 
-	private static final Pattern VARIABLE_REGEX = Pattern.compile("\\{([\\?\\&#/]?)([\\w\\,]+)\\}");
 	private static final long serialVersionUID = -1007874653930162262L;
+	private static final int CACHE_SIZE = 256;
+	private static final BoundedCache<String, UriTemplate> CACHE = new BoundedCache<String, UriTemplate>(CACHE_SIZE);
 
-	private final TemplateVariables variables;;
-	private String baseUri;
+	private final TemplateVariables variables;
+	private final String baseUri;
+
+	// derived state, computed on first use
+	private transient volatile UriComponents components;
+	private transient volatile TemplateVariables optionalVariables;
+	private transient volatile List<String> variableNames;
+	private transient volatile String string;
+	private transient volatile CompiledUriTemplate compiled;
 
 	/**
 	 * Creates a new {@link UriTemplate} using the given template string.
@@ -55,30 +64,16 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 
 		Assert.hasText(template, "Template must not be null or empty!");
 
-		Matcher matcher = VARIABLE_REGEX.matcher(template);
-		int baseUriEndIndex = template.length();
-		List<TemplateVariable> variables = new ArrayList<TemplateVariable>();
-
-		while (matcher.find()) {
-
-			int start = matcher.start(0);
+		UriTemplate parsed = parse(template);
 
-			VariableType type = VariableType.from(matcher.group(1));
-			String[] names = matcher.group(2).split(",");
-
-			for (String name : names) {
-				TemplateVariable variable = new TemplateVariable(name, type);
-
-				if (!variable.isRequired() && start < baseUriEndIndex) {
-					baseUriEndIndex = start;
-				}
+		this.variables = parsed.variables;
+		this.baseUri = parsed.baseUri;
+	}
 
-				variables.add(variable);
-			}
-		}
+	private UriTemplate(TemplateVariables variables, String baseUri) {
 
-		this.variables = variables.isEmpty() ? TemplateVariables.NONE : new TemplateVariables(variables);
-		this.baseUri = template.substring(0, baseUriEndIndex);
+		this.variables = variables;
+		this.baseUri = baseUri;
 	}
 
 	/**
@@ -95,6 +90,27 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 		this.variables = variables == null ? TemplateVariables.NONE : variables;
 	}
 
+	private UriTemplate(String baseUri, TemplateVariables variables, UriComponents components) {
+
+		this.baseUri = baseUri;
+		this.variables = variables;
+		this.components = components;
+	}
+
+	/**
+	 * Returns the {@link UriTemplate} for the given template string. Other than {@link #UriTemplate(String)} this returns
+	 * shared instances for templates containing variables, as {@link UriTemplate}s are immutable.
+	 *
+	 * @param template must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	public static UriTemplate of(String template) {
+
+		Assert.hasText(template, "Template must not be null or empty!");
+
+		return parse(template);
+	}
+
 	/**
 	 * Creates a new {@link UriTemplate} with the current {@link TemplateVariable}s augmented with the given ones.
 	 * 
@@ -107,7 +123,7 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 			return this;
 		}
 
-		UriComponents components = UriComponentsBuilder.fromUriString(baseUri).build();
+		UriComponents components = getComponents();
 		List<TemplateVariable> result = new ArrayList<TemplateVariable>();
 
 		for (TemplateVariable variable : variables) {
@@ -126,7 +142,11 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 			result.add(variable);
 		}
 
-		return new UriTemplate(baseUri, this.variables.concat(result));
+		if (result.isEmpty()) {
+			return this;
+		}
+
+		return new UriTemplate(baseUri, this.variables.concat(result), components);
 	}
 
 	/**
@@ -152,7 +172,13 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 			return false;
 		}
 
-		return VARIABLE_REGEX.matcher(candidate).find();
+		for (int i = candidate.indexOf('{'); i != -1; i = candidate.indexOf('{', i + 1)) {
+			if (findVariableEnd(candidate, i) != -1) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	/**
@@ -171,10 +197,18 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 	 */
 	public List<String> getVariableNames() {
 
-		List<String> names = new ArrayList<String>();
+		List<String> names = this.variableNames;
 
-		for (TemplateVariable variable : variables) {
-			names.add(variable.getName());
+		if (names == null) {
+
+			names = new ArrayList<String>(variables.asList().size());
+
+			for (TemplateVariable variable : variables) {
+				names.add(variable.getName());
+			}
+
+			names = Collections.unmodifiableList(names);
+			this.variableNames = names;
 		}
 
 		return names;
@@ -194,6 +228,12 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 			return URI.create(baseUri);
 		}
 
+		String expanded = getCompiled().expand(parameters);
+
+		if (expanded != null) {
+			return URI.create(expanded);
+		}
+
 		org.springframework.web.util.UriTemplate baseTemplate = new org.springframework.web.util.UriTemplate(baseUri);
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUri(baseTemplate.expand(parameters));
 		Iterator<Object> iterator = Arrays.asList(parameters).iterator();
@@ -221,6 +261,12 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 
 		Assert.notNull(parameters, "Parameters must not be null!");
 
+		String expanded = getCompiled().expand(parameters);
+
+		if (expanded != null) {
+			return URI.create(expanded);
+		}
+
 		org.springframework.web.util.UriTemplate baseTemplate = new org.springframework.web.util.UriTemplate(baseUri);
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUri(baseTemplate.expand(parameters));
 
@@ -231,6 +277,49 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 		return builder.build().toUri();
 	}
 
+	/**
+	 * Expands the {@link UriTemplate} using the given parameters, like {@link #expand(Object...)} but rendering the
+	 * {@link String} representation of the URI right away if possible.
+	 * 
+	 * @param parameters
+	 * @return
+	 */
+	String expandToString(Object... parameters) {
+
+		String expanded = TemplateVariables.NONE.equals(variables) ? null : getCompiled().expand(parameters);
+		return expanded != null ? expanded : expand(parameters).toString();
+	}
+
+	/**
+	 * Expands the {@link UriTemplate} using the given parameters, like {@link #expand(Map)} but rendering the
+	 * {@link String} representation of the URI right away if possible.
+	 * 
+	 * @param parameters must not be {@literal null}.
+	 * @return
+	 */
+	String expandToString(Map<String, ? extends Object> parameters) {
+
+		String expanded = TemplateVariables.NONE.equals(variables) ? null : getCompiled().expand(parameters);
+		return expanded != null ? expanded : expand(parameters).toString();
+	}
+
+	/**
+	 * Returns the compiled expansion of the template, compiling it on first use.
+	 * 
+	 * @return
+	 */
+	private CompiledUriTemplate getCompiled() {
+
+		CompiledUriTemplate compiled = this.compiled;
+
+		if (compiled == null) {
+			compiled = CompiledUriTemplate.compile(baseUri, variables);
+			this.compiled = compiled;
+		}
+
+		return compiled;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see java.lang.Iterable#iterator()
@@ -247,23 +336,170 @@ public class UriTemplate implements Iterable<TemplateVariable>, Serializable {
 	@Override
 	public String toString() {
 
-		UriComponents components = UriComponentsBuilder.fromUriString(baseUri).build();
-		boolean hasQueryParameters = !components.getQueryParams().isEmpty();
+		String string = this.string;
+
+		if (string == null) {
+
+			TemplateVariables optionalVariables = getOptionalVariables();
+
+			if (optionalVariables.asList().isEmpty()) {
+				string = baseUri;
+			} else {
+				boolean hasQueryParameters = !getComponents().getQueryParams().isEmpty();
+				string = baseUri + optionalVariables.toString(hasQueryParameters);
+			}
+
+			this.string = string;
+		}
 
-		return baseUri + getOptionalVariables().toString(hasQueryParameters);
+		return string;
+	}
+
+	/**
+	 * Returns the parsed form of the given template. Templates without any braces are returned right away, the ones
+	 * containing braces are cached. Once full, the least recently used
+	 * templates are evicted.
+	 *
+	 * @param template must not be {@literal null}.
+	 * @return
+	 */
+	private static UriTemplate parse(String template) {
+
+		if (template.indexOf('{') == -1) {
+			return new UriTemplate(TemplateVariables.NONE, template);
+		}
+
+		UriTemplate parsed = CACHE.get(template);
+
+		if (parsed == null) {
+
+			parsed = doParse(template);
+			CACHE.put(template, parsed);
+		}
+
+		return parsed;
+	}
+
+	/**
+	 * Scans the given template for variable expressions of the form {@code {[?&#/]name[,name]*}}. Braces not enclosing
+	 * such an expression are considered part of the URI.
+	 */
+	private static UriTemplate doParse(String template) {
+
+		int baseUriEndIndex = template.length();
+		List<TemplateVariable> variables = new ArrayList<TemplateVariable>();
+
+		for (int start = template.indexOf('{'); start != -1; start = template.indexOf('{', start + 1)) {
+
+			int end = findVariableEnd(template, start);
+
+			if (end == -1) {
+				continue;
+			}
+
+			int namesStart = start + 1;
+			VariableType type = VariableType.PATH_VARIABLE;
+
+			if (isOperator(template.charAt(namesStart))) {
+				type = VariableType.from(template.substring(namesStart, namesStart + 1));
+				namesStart++;
+			}
+
+			int namesEnd = end;
+
+			// trailing separators are dropped, empty names in between are rejected by TemplateVariable
+			while (namesEnd > namesStart && template.charAt(namesEnd - 1) == ',') {
+				namesEnd--;
+			}
+
+			for (int nameStart = namesStart; nameStart < namesEnd;) {
+
+				int nameEnd = template.indexOf(',', nameStart);
+				nameEnd = nameEnd == -1 || nameEnd > namesEnd ? namesEnd : nameEnd;
+
+				TemplateVariable variable = new TemplateVariable(template.substring(nameStart, nameEnd), type);
+
+				if (!variable.isRequired() && start < baseUriEndIndex) {
+					baseUriEndIndex = start;
+				}
+
+				variables.add(variable);
+				nameStart = nameEnd + 1;
+			}
+
+			start = end;
+		}
+
+		return new UriTemplate(variables.isEmpty() ? TemplateVariables.NONE : new TemplateVariables(variables),
+				template.substring(0, baseUriEndIndex));
+	}
+
+	/**
+	 * Returns the index of the closing brace of the variable expression starting at the given index or {@literal -1} if
+	 * the brace doesn't start a variable expression.
+	 */
+	private static int findVariableEnd(String template, int start) {
+
+		int length = template.length();
+		int index = start + 1;
+
+		if (index < length && isOperator(template.charAt(index))) {
+			index++;
+		}
+
+		int namesStart = index;
+
+		while (index < length && isNameCharacter(template.charAt(index))) {
+			index++;
+		}
+
+		return index > namesStart && index < length && template.charAt(index) == '}' ? index : -1;
+	}
+
+	private static boolean isOperator(char c) {
+		return c == '?' || c == '&' || c == '#' || c == '/';
+	}
+
+	private static boolean isNameCharacter(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == ',';
+	}
+
+	/**
+	 * Returns the parsed base URI. Templates derived through {@link #with(TemplateVariables)} share it.
+	 * 
+	 * @return
+	 */
+	private UriComponents getComponents() {
+
+		UriComponents components = this.components;
+
+		if (components == null) {
+			components = UriComponentsBuilder.fromUriString(baseUri).build();
+			this.components = components;
+		}
+
+		return components;
 	}
 
 	private TemplateVariables getOptionalVariables() {
 
-		List<TemplateVariable> result = new ArrayList<TemplateVariable>();
+		TemplateVariables optionalVariables = this.optionalVariables;
 
-		for (TemplateVariable variable : this) {
-			if (!variable.isRequired()) {
-				result.add(variable);
+		if (optionalVariables == null) {
+
+			List<TemplateVariable> result = new ArrayList<TemplateVariable>();
+
+			for (TemplateVariable variable : this) {
+				if (!variable.isRequired()) {
+					result.add(variable);
+				}
 			}
+
+			optionalVariables = result.isEmpty() ? TemplateVariables.NONE : new TemplateVariables(result);
+			this.optionalVariables = optionalVariables;
 		}
 
-		return new TemplateVariables(result);
+		return optionalVariables;
 	}
 
 	/**
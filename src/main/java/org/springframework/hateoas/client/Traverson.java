@@ -350,7 +350,7 @@ public class Traverson {
 		private String traverseToFinalUrl(boolean expandFinalUrl) {
 
 			String uri = getAndFindLinkWithRel(baseUri.toString(), rels.iterator());
-			UriTemplate uriTemplate = new UriTemplate(uri);
+			UriTemplate uriTemplate = UriTemplate.of(uri);
 			return expandFinalUrl ? uriTemplate.expand(templateParameters).toString() : uriTemplate.toString();
 		}
 
@@ -361,7 +361,7 @@ public class Traverson {
 			}
 
 			HttpEntity<?> request = prepareRequest(headers);
-			UriTemplate uriTemplate = new UriTemplate(uri);
+			UriTemplate uriTemplate = UriTemplate.of(uri);
 
 			ResponseEntity<String> responseEntity = operations.exchange(uriTemplate.expand(templateParameters), GET, request,
 					String.class);
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import java.net.URI;
+
+/**
+ * SPI to provide the base URI links are built against. Registered through {@link BaseUris#setResolver(BaseUriResolver)}
+ * it takes precedence over the base URI derived from the current request, which allows building links outside of a
+ * request, e.g. in batch jobs, message consumers or asynchronous executors.
+ */
+public interface BaseUriResolver {
+
+	/**
+	 * Returns the base URI to build links against, i.e. scheme, authority and any context or servlet path, without a
+	 * trailing slash. Called for every link built, so implementations should return a prepared instance.
+	 *
+	 * @return the base URI or {@literal null} to derive the base URI from the current request.
+	 */
+	URI getBaseUri();
+}
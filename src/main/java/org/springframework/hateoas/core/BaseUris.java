@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import java.net.URI;
+
+import org.springframework.util.Assert;
+
+/**
+ * Process wide configuration of the base URI links are built against. By default the base URI is derived from the
+ * current request. Deployments with a fixed public base URL, e.g. behind a load balancer, can configure it here, which
+ * skips inspecting the request altogether and allows building links off the request thread.
+ *
+ * <pre>
+ * BaseUris.setBaseUri("https://api.example.com/context");
+ * </pre>
+ *
+ * @see BaseUriResolver
+ */
+public final class BaseUris {
+
+	private static volatile BaseUriResolver resolver;
+
+	private BaseUris() {}
+
+	/**
+	 * Configures a fixed base URI. A trailing slash is removed.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 */
+	public static void setBaseUri(String baseUri) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+		setBaseUri(URI.create(baseUri));
+	}
+
+	/**
+	 * Configures a fixed base URI. A trailing slash is removed.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 */
+	public static void setBaseUri(URI baseUri) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+		Assert.isTrue(baseUri.isAbsolute(), "Base URI must be absolute!");
+
+		String string = baseUri.toString();
+
+		while (string.endsWith("/")) {
+			string = string.substring(0, string.length() - 1);
+		}
+
+		setResolver(new FixedBaseUriResolver(URI.create(string)));
+	}
+
+	/**
+	 * Registers the given {@link BaseUriResolver}. Hand in {@literal null} to derive the base URI from the current request
+	 * again.
+	 *
+	 * @param resolver can be {@literal null}.
+	 */
+	public static void setResolver(BaseUriResolver resolver) {
+		BaseUris.resolver = resolver;
+	}
+
+	/**
+	 * Returns the registered {@link BaseUriResolver}.
+	 *
+	 * @return the {@link BaseUriResolver} or {@literal null} if none is registered.
+	 */
+	public static BaseUriResolver getResolver() {
+		return resolver;
+	}
+
+	/**
+	 * Returns the base URI of the {@link LinkContext} bound to the current thread or the one provided by the registered
+	 * {@link BaseUriResolver}.
+	 *
+	 * @return the base URI or {@literal null} if it is to be derived from the current request.
+	 */
+	public static URI getBaseUri() {
+
+		LinkContext context = LinkContext.getCurrent();
+
+		if (context != null) {
+			return context.getBaseUri();
+		}
+
+		BaseUriResolver current = resolver;
+		return current == null ? null : current.getBaseUri();
+	}
+
+	/**
+	 * Removes any configured base URI or {@link BaseUriResolver}.
+	 */
+	public static void reset() {
+		setResolver(null);
+	}
+
+	private static class FixedBaseUriResolver implements BaseUriResolver {
+
+		private final URI baseUri;
+
+		public FixedBaseUriResolver(URI baseUri) {
+			this.baseUri = baseUri;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.BaseUriResolver#getBaseUri()
+		 */
+		@Override
+		public URI getBaseUri() {
+			return baseUri;
+		}
+	}
+}
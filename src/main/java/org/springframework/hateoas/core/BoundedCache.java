@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe cache holding up to a fixed number of entries and evicting the least recently used ones once full.
+ * Entries are spread over up to {@value #MAX_SEGMENTS} segments by the hash of their key, each guarded by its own lock
+ * and bounded to its share of the capacity, so that lookups of different keys rarely contend. Eviction is thus least
+ * recently used per segment.
+ * <p>
+ * Meant for caches whose keys are derived from input, e.g. parsed templates, rels or base URIs of requests, which would
+ * grow without bounds otherwise.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class BoundedCache<K, V> {
+
+	static final int MAX_SEGMENTS = 16;
+
+	private final Segment<K, V>[] segments;
+
+	/**
+	 * Creates a new {@link BoundedCache} holding up to the given number of entries.
+	 *
+	 * @param maxSize must be greater than zero.
+	 */
+	@SuppressWarnings("unchecked")
+	public BoundedCache(int maxSize) {
+
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+
+		int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+		this.segments = new Segment[count];
+
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment<K, V>(maxSize / count + (i < maxSize % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Returns the value cached for the given key.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @return the value or {@literal null} if none is cached.
+	 */
+	public V get(K key) {
+
+		Segment<K, V> segment = getSegment(key);
+
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	/**
+	 * Caches the given value for the given key, replacing the one cached before.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param value must not be {@literal null}.
+	 */
+	public void put(K key, V value) {
+
+		Segment<K, V> segment = getSegment(key);
+
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	/**
+	 * Caches the given value for the given key unless a value is cached for it already.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param value must not be {@literal null}.
+	 * @return the value cached before or {@literal null} if the given one was cached.
+	 */
+	public V putIfAbsent(K key, V value) {
+
+		Segment<K, V> segment = getSegment(key);
+
+		synchronized (segment) {
+
+			V existing = segment.get(key);
+
+			if (existing == null) {
+				segment.put(key, value);
+			}
+
+			return existing;
+		}
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 *
+	 * @return
+	 */
+	public int size() {
+
+		int size = 0;
+
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	private Segment<K, V> getSegment(Object key) {
+
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * Part of the cache, ordered by access and dropping its eldest entry once it exceeds its size.
+	 */
+	@SuppressWarnings("serial")
+	private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+		private final int maxSize;
+
+		public Segment(int maxSize) {
+
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+		 */
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxSize;
+		}
+	}
+}
@@ -1,73 +1,99 @@
 package org.springframework.hateoas.core;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link MappingDiscoverer} caching the mappings discovered by a delegate. Mappings are cached per {@link Class} and
+ * {@link Method}, so that looking up a cached mapping doesn't allocate. Types and methods without a mapping are cached
+ * as well. Types are referenced softly, so that the cache doesn't keep their class loaders alive.
+ */
 public class CachingMappingDiscoverer implements MappingDiscoverer {
-	private Map<String, String> mappingCache = new ConcurrentHashMap<String, String>();
-	private MappingDiscoverer discoverer;
+
+	private static final Object NO_MAPPING = new Object();
+
+	private final ConcurrentMap<Class<?>, TypeMappings> mappingCache = new ConcurrentReferenceHashMap<Class<?>, TypeMappings>();
+	private final MappingDiscoverer discoverer;
 
 	public CachingMappingDiscoverer(MappingDiscoverer discoverer) {
+
+		Assert.notNull(discoverer, "MappingDiscoverer must not be null!");
 		this.discoverer = discoverer;
 	}
 
 	@Override
-	public String getMapping(final Class<?> type) {
-		String key = key(type, null);
-		return getMapping(key, new CachedCall() {
-			@Override
-			public String getMapping() {
-				return discoverer.getMapping(type);
-			}
-		});
+	public String getMapping(Class<?> type) {
+
+		TypeMappings mappings = getTypeMappings(type);
+		Object mapping = mappings.typeMapping;
+
+		if (mapping == null) {
+			mapping = wrap(discoverer.getMapping(type));
+			mappings.typeMapping = mapping;
+		}
+
+		return unwrap(mapping);
 	}
 
 	@Override
-	public String getMapping(final Method method) {
-		String key = key(method.getDeclaringClass(), method);
-		return getMapping(key, new CachedCall() {
-			@Override
-			public String getMapping() {
-				return discoverer.getMapping(method);
-			}
-		});
+	public String getMapping(Method method) {
+
+		ConcurrentMap<Method, Object> mappings = getTypeMappings(method.getDeclaringClass()).methodMappings;
+		Object mapping = mappings.get(method);
+
+		if (mapping == null) {
+			mapping = wrap(discoverer.getMapping(method));
+			mappings.put(method, mapping);
+		}
+
+		return unwrap(mapping);
 	}
 
 	@Override
-	public String getMapping(final Class<?> type, final Method method) {
-		String key = key(type, method);
-		return getMapping(key, new CachedCall() {
-			@Override
-			public String getMapping() {
-				return discoverer.getMapping(type, method);
-			}
-		});
+	public String getMapping(Class<?> type, Method method) {
+
+		ConcurrentMap<Method, Object> mappings = getTypeMappings(type).methodMappings;
+		Object mapping = mappings.get(method);
+
+		if (mapping == null) {
+			mapping = wrap(discoverer.getMapping(type, method));
+			mappings.put(method, mapping);
+		}
+
+		return unwrap(mapping);
 	}
 
-	public String getMapping(String key, CachedCall cachedCall) {
-		if (mappingCache.containsKey(key)) {
-			return mappingCache.get(key);
-		} else {
-			String mapping = cachedCall.getMapping();
-			mappingCache.put(key, mapping);
-			return mapping;
+	private TypeMappings getTypeMappings(Class<?> type) {
+
+		TypeMappings mappings = mappingCache.get(type);
+
+		if (mappings == null) {
+			TypeMappings candidate = new TypeMappings();
+			mappings = mappingCache.putIfAbsent(type, candidate);
+			mappings = mappings == null ? candidate : mappings;
 		}
+
+		return mappings;
 	}
 
-	private interface CachedCall {
-		String getMapping();
+	private static Object wrap(String mapping) {
+		return mapping == null ? NO_MAPPING : mapping;
 	}
 
-	private String key(Class<?> type, Method method) {
-		StringBuilder buf = new StringBuilder();
-		buf.append(type.getName());
-		if (method != null) {
-			buf.append(method.getName());
-			for (Class<?> par: method.getParameterTypes()) {
-				buf.append(par.getName());
-			}
-		}
-		return buf.toString();
+	private static String unwrap(Object mapping) {
+		return mapping == NO_MAPPING ? null : (String) mapping;
+	}
+
+	/**
+	 * The cached mappings of a type and its methods, {@link #NO_MAPPING} standing in for the lack of a mapping.
+	 */
+	private static class TypeMappings {
+
+		final ConcurrentMap<Method, Object> methodMappings = new ConcurrentHashMap<Method, Object>(8);
+		volatile Object typeMapping;
 	}
 }
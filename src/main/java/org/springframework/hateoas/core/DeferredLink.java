@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import org.springframework.hateoas.Link;
+
+/**
+ * {@link Link} whose href is only rendered when needed. Serializers aware of deferred links can write the href through
+ * {@link #writeHref(StringBuilder)} into their own buffers, so that it never becomes a standalone {@link String}.
+ * {@link #getHref()} renders the href on every call, subclasses expensive to render may keep the result.
+ * <p>
+ * Deferred links always point to expanded URIs, i.e. they are never templated. As the href is rendered lazily, errors
+ * rendering it surface when the link is used, not when it is created. Deferred links are serialized as plain
+ * {@link Link}s.
+ */
+public abstract class DeferredLink extends Link {
+
+	private static final long serialVersionUID = -3489512361512931264L;
+
+	/**
+	 * Creates a new {@link DeferredLink} with the given rel.
+	 *
+	 * @param rel must not be {@literal null} or empty.
+	 */
+	protected DeferredLink(String rel) {
+
+		super(null, rel, null);
+	}
+
+	/**
+	 * Appends the href of the link to the given {@link StringBuilder}.
+	 *
+	 * @param builder will never be {@literal null}.
+	 */
+	public abstract void writeHref(StringBuilder builder);
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#getHref()
+	 */
+	@Override
+	public String getHref() {
+
+		StringBuilder builder = new StringBuilder();
+		writeHref(builder);
+
+		return builder.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#isTemplated()
+	 */
+	@Override
+	public boolean isTemplated() {
+		return false;
+	}
+
+	protected Object writeReplace() {
+		return new Link(getHref(), getRel());
+	}
+}
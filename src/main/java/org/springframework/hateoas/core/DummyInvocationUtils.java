@@ -15,19 +15,28 @@
  */
 package org.springframework.hateoas.core;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
-import org.aopalliance.intercept.MethodInterceptor;
 import org.objenesis.ObjenesisStd;
-import org.springframework.aop.framework.ProxyFactory;
-import org.springframework.aop.target.EmptyTargetSource;
-import org.springframework.cglib.proxy.Callback;
+import org.objenesis.instantiator.ObjectInstantiator;
+import org.springframework.beans.BeanUtils;
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.cglib.proxy.Factory;
 import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -38,6 +47,18 @@ import org.springframework.util.ReflectionUtils;
 public class DummyInvocationUtils {
 
 	private static ObjenesisStd OBJENESIS = new ObjenesisStd();
+	private static final Map<ProxyKey, ProxyInstantiator> INSTANTIATORS = new ConcurrentReferenceHashMap<ProxyKey, ProxyInstantiator>();
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+	private static final ThreadLocal<Map<Class<?>, InvocationRecordingMethodInterceptor>> RECORDERS = new ThreadLocal<Map<Class<?>, InvocationRecordingMethodInterceptor>>() {
+
+		@Override
+		protected Map<Class<?>, InvocationRecordingMethodInterceptor> initialValue() {
+			// don't keep controller classes and their proxies alive, threads usually outlive applications
+			return new ConcurrentReferenceHashMap<Class<?>, InvocationRecordingMethodInterceptor>(16, 1);
+		}
+	};
+
+	private static volatile boolean reuseRecorders = false;
 
 	public interface LastInvocationAware {
 
@@ -48,20 +69,31 @@ public class DummyInvocationUtils {
 
 	/**
 	 * Method interceptor that records the last method invocation and creates a proxy for the return value that exposes
-	 * the method invocation.
+	 * the method invocation. Return values only hold the interceptor, so a single one is created per return type and
+	 * handed out for every invocation returning that type. Reusable interceptors are bound to a thread, keep their proxy
+	 * and return values and are armed by {@link DummyInvocationUtils#methodOn(Class, Object...)} and released by
+	 * {@link DummyInvocationUtils#releaseRecorder(Object)}.
 	 * 
 	 * @author Oliver Gierke
 	 */
-	private static class InvocationRecordingMethodInterceptor implements MethodInterceptor, LastInvocationAware,
+	private static class InvocationRecordingMethodInterceptor implements InvocationHandler, LastInvocationAware,
 			org.springframework.cglib.proxy.MethodInterceptor {
 
 		private static final Method GET_INVOCATIONS;
 		private static final Method GET_OBJECT_PARAMETERS;
 
 		private final Class<?> targetType;
-		private final Object[] objectParameters;
+		private final boolean reusable;
+		private Object[] objectParameters;
 		private MethodInvocation invocation;
 
+		private Object recordingProxy;
+		private boolean armed;
+		private InvocationCarrier invocationCarrier;
+		private HttpEntityCarrier httpEntityCarrier;
+		private ResponseEntityCarrier responseEntityCarrier;
+		private Map<Class<?>, Object> returnValues;
+
 		static {
 			GET_INVOCATIONS = ReflectionUtils.findMethod(LastInvocationAware.class, "getLastInvocation");
 			GET_OBJECT_PARAMETERS = ReflectionUtils.findMethod(LastInvocationAware.class, "getObjectParameters");
@@ -77,6 +109,59 @@ public class DummyInvocationUtils {
 
 			this.targetType = targetType;
 			this.objectParameters = parameters.clone();
+			this.reusable = false;
+		}
+
+		/**
+		 * Creates a new reusable {@link InvocationRecordingMethodInterceptor} for the given type.
+		 *
+		 * @param targetType must not be {@literal null}.
+		 */
+		private InvocationRecordingMethodInterceptor(Class<?> targetType) {
+
+			this.targetType = targetType;
+			this.objectParameters = NO_ARGUMENTS;
+			this.reusable = true;
+			this.recordingProxy = getProxyWithInterceptor(targetType, this, targetType.getClassLoader());
+		}
+
+		/**
+		 * Arms the reusable interceptor to record an invocation with the given type level parameters.
+		 *
+		 * @param parameters must not be {@literal null}.
+		 * @return the proxy to record the invocation on.
+		 * @throws IllegalStateException in case the previously recorded invocation has not been released yet.
+		 */
+		public Object arm(Object[] parameters) {
+
+			if (armed) {
+
+				release();
+				throw new IllegalStateException(String.format(
+						"Reusable recorder for %s has not been released! Make sure the results of methodOn(…) are handed to "
+								+ "a link builder before calling methodOn(…) again and don't hold on to them.", targetType.getName()));
+			}
+
+			this.objectParameters = parameters;
+			this.armed = true;
+
+			return recordingProxy;
+		}
+
+		/**
+		 * Releases the reusable interceptor so that it can be armed again.
+		 */
+		public void release() {
+
+			this.armed = false;
+			this.invocation = null;
+			this.objectParameters = NO_ARGUMENTS;
+		}
+
+		private void assertArmed() {
+
+			Assert.state(armed, String.format("Reusable recorder for %s used after its invocation was released! Don't hold on "
+					+ "to the results of methodOn(…).", targetType.getName()));
 		}
 
 		/*
@@ -94,19 +179,98 @@ public class DummyInvocationUtils {
 				return ReflectionUtils.invokeMethod(method, obj, args);
 			}
 
+			if (reusable) {
+
+				assertArmed();
+				Assert.state(invocation == null || obj != recordingProxy, String.format("Reusable recorder for %s invoked twice! Don't "
+						+ "hold on to the results of methodOn(…).", targetType.getName()));
+			}
+
 			this.invocation = new SimpleMethodInvocation(targetType, method, args);
 
 			Class<?> returnType = method.getReturnType();
-			return returnType.cast(getProxyWithInterceptor(returnType, this, obj.getClass().getClassLoader()));
+			Object value = getCarrier(returnType);
+
+			return returnType.cast(value == null ? getReturnProxy(returnType, obj.getClass().getClassLoader()) : value);
+		}
+
+		/**
+		 * Returns the plain carrier of the recorded invocation for return types that are only ever handed to a link
+		 * builder, i.e. {@link Object}, {@link HttpEntity} and {@link ResponseEntity}. These need neither a proxy class nor
+		 * a reflective instantiation as further method invocations on them are never recorded. Carriers are created on
+		 * first use.
+		 *
+		 * @param returnType must not be {@literal null}.
+		 * @return the carrier or {@literal null} if the return type needs a proxy.
+		 */
+		private Object getCarrier(Class<?> returnType) {
+
+			if (returnType == HttpEntity.class) {
+
+				if (httpEntityCarrier == null) {
+					httpEntityCarrier = new HttpEntityCarrier(this);
+				}
+
+				return httpEntityCarrier;
+
+			} else if (returnType == ResponseEntity.class) {
+
+				if (responseEntityCarrier == null) {
+					responseEntityCarrier = new ResponseEntityCarrier(this);
+				}
+
+				return responseEntityCarrier;
+
+			} else if (returnType == Object.class) {
+
+				if (invocationCarrier == null) {
+					invocationCarrier = new InvocationCarrier(this);
+				}
+
+				return invocationCarrier;
+			}
+
+			return null;
+		}
+
+		/**
+		 * Returns the proxy to record invocations chained on a value of the given return type. Created the first time a
+		 * method returns the type and reused for all subsequent invocations returning it.
+		 *
+		 * @param returnType must not be {@literal null}.
+		 * @param classLoader the {@link ClassLoader} to define the proxy class in.
+		 * @return
+		 */
+		private Object getReturnProxy(Class<?> returnType, ClassLoader classLoader) {
+
+			Object proxy = returnValues == null ? null : returnValues.get(returnType);
+
+			if (proxy == null) {
+
+				proxy = getProxyWithInterceptor(returnType, this, classLoader);
+				returnValues = returnValues == null ? new HashMap<Class<?>, Object>(4) : returnValues;
+				returnValues.put(returnType, proxy);
+			}
+
+			return proxy;
 		}
 
 		/* 
 		 * (non-Javadoc)
-		 * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
 		 */
 		@Override
-		public Object invoke(org.aopalliance.intercept.MethodInvocation invocation) throws Throwable {
-			return intercept(invocation.getThis(), invocation.getMethod(), invocation.getArguments(), null);
+		public Object invoke(Object proxy, Method method, Object[] args) {
+
+			if (ReflectionUtils.isEqualsMethod(method)) {
+				return proxy == args[0];
+			} else if (ReflectionUtils.isHashCodeMethod(method)) {
+				return System.identityHashCode(proxy);
+			} else if (ReflectionUtils.isToStringMethod(method)) {
+				return ObjectUtils.identityToString(proxy);
+			}
+
+			return intercept(proxy, method, args == null ? NO_ARGUMENTS : args, null);
 		}
 
 		/*
@@ -115,6 +279,11 @@ public class DummyInvocationUtils {
 		 */
 		@Override
 		public MethodInvocation getLastInvocation() {
+
+			if (reusable) {
+				assertArmed();
+			}
+
 			return invocation;
 		}
 
@@ -124,17 +293,23 @@ public class DummyInvocationUtils {
 		 */
 		@Override
 		public Iterator<Object> getObjectParameters() {
+
+			if (reusable) {
+				assertArmed();
+			}
+
 			return Arrays.asList(objectParameters).iterator();
 		}
 	}
 
 	/**
-	 * Returns a proxy of the given type, backed by an {@link EmptyTargetSource} to simply drop method invocations but
-	 * equips it with an {@link InvocationRecordingMethodInterceptor}. The interceptor records the last invocation and
-	 * returns a proxy of the return type that also implements {@link LastInvocationAware} so that the last method
-	 * invocation can be inspected. Parameters passed to the subsequent method invocation are generally neglected except
-	 * the ones that might be mapped into the URI translation eventually, e.g. {@linke PathVariable} in the case of Spring
-	 * MVC. Note, that the return types of the methods have to be capable to be proxied.
+	 * Returns a proxy of the given type that simply drops method invocations but equips it with an
+	 * {@link InvocationRecordingMethodInterceptor}. The interceptor records the last invocation and returns a proxy of the
+	 * return type that also implements {@link LastInvocationAware} so that the last method invocation can be inspected.
+	 * The proxy classes are created once per type and {@link ClassLoader}. Parameters passed to the subsequent method
+	 * invocation are generally neglected except the ones that might be mapped into the URI translation eventually, e.g.
+	 * {@linke PathVariable} in the case of Spring MVC. Note, that the return types of the methods have to be capable to be
+	 * proxied.
 	 * 
 	 * @param type must not be {@literal null}.
 	 * @param parameters parameters to extend template variables in the type level mapping.
@@ -144,32 +319,295 @@ public class DummyInvocationUtils {
 
 		Assert.notNull(type, "Given type must not be null!");
 
+		if (reuseRecorders) {
+			return type.cast(getRecorder(type).arm(parameters));
+		}
+
 		InvocationRecordingMethodInterceptor interceptor = new InvocationRecordingMethodInterceptor(type, parameters);
 		return getProxyWithInterceptor(type, interceptor, type.getClassLoader());
 	}
 
+	/**
+	 * Configures whether {@link #methodOn(Class, Object...)} hands out a proxy per thread and type that is reused once the
+	 * recorded invocation was released through {@link #releaseRecorder(Object)}.
+	 * {@link org.springframework.hateoas.mvc.ControllerLinkBuilder} and {@link org.springframework.hateoas.mvc.FastLinks} release the recorders they consume, so that recording an
+	 * invocation in the {@code linkTo(methodOn(…).method(…))} idiom doesn't create proxies anymore. Results of
+	 * {@link #methodOn(Class, Object...)} must then not be kept around: using them after they were released or calling
+	 * {@link #methodOn(Class, Object...)} for the same type before the previous result was released fails with an
+	 * {@link IllegalStateException}. Link builders release the recorder even if building the link fails. Recorders are
+	 * held softly, so that they don't keep controller classes alive. Disabled by default.
+	 *
+	 * @param reuse
+	 */
+	public static void setReuseRecorders(boolean reuse) {
+		reuseRecorders = reuse;
+	}
+
+	/**
+	 * Returns whether {@link #methodOn(Class, Object...)} hands out reusable proxies.
+	 *
+	 * @return
+	 * @see #setReuseRecorders(boolean)
+	 */
+	public static boolean isReuseRecorders() {
+		return reuseRecorders;
+	}
+
+	/**
+	 * Releases the reusable recorder backing the given result of an invocation on a proxy created by
+	 * {@link #methodOn(Class, Object...)}, so that it can be handed out again. To be called by link builders once they
+	 * read the recorded invocation. A no-op unless recorders are reused.
+	 *
+	 * @param invocationValue can be {@literal null}.
+	 * @see #setReuseRecorders(boolean)
+	 */
+	public static void releaseRecorder(Object invocationValue) {
+
+		if (!reuseRecorders || !(invocationValue instanceof LastInvocationAware)) {
+			return;
+		}
+
+		MethodInvocation invocation = ((LastInvocationAware) invocationValue).getLastInvocation();
+
+		if (invocation == null) {
+			return;
+		}
+
+		InvocationRecordingMethodInterceptor recorder = RECORDERS.get().get(invocation.getTargetType());
+
+		if (recorder != null && recorder.invocation == invocation) {
+			recorder.release();
+		}
+	}
+
+	private static InvocationRecordingMethodInterceptor getRecorder(Class<?> type) {
+
+		Map<Class<?>, InvocationRecordingMethodInterceptor> recorders = RECORDERS.get();
+		InvocationRecordingMethodInterceptor recorder = recorders.get(type);
+
+		if (recorder == null) {
+			recorder = new InvocationRecordingMethodInterceptor(type);
+			recorders.put(type, recorder);
+		}
+
+		return recorder;
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T> T getProxyWithInterceptor(Class<?> type, InvocationRecordingMethodInterceptor interceptor, ClassLoader classLoader) {
 
-		if (type.isInterface()) {
+		ProxyKey key = new ProxyKey(type, classLoader);
+		ProxyInstantiator instantiator = INSTANTIATORS.get(key);
+
+		if (instantiator == null) {
+
+			instantiator = type.isInterface() ? new JdkProxyInstantiator(type, classLoader) : new CglibProxyInstantiator(
+					type, classLoader);
+			INSTANTIATORS.put(key, instantiator);
+		}
+
+		return (T) instantiator.newProxy(interceptor);
+	}
+
+	/**
+	 * Creates recording proxies of a particular type. Implementations prepare the proxy class once so that creating a
+	 * proxy boils down to instantiating it and handing it the interceptor.
+	 */
+	private interface ProxyInstantiator {
+
+		Object newProxy(InvocationRecordingMethodInterceptor interceptor);
+	}
+
+	/**
+	 * {@link ProxyInstantiator} for classes, instantiating a CGLib generated subclass through Objenesis.
+	 */
+	private static class CglibProxyInstantiator implements ProxyInstantiator {
+
+		private final ObjectInstantiator<?> instantiator;
 
-			ProxyFactory factory = new ProxyFactory(EmptyTargetSource.INSTANCE);
-			factory.addInterface(type);
-			factory.addInterface(LastInvocationAware.class);
-			factory.addAdvice(interceptor);
+		public CglibProxyInstantiator(Class<?> type, ClassLoader classLoader) {
 
-			return (T) factory.getProxy();
+			Enhancer enhancer = new Enhancer();
+			enhancer.setSuperclass(type);
+			enhancer.setInterfaces(new Class<?>[] { LastInvocationAware.class });
+			enhancer.setCallbackType(org.springframework.cglib.proxy.MethodInterceptor.class);
+			enhancer.setClassLoader(classLoader);
+
+			this.instantiator = OBJENESIS.getInstantiatorOf(enhancer.createClass());
 		}
 
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(type);
-		enhancer.setInterfaces(new Class<?>[] { LastInvocationAware.class });
-		enhancer.setCallbackType(org.springframework.cglib.proxy.MethodInterceptor.class);
-		enhancer.setClassLoader(classLoader);
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.ProxyInstantiator#newProxy(org.springframework.hateoas.core.DummyInvocationUtils.InvocationRecordingMethodInterceptor)
+		 */
+		@Override
+		public Object newProxy(InvocationRecordingMethodInterceptor interceptor) {
 
-		Factory factory = (Factory) OBJENESIS.newInstance(enhancer.createClass());
-		factory.setCallbacks(new Callback[] { interceptor });
-		return (T) factory;
+			Factory factory = (Factory) instantiator.newInstance();
+			factory.setCallback(0, interceptor);
+			return factory;
+		}
+	}
+
+	/**
+	 * {@link ProxyInstantiator} for interfaces, invoking the constructor of a JDK proxy class.
+	 */
+	private static class JdkProxyInstantiator implements ProxyInstantiator {
+
+		private final Constructor<?> constructor;
+
+		public JdkProxyInstantiator(Class<?> type, ClassLoader classLoader) {
+
+			ClassLoader loader = classLoader != null && ClassUtils.isVisible(LastInvocationAware.class, classLoader) ? classLoader
+					: LastInvocationAware.class.getClassLoader();
+			Class<?> proxyType = Proxy.getProxyClass(loader, type, LastInvocationAware.class);
+
+			this.constructor = ClassUtils.getConstructorIfAvailable(proxyType, InvocationHandler.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.ProxyInstantiator#newProxy(org.springframework.hateoas.core.DummyInvocationUtils.InvocationRecordingMethodInterceptor)
+		 */
+		@Override
+		public Object newProxy(InvocationRecordingMethodInterceptor interceptor) {
+
+			return BeanUtils.instantiateClass(constructor, interceptor);
+		}
+	}
+
+	/**
+	 * Carrier of a recorded invocation for methods returning {@link Object}.
+	 */
+	private static class InvocationCarrier implements LastInvocationAware {
+
+		private final LastInvocationAware recorder;
+
+		public InvocationCarrier(LastInvocationAware recorder) {
+			this.recorder = recorder;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getObjectParameters()
+		 */
+		@Override
+		public Iterator<Object> getObjectParameters() {
+			return recorder.getObjectParameters();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getLastInvocation()
+		 */
+		@Override
+		public MethodInvocation getLastInvocation() {
+			return recorder.getLastInvocation();
+		}
+	}
+
+	/**
+	 * Carrier of a recorded invocation for methods returning {@link HttpEntity}.
+	 */
+	private static class HttpEntityCarrier extends HttpEntity<Object> implements LastInvocationAware {
+
+		private final LastInvocationAware recorder;
+
+		public HttpEntityCarrier(LastInvocationAware recorder) {
+			this.recorder = recorder;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getObjectParameters()
+		 */
+		@Override
+		public Iterator<Object> getObjectParameters() {
+			return recorder.getObjectParameters();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getLastInvocation()
+		 */
+		@Override
+		public MethodInvocation getLastInvocation() {
+			return recorder.getLastInvocation();
+		}
+	}
+
+	/**
+	 * Carrier of a recorded invocation for methods returning {@link ResponseEntity}.
+	 */
+	private static class ResponseEntityCarrier extends ResponseEntity<Object> implements LastInvocationAware {
+
+		private final LastInvocationAware recorder;
+
+		public ResponseEntityCarrier(LastInvocationAware recorder) {
+
+			super(HttpStatus.OK);
+			this.recorder = recorder;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getObjectParameters()
+		 */
+		@Override
+		public Iterator<Object> getObjectParameters() {
+			return recorder.getObjectParameters();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware#getLastInvocation()
+		 */
+		@Override
+		public MethodInvocation getLastInvocation() {
+			return recorder.getLastInvocation();
+		}
+	}
+
+	/**
+	 * Cache key of a proxied type along with the {@link ClassLoader} the proxy class is defined in.
+	 */
+	private static class ProxyKey {
+
+		private final Class<?> type;
+		private final ClassLoader classLoader;
+
+		public ProxyKey(Class<?> type, ClassLoader classLoader) {
+			this.type = type;
+			this.classLoader = classLoader;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof ProxyKey)) {
+				return false;
+			}
+
+			ProxyKey that = (ProxyKey) obj;
+			return this.type == that.type && this.classLoader == that.classLoader;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return type.hashCode() * 31 + System.identityHashCode(classLoader);
+		}
 	}
 
 	public interface MethodInvocation {
@@ -36,7 +36,8 @@ import org.springframework.web.util.UriComponentsBuilder;
  */
 public abstract class LinkBuilderSupport<T extends LinkBuilder> implements LinkBuilder {
 
-	private final UriComponents uriComponents;
+	private final String uriString;
+	private UriComponents uriComponents;
 
 	/**
 	 * Creates a new {@link LinkBuilderSupport} using the given {@link UriComponentsBuilder}.
@@ -47,11 +48,25 @@ public abstract class LinkBuilderSupport<T extends LinkBuilder> implements LinkB
 
 		Assert.notNull(builder);
 		this.uriComponents = builder.build();
+		this.uriString = null;
 	}
 
 	public LinkBuilderSupport(UriComponents uriComponents) {
 		Assert.notNull(uriComponents);
 		this.uriComponents = uriComponents;
+		this.uriString = null;
+	}
+
+	/**
+	 * Creates a new {@link LinkBuilderSupport} from an already encoded and normalized URI string. The
+	 * {@link UriComponents} are only parsed if the builder is used for more than rendering the URI.
+	 * 
+	 * @param uriString must not be {@literal null}.
+	 */
+	protected LinkBuilderSupport(String uriString) {
+
+		Assert.notNull(uriString);
+		this.uriString = uriString;
 	}
 
 	/*
@@ -78,8 +93,8 @@ public abstract class LinkBuilderSupport<T extends LinkBuilder> implements LinkB
 			return getThis();
 		}
 
-		String uriString = uriComponents.toUriString();
-		UriComponentsBuilder builder = uriString.isEmpty() ? fromUri(uriComponents.toUri())
+		String uriString = this.uriString != null ? this.uriString : uriComponents.toUriString();
+		UriComponentsBuilder builder = uriString.isEmpty() ? fromUri(getUriComponents().toUri())
 				: fromUriString(uriString);
 
 		UriComponents components = UriComponentsBuilder.fromUriString(path).build();
@@ -114,7 +129,7 @@ public abstract class LinkBuilderSupport<T extends LinkBuilder> implements LinkB
 	 * @see org.springframework.hateoas.LinkBuilder#toUri()
 	 */
 	public URI toUri() {
-		return uriComponents.encode().toUri();
+		return getUriComponents().encode().toUri();
 	}
 
 	/*
@@ -139,7 +154,16 @@ public abstract class LinkBuilderSupport<T extends LinkBuilder> implements LinkB
 	 */
 	@Override
 	public String toString() {
-		return toUri().normalize().toASCIIString();
+		return uriString != null ? uriString : toUri().normalize().toASCIIString();
+	}
+
+	private UriComponents getUriComponents() {
+
+		if (uriComponents == null) {
+			uriComponents = fromUriString(uriString).build();
+		}
+
+		return uriComponents;
 	}
 
 	/**
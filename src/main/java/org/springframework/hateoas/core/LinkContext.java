@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import java.net.URI;
+import java.util.concurrent.Callable;
+
+import org.springframework.util.Assert;
+
+/**
+ * Immutable snapshot of everything needed to build links outside of the thread handling a request, i.e. the base URI
+ * including any forwarded scheme, host and port. Capture it on the request thread and bind it to worker threads to
+ * build links there, e.g. when assembling resources in parallel or in asynchronous request handlers. A context bound to
+ * the current thread takes precedence over the base URI configured through {@link BaseUris} and the one derived from
+ * the current request.
+ *
+ * <pre>
+ * LinkContext context = LinkContexts.capture();
+ *
+ * executor.execute(context.wrap(new Runnable() {
+ *   public void run() {
+ *     Link link = linkTo(methodOn(CustomerController.class).show(id)).withSelfRel();
+ *   }
+ * }));
+ * </pre>
+ *
+ * @see org.springframework.hateoas.mvc.LinkContexts
+ */
+public final class LinkContext {
+
+	private static final ThreadLocal<LinkContext> CURRENT = new ThreadLocal<LinkContext>();
+
+	private final URI baseUri;
+
+	/**
+	 * Creates a new {@link LinkContext} for the given base URI.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 */
+	public LinkContext(URI baseUri) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+		this.baseUri = baseUri;
+	}
+
+	/**
+	 * Returns the {@link LinkContext} bound to the current thread.
+	 *
+	 * @return the {@link LinkContext} or {@literal null} if none is bound.
+	 */
+	public static LinkContext getCurrent() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds the given {@link LinkContext} to the current thread, typically the one returned by a previous call to
+	 * {@link #bind()}.
+	 *
+	 * @param context can be {@literal null} to unbind the current one.
+	 */
+	public static void restore(LinkContext context) {
+
+		if (context == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(context);
+		}
+	}
+
+	/**
+	 * Returns the base URI links are built against.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public URI getBaseUri() {
+		return baseUri;
+	}
+
+	/**
+	 * Binds the {@link LinkContext} to the current thread. Make sure to {@link #restore(LinkContext)} the previous one
+	 * once done, preferably in a {@code finally} block.
+	 *
+	 * @return the {@link LinkContext} previously bound to the current thread, can be {@literal null}.
+	 */
+	public LinkContext bind() {
+
+		LinkContext previous = CURRENT.get();
+		CURRENT.set(this);
+
+		return previous;
+	}
+
+	/**
+	 * Returns a {@link Runnable} running the given one with the {@link LinkContext} bound.
+	 *
+	 * @param runnable must not be {@literal null}.
+	 * @return
+	 */
+	public Runnable wrap(final Runnable runnable) {
+
+		Assert.notNull(runnable, "Runnable must not be null!");
+
+		return new Runnable() {
+
+			@Override
+			public void run() {
+
+				LinkContext previous = bind();
+
+				try {
+					runnable.run();
+				} finally {
+					restore(previous);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns a {@link Callable} calling the given one with the {@link LinkContext} bound.
+	 *
+	 * @param callable must not be {@literal null}.
+	 * @return
+	 */
+	public <T> Callable<T> wrap(final Callable<T> callable) {
+
+		Assert.notNull(callable, "Callable must not be null!");
+
+		return new Callable<T>() {
+
+			@Override
+			public T call() throws Exception {
+
+				LinkContext previous = bind();
+
+				try {
+					return callable.call();
+				} finally {
+					restore(previous);
+				}
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("LinkContext(%s)", baseUri);
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import org.springframework.hateoas.Link;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * {@link DeferredLink} keeping its href as a prefix shared with other links, e.g. the base URI of the application or
+ * the URI of a collection resource, and a suffix specific to the link. Rels are shared by {@link Link} anyway. Large
+ * collections of links thus retain only their suffixes.
+ * <p>
+ * The href is rendered on every call to {@link #getHref()} instead of being kept, so prefer
+ * {@link #writeHref(StringBuilder)} where possible. {@link #equals(Object)}, {@link #hashCode()} and
+ * {@link #withRel(String)} work on prefix and suffix directly. Like any {@link DeferredLink}, the href must not be
+ * templated.
+ */
+public class PrefixedLink extends DeferredLink {
+
+	private static final long serialVersionUID = 5226592391815591398L;
+
+	private final String prefix;
+	private final String suffix;
+
+	/**
+	 * Creates a new {@link PrefixedLink} pointing to the given prefix followed by the given suffix.
+	 *
+	 * @param prefix must not be {@literal null}.
+	 * @param suffix must not be {@literal null}.
+	 * @param rel must not be {@literal null} or empty.
+	 */
+	public PrefixedLink(String prefix, String suffix, String rel) {
+
+		super(rel);
+
+		Assert.notNull(prefix, "Prefix must not be null!");
+		Assert.notNull(suffix, "Suffix must not be null!");
+		Assert.isTrue(prefix.length() + suffix.length() > 0, "Href must not be empty!");
+
+		this.prefix = prefix;
+		this.suffix = suffix;
+	}
+
+	/**
+	 * Creates a {@link Link} to the given href sharing the given prefix if the href starts with it. Templated hrefs and
+	 * hrefs not starting with the prefix result in plain {@link Link}s.
+	 *
+	 * @param prefix must not be {@literal null}.
+	 * @param href must not be {@literal null} or empty.
+	 * @param rel must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	public static Link of(String prefix, String href, String rel) {
+
+		Assert.notNull(prefix, "Prefix must not be null!");
+		Assert.hasText(href, "Href must not be null or empty!");
+
+		if (!href.startsWith(prefix) || href.indexOf('{') != -1) {
+			return new Link(href, rel);
+		}
+
+		return new PrefixedLink(prefix, href.substring(prefix.length()), rel);
+	}
+
+	/**
+	 * Returns the prefix of the href.
+	 *
+	 * @return
+	 */
+	@JsonIgnore
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.core.DeferredLink#writeHref(java.lang.StringBuilder)
+	 */
+	@Override
+	public void writeHref(StringBuilder builder) {
+		builder.append(prefix).append(suffix);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.core.DeferredLink#getHref()
+	 */
+	@Override
+	public String getHref() {
+		return prefix.concat(suffix);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#withRel(java.lang.String)
+	 */
+	@Override
+	public Link withRel(String rel) {
+		return new PrefixedLink(prefix, suffix, rel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof Link)) {
+			return false;
+		}
+
+		Link that = (Link) obj;
+
+		if (!getRel().equals(that.getRel())) {
+			return false;
+		}
+
+		if (that instanceof PrefixedLink && prefix.equals(((PrefixedLink) that).prefix)) {
+			return suffix.equals(((PrefixedLink) that).suffix);
+		}
+
+		String href = that.getHref();
+
+		return href.length() == prefix.length() + suffix.length() && href.startsWith(prefix) && href.endsWith(suffix);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		// continues the hash code of the prefix, so that it matches the one of the full href
+		int hrefHashCode = prefix.hashCode();
+
+		for (int i = 0; i < suffix.length(); i++) {
+			hrefHashCode = 31 * hrefHashCode + suffix.charAt(i);
+		}
+
+		int result = 17;
+		result += 31 * hrefHashCode;
+		result += 31 * getRel().hashCode();
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#toString()
+	 */
+	@Override
+	public String toString() {
+		return new StringBuilder(prefix.length() + suffix.length() + getRel().length() + 9).append('<').append(prefix)
+				.append(suffix).append(">;rel=\"").append(getRel()).append('"').toString();
+	}
+}
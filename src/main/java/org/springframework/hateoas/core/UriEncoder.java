@@ -0,0 +1,204 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import org.springframework.util.Assert;
+
+/**
+ * Percent-encoding of URI components as defined by RFC 3986, producing the same output as
+ * {@link org.springframework.web.util.UriUtils} with UTF-8. The allowed characters of each component are looked up in
+ * a precomputed table, runs of allowed characters are copied as is and only the characters that need escaping are
+ * converted to UTF-8. Encoding a value that doesn't need escaping doesn't allocate.
+ *
+ * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986</a>
+ */
+public enum UriEncoder {
+
+	/**
+	 * Encoder for a full path, i.e. {@code pchar} and {@code /}.
+	 */
+	PATH(Characters.PCHAR + "/"),
+
+	/**
+	 * Encoder for a single path segment, i.e. {@code pchar}.
+	 */
+	PATH_SEGMENT(Characters.PCHAR),
+
+	/**
+	 * Encoder for the name or value of a query parameter, i.e. {@code pchar}, {@code /} and {@code ?} except {@code =},
+	 * {@code +} and {@code &}.
+	 */
+	QUERY_PARAM(Characters.PCHAR.replace("=", "").replace("+", "").replace("&", "") + "/?"),
+
+	/**
+	 * Encoder for a fragment, i.e. {@code pchar}, {@code /} and {@code ?}.
+	 */
+	FRAGMENT(Characters.PCHAR + "/?");
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final boolean[] allowed = new boolean[128];
+
+	private UriEncoder(String allowedCharacters) {
+
+		for (int i = 0; i < allowedCharacters.length(); i++) {
+			allowed[allowedCharacters.charAt(i)] = true;
+		}
+	}
+
+	/**
+	 * Returns whether the given character can be used in the component without escaping.
+	 *
+	 * @param c
+	 * @return
+	 */
+	public boolean isAllowed(char c) {
+		return c < 128 && allowed[c];
+	}
+
+	/**
+	 * Returns whether the given value can be used in the component without escaping.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	public boolean isAllowed(CharSequence source) {
+		return indexOfEscape(source, 0) == -1;
+	}
+
+	/**
+	 * Encodes the given value. Returns the given instance if nothing needs to be escaped.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	public String encode(String source) {
+
+		Assert.notNull(source, "Source must not be null!");
+
+		int index = indexOfEscape(source, 0);
+
+		if (index == -1) {
+			return source;
+		}
+
+		StringBuilder builder = new StringBuilder(source.length() + 16);
+		builder.append(source, 0, index);
+
+		return encode(source, index, builder).toString();
+	}
+
+	/**
+	 * Appends the encoded form of the given value to the given {@link StringBuilder}.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param target must not be {@literal null}.
+	 * @return the given {@link StringBuilder}.
+	 */
+	public StringBuilder encode(CharSequence source, StringBuilder target) {
+
+		Assert.notNull(source, "Source must not be null!");
+
+		return encode(source, 0, target);
+	}
+
+	private StringBuilder encode(CharSequence source, int start, StringBuilder target) {
+
+		int length = source.length();
+		int runStart = start;
+
+		for (int i = start; i < length; i++) {
+
+			char c = source.charAt(i);
+
+			if (c < 128 && allowed[c]) {
+				continue;
+			}
+
+			target.append(source, runStart, i);
+			i = escape(source, i, target);
+			runStart = i + 1;
+		}
+
+		return target.append(source, runStart, length);
+	}
+
+	private int indexOfEscape(CharSequence source, int start) {
+
+		for (int i = start; i < source.length(); i++) {
+
+			char c = source.charAt(i);
+
+			if (c >= 128 || !allowed[c]) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Escapes the UTF-8 bytes of the character at the given index, returns the index of the last character consumed.
+	 */
+	private int escape(CharSequence source, int index, StringBuilder target) {
+
+		char c = source.charAt(index);
+
+		if (c < 0x80) {
+			escape(c, target);
+		} else if (c < 0x800) {
+			escape(0xC0 | (c >> 6), target);
+			escape(0x80 | (c & 0x3F), target);
+		} else if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+			escape(0xE0 | (c >> 12), target);
+			escape(0x80 | ((c >> 6) & 0x3F), target);
+			escape(0x80 | (c & 0x3F), target);
+		} else if (Character.isHighSurrogate(c) && index + 1 < source.length()
+				&& Character.isLowSurrogate(source.charAt(index + 1))) {
+
+			int codePoint = Character.toCodePoint(c, source.charAt(index + 1));
+
+			escape(0xF0 | (codePoint >> 18), target);
+			escape(0x80 | ((codePoint >> 12) & 0x3F), target);
+			escape(0x80 | ((codePoint >> 6) & 0x3F), target);
+			escape(0x80 | (codePoint & 0x3F), target);
+
+			return index + 1;
+
+		} else {
+
+			// malformed surrogates are replaced by '?', as done by String.getBytes()
+			if (allowed['?']) {
+				target.append('?');
+			} else {
+				escape('?', target);
+			}
+		}
+
+		return index;
+	}
+
+	private static void escape(int b, StringBuilder target) {
+		target.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+	}
+
+	private static class Characters {
+
+		static final String UNRESERVED = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+		static final String SUB_DELIMITERS = "!$&'()*+,;=";
+		static final String PCHAR = UNRESERVED + SUB_DELIMITERS + ":@";
+	}
+}
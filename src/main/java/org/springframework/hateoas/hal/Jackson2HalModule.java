@@ -32,6 +32,7 @@ import org.springframework.hateoas.RelProvider;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.core.DeferredLink;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -67,6 +68,7 @@ import com.fasterxml.jackson.databind.ser.ContainerSerializer;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.fasterxml.jackson.databind.ser.std.MapSerializer;
 import com.fasterxml.jackson.databind.ser.std.NonTypedScalarSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
 /**
@@ -86,6 +88,8 @@ public class Jackson2HalModule extends SimpleModule {
 		setMixInAnnotation(Link.class, LinkMixin.class);
 		setMixInAnnotation(ResourceSupport.class, ResourceSupportMixin.class);
 		setMixInAnnotation(Resources.class, ResourcesMixin.class);
+
+		addSerializer(DeferredLink.class, new DeferredLinkSerializer());
 	}
 
 	/**
@@ -664,6 +668,38 @@ public class Jackson2HalModule extends SimpleModule {
 		}
 	}
 
+	/**
+	 * {@link JsonSerializer} rendering {@link DeferredLink}s like {@link Link}s in HAL. The href is written into a buffer
+	 * and handed to the {@link JsonGenerator} as characters, so that it is never turned into a {@link String}.
+	 */
+	public static class DeferredLinkSerializer extends StdSerializer<DeferredLink> {
+
+		public DeferredLinkSerializer() {
+			super(DeferredLink.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.std.StdSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serialize(DeferredLink value, JsonGenerator jgen, SerializerProvider provider) throws IOException,
+				JsonGenerationException {
+
+			StringBuilder builder = new StringBuilder(128);
+			value.writeHref(builder);
+
+			int length = builder.length();
+			char[] chars = new char[length];
+			builder.getChars(0, length, chars, 0);
+
+			jgen.writeStartObject();
+			jgen.writeFieldName("href");
+			jgen.writeString(chars, 0, length);
+			jgen.writeEndObject();
+		}
+	}
+
 	/**
 	 * {@link JsonSerializer} to only render {@link Boolean} values if they're set to {@literal true}.
 	 * 
@@ -15,10 +15,14 @@
  */
 package org.springframework.hateoas.jaxrs;
 
+import java.net.URI;
+
 import javax.ws.rs.Path;
 
 import org.springframework.hateoas.LinkBuilder;
 import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.CachingMappingDiscoverer;
 import org.springframework.hateoas.core.LinkBuilderSupport;
 import org.springframework.hateoas.core.MappingDiscoverer;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -33,7 +37,8 @@ import org.springframework.web.util.UriComponentsBuilder;
  */
 public class JaxRsLinkBuilder extends LinkBuilderSupport<JaxRsLinkBuilder> {
 
-	private static final MappingDiscoverer DISCOVERER = new AnnotationMappingDiscoverer(Path.class);
+	private static final MappingDiscoverer DISCOVERER = new CachingMappingDiscoverer(new AnnotationMappingDiscoverer(
+			Path.class));
 
 	/**
 	 * Creates a new {@link JaxRsLinkBuilder} from the given {@link UriComponentsBuilder}.
@@ -65,7 +70,9 @@ public class JaxRsLinkBuilder extends LinkBuilderSupport<JaxRsLinkBuilder> {
 	 */
 	public static JaxRsLinkBuilder linkTo(Class<?> service, Object... parameters) {
 
-		JaxRsLinkBuilder builder = new JaxRsLinkBuilder(ServletUriComponentsBuilder.fromCurrentServletMapping());
+		URI baseUri = BaseUris.getBaseUri();
+		JaxRsLinkBuilder builder = new JaxRsLinkBuilder(baseUri == null ? ServletUriComponentsBuilder
+				.fromCurrentServletMapping() : UriComponentsBuilder.fromUri(baseUri));
 
 		UriComponents uriComponents = UriComponentsBuilder.fromUriString(DISCOVERER.getMapping(service)).build();
 		UriComponents expandedComponents = uriComponents.expand(parameters);
@@ -17,10 +17,12 @@ package org.springframework.hateoas.mvc;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
@@ -35,13 +37,17 @@ import org.springframework.web.util.UriTemplate;
 
 /**
  * Value object to allow accessing {@link MethodInvocation} parameters with the configured {@link AnnotationAttribute}.
+ * The parameters of a {@link Method} carrying the annotation are inspected once and turned into
+ * {@link ParameterBinding}s, so that binding the arguments of an invocation boils down to reading array slots.
  * 
  * @author Oliver Gierke
  */
 class AnnotatedParametersParameterAccessor {
 
+	private static final ParameterBinding[] NO_BINDINGS = new ParameterBinding[0];
+
 	private final AnnotationAttribute attribute;
-	private Map<Method, List<MethodParameter>> parametersCache = new ConcurrentHashMap<Method, List<MethodParameter>>();
+	private final ConcurrentMap<Method, ParameterBinding[]> bindingsCache = new ConcurrentHashMap<Method, ParameterBinding[]>();
 
 	/**
 	 * Creates a new {@link AnnotatedParametersParameterAccessor} using the given {@link AnnotationAttribute}.
@@ -54,111 +60,115 @@ class AnnotatedParametersParameterAccessor {
 		this.attribute = attribute;
 	}
 
-	public List<BoundMethodParameter> getBoundParameters(Method method) {
+	/**
+	 * Returns the {@link ParameterBinding}s of the parameters of the given {@link Method} carrying the configured
+	 * annotation, in the order of the parameters. The returned array must not be modified.
+	 * 
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	public ParameterBinding[] getBindings(Method method) {
 
 		Assert.notNull(method, "Method must not be null!");
 
-		List<MethodParameter> parametersWithAnnotation = getMethodParameters(method);
+		ParameterBinding[] bindings = bindingsCache.get(method);
 
-		List<BoundMethodParameter> result = new ArrayList<BoundMethodParameter>();
-		for (MethodParameter parameter : parametersWithAnnotation) {
-			result.add(new BoundMethodParameter(parameter, null, attribute));
+		if (bindings == null) {
+			bindings = createBindings(method);
+			bindingsCache.put(method, bindings);
 		}
 
-		return result;
+		return bindings;
 	}
 
-	/**
-	 * Returns {@link BoundMethodParameter}s contained in the given {@link MethodInvocation}.
-	 * 
-	 * @param invocation must not be {@literal null}.
-	 */
-	public List<BoundMethodParameter> getBoundParameters(MethodInvocation invocation) {
-
-		Assert.notNull(invocation, "MethodInvocation must not be null!");
+	private ParameterBinding[] createBindings(Method method) {
 
-		List<MethodParameter> parametersWithAnnotation = getMethodParameters(invocation.getMethod());
+		List<MethodParameter> parameters = new MethodParameters(method).getParametersWith(attribute.getAnnotationType());
 
-		Object[] arguments = invocation.getArguments();
-		List<BoundMethodParameter> result = new ArrayList<BoundMethodParameter>();
+		if (parameters.isEmpty()) {
+			return NO_BINDINGS;
+		}
 
-		for (MethodParameter parameter : parametersWithAnnotation) {
+		ParameterBinding[] bindings = new ParameterBinding[parameters.size()];
 
-			Object value = arguments[parameter.getParameterIndex()];
-			Object verifiedValue = verifyParameterValue(parameter, value);
+		for (int i = 0; i < bindings.length; i++) {
 
-			if (verifiedValue != null) {
-				result.add(new BoundMethodParameter(parameter, value, attribute));
-			}
+			MethodParameter parameter = parameters.get(i);
+			bindings[i] = new ParameterBinding(parameter, getVariableName(parameter), isRequired(parameter),
+					attribute.getAnnotationType());
 		}
 
-		return result;
-	}
-
-	private List<MethodParameter> getMethodParameters(Method method) {
-		if (parametersCache.containsKey(method)) {
-			return parametersCache.get(method);
-		} else {
-			MethodParameters parameters = new MethodParameters(method);
-			List<MethodParameter> parametersWithAnnotation = parameters.getParametersWith(attribute.getAnnotationType());
-			parametersCache.put(method, parametersWithAnnotation);
-			return parametersWithAnnotation;
-		}
+		return bindings;
 	}
 
 	/**
-	 * Callback to verifiy the parameter values given for a dummy invocation. Default implementation rejects
-	 * {@literal null} values as they indicate an invalid dummy call.
+	 * Returns the name of the {@link UriTemplate} variable to be bound. The name will be derived from the configured
+	 * {@link AnnotationAttribute} or the {@link MethodParameter} name as fallback.
 	 * 
 	 * @param parameter will never be {@literal null}.
-	 * @param value could be {@literal null}.
-	 * @return the verified value.
+	 * @return
 	 */
-	protected Object verifyParameterValue(MethodParameter parameter, Object value) {
-
-		if (value == null) {
-
-			Object indexOrName = StringUtils.hasText(parameter.getParameterName()) ? parameter.getParameterName() : parameter
-					.getParameterIndex();
+	private String getVariableName(MethodParameter parameter) {
 
-			throw new IllegalArgumentException(String.format(
-					"Required controller parameter %s of method %s found but null value given!", indexOrName,
-					parameter.getMethod()));
-		}
+		Annotation annotation = parameter.getParameterAnnotation(attribute.getAnnotationType());
+		String annotationAttributeValue = attribute.getValueFrom(annotation);
+		return StringUtils.hasText(annotationAttributeValue) ? annotationAttributeValue : parameter.getParameterName();
+	}
 
-		return value;
+	/**
+	 * Callback to determine whether a dummy invocation has to provide a value for the given parameter. Default
+	 * implementation requires all parameters as {@literal null} values indicate an invalid dummy call.
+	 * 
+	 * @param parameter will never be {@literal null}.
+	 * @return
+	 */
+	protected boolean isRequired(MethodParameter parameter) {
+		return true;
 	}
 
 	/**
-	 * Represents a {@link MethodParameter} alongside the value it has been bound to.
+	 * A {@link MethodParameter} to be bound to a URI along with everything needed to do so, resolved upfront.
 	 * 
 	 * @author Oliver Gierke
 	 */
-	static class BoundMethodParameter {
+	static class ParameterBinding {
 
 		private static final ConversionService CONVERSION_SERVICE = new DefaultFormattingConversionService();
 		private static final TypeDescriptor STRING_DESCRIPTOR = TypeDescriptor.valueOf(String.class);
+		private static final Set<Class<?>> TO_STRING_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(String.class,
+				Integer.class, int.class, Long.class, long.class, Short.class, short.class, Byte.class, byte.class,
+				Boolean.class, boolean.class, Character.class, char.class));
 
 		private final MethodParameter parameter;
-		private final Object value;
-		private final AnnotationAttribute attribute;
-		private final TypeDescriptor parameterTypeDecsriptor;
+		private final int index;
+		private final String variableName;
+		private final boolean required;
+		private final TypeDescriptor typeDescriptor;
+		private final boolean convertByToString;
 
 		/**
-		 * Creates a new {@link BoundMethodParameter}
+		 * Creates a new {@link ParameterBinding}.
 		 * 
-		 * @param parameter
-		 * @param value
-		 * @param attribute
+		 * @param parameter must not be {@literal null}.
+		 * @param variableName the name of the variable to bind the parameter to.
+		 * @param required whether invocations have to provide a value.
+		 * @param annotationType the annotation marking the parameter to be bound.
 		 */
-		public BoundMethodParameter(MethodParameter parameter, Object value, AnnotationAttribute attribute) {
+		public ParameterBinding(MethodParameter parameter, String variableName, boolean required,
+				Class<? extends Annotation> annotationType) {
 
 			Assert.notNull(parameter, "MethodParameter must not be null!");
 
 			this.parameter = parameter;
-			this.value = value;
-			this.attribute = attribute;
-			this.parameterTypeDecsriptor = TypeDescriptor.nested(parameter, 0);
+			this.index = parameter.getParameterIndex();
+			this.variableName = variableName;
+			this.required = required;
+			this.typeDescriptor = TypeDescriptor.nested(parameter, 0);
+
+			// formatting annotations or custom types need the conversion service
+			Annotation[] annotations = parameter.getParameterAnnotations();
+			this.convertByToString = TO_STRING_TYPES.contains(parameter.getParameterType()) && annotations.length == 1
+					&& annotations[0].annotationType().equals(annotationType);
 		}
 
 		public MethodParameter getParameter() {
@@ -166,43 +176,63 @@ class AnnotatedParametersParameterAccessor {
 		}
 
 		/**
-		 * Returns the name of the {@link UriTemplate} variable to be bound. The name will be derived from the configured
-		 * {@link AnnotationAttribute} or the {@link MethodParameter} name as fallback.
+		 * Returns whether invocations have to provide a value for the parameter.
 		 * 
 		 * @return
 		 */
-		public String getVariableName() {
-
-			if (attribute == null) {
-				return parameter.getParameterName();
-			}
-
-			Annotation annotation = parameter.getParameterAnnotation(attribute.getAnnotationType());
-			String annotationAttributeValue = attribute.getValueFrom(annotation);
-			return StringUtils.hasText(annotationAttributeValue) ? annotationAttributeValue : parameter.getParameterName();
+		public boolean isRequired() {
+			return required;
 		}
 
 		/**
-		 * Returns the raw value bound to the {@link MethodParameter}.
+		 * Returns the name of the {@link UriTemplate} variable to be bound.
 		 * 
 		 * @return
 		 */
-		public Object getValue() {
+		public String getVariableName() {
+			return variableName;
+		}
+
+		/**
+		 * Returns the value bound to the parameter by the given invocation arguments.
+		 * 
+		 * @param arguments must not be {@literal null}.
+		 * @return the value or {@literal null} if the parameter is optional and no value was given.
+		 * @throws IllegalArgumentException if the parameter is required but no value was given.
+		 */
+		public Object getValue(Object[] arguments) {
+
+			Object value = arguments[index];
+
+			if (value == null && required) {
+
+				Object indexOrName = StringUtils.hasText(parameter.getParameterName()) ? parameter.getParameterName() : index;
+
+				throw new IllegalArgumentException(String.format(
+						"Required controller parameter %s of method %s found but null value given!", indexOrName,
+						parameter.getMethod()));
+			}
+
 			return value;
 		}
 
 		/**
-		 * Returns the bound value converted into a {@link String} based on default conversion service setup.
+		 * Returns the given value converted into a {@link String} based on default conversion service setup.
 		 * 
+		 * @param value can be {@literal null}.
 		 * @return
 		 */
-		public String asString() {
+		public String asString(Object value) {
 
 			if (value == null) {
 				return null;
 			}
 
-			return (String) CONVERSION_SERVICE.convert(value, parameterTypeDecsriptor, STRING_DESCRIPTOR);
+			if (convertByToString) {
+				return value.toString();
+			}
+
+			return (String) CONVERSION_SERVICE.convert(value, typeDescriptor, STRING_DESCRIPTOR);
 		}
 	}
 }
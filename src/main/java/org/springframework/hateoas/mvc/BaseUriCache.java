@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.hateoas.core.BoundedCache;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Process wide cache of the base URIs derived from requests. Entries are keyed by everything the base URI is built
+ * from: scheme, server name and port, context and servlet path and the forwarding headers. Requests of the same
+ * deployment coming through the same proxies thus share a single, pre-rendered base URI.
+ * <p>
+ * The cache is bounded as most of its key is controlled by clients. Once full, the least recently used base
+ * URIs are evicted.
+ */
+class BaseUriCache {
+
+	static final int DEFAULT_MAX_SIZE = 256;
+
+	private static final String[] HEADERS = { ForwardedHeader.NAME, "X-Forwarded-Proto", "X-Forwarded-Ssl",
+			"X-Forwarded-Host", "X-Forwarded-Port" };
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+	private final BoundedCache<Key, BaseUri> cache;
+
+	/**
+	 * Creates a new {@link BaseUriCache} holding up to the given number of base URIs.
+	 *
+	 * @param maxSize must be greater than zero.
+	 */
+	public BaseUriCache(int maxSize) {
+		this.cache = new BoundedCache<Key, BaseUri>(maxSize);
+	}
+
+	/**
+	 * Returns the base URI cached for the given {@link Key}.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @return the {@link BaseUri} or {@literal null} if none is cached.
+	 */
+	public BaseUri get(Key key) {
+		return cache.get(key);
+	}
+
+	/**
+	 * Caches the given base URI for the given {@link Key}.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param baseUri must not be {@literal null}.
+	 */
+	public void put(Key key, BaseUri baseUri) {
+		cache.put(key, baseUri);
+	}
+
+	/**
+	 * Returns the number of cached base URIs.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	/**
+	 * A base URI along with its pre-rendered ASCII representation.
+	 */
+	static class BaseUri {
+
+		private final URI uri;
+		private final String string;
+
+		public BaseUri(URI uri) {
+			this.uri = uri;
+			this.string = uri.toASCIIString();
+		}
+
+		public URI getUri() {
+			return uri;
+		}
+
+		/**
+		 * Returns the ASCII representation of the base URI.
+		 *
+		 * @return
+		 */
+		public String getString() {
+			return string;
+		}
+	}
+
+	/**
+	 * The parts of a request the base URI is derived from.
+	 */
+	static class Key {
+
+		private final Object[] parts;
+		private final int hashCode;
+
+		private Key(Object[] parts) {
+			this.parts = parts;
+			this.hashCode = Arrays.hashCode(parts);
+		}
+
+		/**
+		 * Creates the {@link Key} for the given request.
+		 *
+		 * @param request must not be {@literal null}.
+		 * @return
+		 */
+		public static Key of(HttpServletRequest request) {
+
+			Object[] parts = new Object[6 + HEADERS.length];
+
+			parts[0] = request.getScheme();
+			parts[1] = request.getServerName();
+			parts[2] = request.getServerPort();
+			parts[3] = request.getContextPath();
+			parts[4] = request.getServletPath();
+			// the servlet path is only appended if the request has a path within the servlet mapping
+			parts[5] = StringUtils.hasText(URL_PATH_HELPER.getPathWithinServletMapping(request));
+
+			for (int i = 0; i < HEADERS.length; i++) {
+				parts[6 + i] = request.getHeader(HEADERS[i]);
+			}
+
+			return new Key(parts);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			return Arrays.equals(parts, ((Key) obj).parts);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -24,9 +24,12 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.CachingMappingDiscoverer;
 import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.hateoas.core.LinkBuilderSupport;
 import org.springframework.hateoas.core.MappingDiscoverer;
+import org.springframework.hateoas.mvc.BaseUriCache.BaseUri;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.context.request.RequestAttributes;
@@ -45,9 +48,15 @@ import org.springframework.web.util.UriTemplate;
  */
 public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuilder> {
 
-	private static final MappingDiscoverer DISCOVERER = new AnnotationMappingDiscoverer(RequestMapping.class);
+	private static final MappingDiscoverer DISCOVERER = new CachingMappingDiscoverer(new AnnotationMappingDiscoverer(
+			RequestMapping.class));
 	private static final ControllerLinkBuilderFactory FACTORY = new ControllerLinkBuilderFactory();
+	private static final MappingLinkTemplateCachingFactory TEMPLATES = new MappingLinkTemplateCachingFactory(DISCOVERER);
+	private static final BaseUriCache BASE_URIS = new BaseUriCache(BaseUriCache.DEFAULT_MAX_SIZE);
 	public static final String CACHE_KEY = ControllerLinkBuilder.class.getName() + "#BUILDER_CACHE";
+	private static final String BASE_URI_KEY = ControllerLinkBuilder.class.getName() + "#BASE_URI";
+
+	private static volatile BaseUri configuredBaseUri;
 
 	/**
 	 * Creates a new {@link ControllerLinkBuilder} using the given {@link UriComponentsBuilder}.
@@ -61,6 +70,15 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 		super(uriComponents);
 	}
 
+	/**
+	 * Creates a new {@link ControllerLinkBuilder} from an already rendered URI.
+	 * 
+	 * @param uriString must not be {@literal null}.
+	 */
+	ControllerLinkBuilder(String uriString) {
+		super(uriString);
+	}
+
 	/**
 	 * Creates a new {@link ControllerLinkBuilder} with a base of the mapping annotated to the given controller class.
 	 * 
@@ -84,6 +102,12 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 
 		Assert.notNull(controller);
 
+		String href = TEMPLATES.getTemplate(controller).expand(getBaseUriString(), parameters);
+
+		if (href != null) {
+			return new ControllerLinkBuilder(href);
+		}
+
 		ControllerLinkBuilder builder = new ControllerLinkBuilder(getBuilder());
 		String mapping = DISCOVERER.getMapping(controller);
 
@@ -108,6 +132,12 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 		Assert.notNull(controller, "Controller type must not be null!");
 		Assert.notNull(method, "Method must not be null!");
 
+		String href = TEMPLATES.getTemplate(controller, method).expand(getBaseUriString(), parameters);
+
+		if (href != null) {
+			return new ControllerLinkBuilder(href);
+		}
+
 		UriTemplate template = new UriTemplate(DISCOVERER.getMapping(controller, method));
 		URI uri = template.expand(parameters);
 
@@ -180,26 +210,82 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 	}
 
 	static UriComponentsBuilder getBuilder() {
-		URI baseUri = getCachedBaseUri();
-		if (baseUri == null) {
-			UriComponentsBuilder builderFromRequest = createBuilderFromRequest();
-			cacheBaseUri(builderFromRequest.build().toUri());
-			return builderFromRequest;
-		} else {
-			return UriComponentsBuilder.fromUri(baseUri);
-		}
+		return UriComponentsBuilder.fromUri(getBaseUri());
 	}
 
 	static URI getBaseUri() {
-		URI baseUri = getCachedBaseUri();
-		if (baseUri == null) {
-			UriComponentsBuilder builderFromRequest = createBuilderFromRequest();
-			URI uri = builderFromRequest.build().toUri();
-			cacheBaseUri(uri);
-			return uri;
-		} else {
+		return getCachedBaseUri().getUri();
+	}
+
+	/**
+	 * Returns the ASCII representation of the base URI of the current request.
+	 *
+	 * @return
+	 */
+	static String getBaseUriString() {
+		return getCachedBaseUri().getString();
+	}
+
+	/**
+	 * Returns the base URI configured through {@link BaseUris} or the one of the current request. The latter is looked up
+	 * in the request attributes first, then in the process wide {@link BaseUriCache} and only built from the request if
+	 * neither contains it.
+	 *
+	 * @return
+	 */
+	private static BaseUri getCachedBaseUri() {
+
+		URI configured = BaseUris.getBaseUri();
+
+		if (configured != null) {
+			return getConfiguredBaseUri(configured);
+		}
+
+		RequestAttributes attributes = getRequestAttributes();
+		BaseUri baseUri = (BaseUri) attributes.getAttribute(BASE_URI_KEY, RequestAttributes.SCOPE_REQUEST);
+
+		if (baseUri != null) {
 			return baseUri;
 		}
+
+		URI uri = (URI) attributes.getAttribute(CACHE_KEY, RequestAttributes.SCOPE_REQUEST);
+
+		if (uri != null) {
+			baseUri = new BaseUri(uri);
+		} else {
+			HttpServletRequest request = getCurrentRequest();
+			BaseUriCache.Key key = BaseUriCache.Key.of(request);
+			baseUri = BASE_URIS.get(key);
+
+			if (baseUri == null) {
+				baseUri = new BaseUri(createBuilderFromRequest(request).build().toUri());
+				BASE_URIS.put(key, baseUri);
+			}
+
+			attributes.setAttribute(CACHE_KEY, baseUri.getUri(), RequestAttributes.SCOPE_REQUEST);
+		}
+
+		attributes.setAttribute(BASE_URI_KEY, baseUri, RequestAttributes.SCOPE_REQUEST);
+		return baseUri;
+	}
+
+	/**
+	 * Returns the {@link BaseUri} for the given configured URI, reusing the last one created as resolvers usually hand out
+	 * the same instance.
+	 *
+	 * @param uri must not be {@literal null}.
+	 * @return
+	 */
+	private static BaseUri getConfiguredBaseUri(URI uri) {
+
+		BaseUri baseUri = configuredBaseUri;
+
+		if (baseUri == null || baseUri.getUri() != uri) {
+			baseUri = new BaseUri(uri);
+			configuredBaseUri = baseUri;
+		}
+
+		return baseUri;
 	}
 
 	/**
@@ -209,8 +295,7 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 	 *
 	 * @return
 	 */
-	private static UriComponentsBuilder createBuilderFromRequest() {
-		HttpServletRequest request = getCurrentRequest();
+	private static UriComponentsBuilder createBuilderFromRequest(HttpServletRequest request) {
 		ServletUriComponentsBuilder builder = ServletUriComponentsBuilder.fromServletMapping(request);
 
 		ForwardedHeader forwarded = ForwardedHeader.of(request.getHeader(ForwardedHeader.NAME));
@@ -273,12 +358,4 @@ public class ControllerLinkBuilder extends LinkBuilderSupport<ControllerLinkBuil
 		Assert.state(requestAttributes != null, "Could not find current request via RequestContextHolder");
 		return requestAttributes;
 	}
-
-	private static void cacheBaseUri(URI uri) {
-		getRequestAttributes().setAttribute(CACHE_KEY, uri, RequestAttributes.SCOPE_REQUEST);
-	}
-
-	private static URI getCachedBaseUri() {
-		return (URI) getRequestAttributes().getAttribute(CACHE_KEY, RequestAttributes.SCOPE_REQUEST);
-	}
 }
@@ -17,13 +17,14 @@ package org.springframework.hateoas.mvc;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.hateoas.Link;
@@ -31,14 +32,15 @@ import org.springframework.hateoas.MethodLinkBuilderFactory;
 import org.springframework.hateoas.core.AnnotationAttribute;
 import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
 import org.springframework.hateoas.core.CachingMappingDiscoverer;
+import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware;
 import org.springframework.hateoas.core.DummyInvocationUtils.MethodInvocation;
 import org.springframework.hateoas.core.LinkBuilderSupport;
 import org.springframework.hateoas.core.MappingDiscoverer;
-import org.springframework.hateoas.core.MethodParameters;
-import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.BoundMethodParameter;
+import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.ParameterBinding;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -62,9 +64,15 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 	private static final AnnotatedParametersParameterAccessor PATH_VARIABLE_ACCESSOR = new AnnotatedParametersParameterAccessor(
 			new AnnotationAttribute(PathVariable.class));
 	private static final AnnotatedParametersParameterAccessor REQUEST_PARAM_ACCESSOR = new RequestParamParameterAccessor();
+	private static final FastLinkTemplateFactory TEMPLATE_FACTORY = new FastLinkTemplateFactory();
+	private static final FastLinkTemplate NOT_COMPILABLE = new FastLinkTemplate(
+			Collections.<FastLinkTemplate.Component> emptyList(), Collections.<FastLinkTemplate.Component> emptyList());
 
-	private List<UriComponentsContributor> uriComponentsContributors = new ArrayList<UriComponentsContributor>();
+	private final ConcurrentMap<TemplateKey, FastLinkTemplate> templates = new ConcurrentHashMap<TemplateKey, FastLinkTemplate>();
+
+	private UriComponentsContributors uriComponentsContributors = UriComponentsContributors.NONE;
 	private UriTemplateFactory uriTemplateFactory = new UriTemplateFactory();
+	private boolean compileTemplates = !isContributionCustomized(getClass());
 
 	/**
 	 * Configures the {@link UriComponentsContributor} to be used when building {@link Link} instances from method
@@ -74,7 +82,24 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 	 * @param uriComponentsContributors the uriComponentsContributors to set
 	 */
 	public void setUriComponentsContributors(List<? extends UriComponentsContributor> uriComponentsContributors) {
-		this.uriComponentsContributors = Collections.unmodifiableList(uriComponentsContributors);
+		this.uriComponentsContributors = new UriComponentsContributors(uriComponentsContributors);
+		this.templates.clear();
+	}
+
+	/**
+	 * Configures whether links to method invocations are rendered through compiled {@link FastLinkTemplate}s, falling
+	 * back to {@link UriComponentsBuilder} for the invocations they can't handle. The output is the same either
+	 * way. Defaults to {@literal true} unless {@link #applyUriComponentsContributer(UriComponentsBuilder, MethodInvocation)}
+	 * is overridden.
+	 * 
+	 * @param compileTemplates
+	 */
+	public void setCompileTemplates(boolean compileTemplates) {
+
+		Assert.isTrue(!compileTemplates || !isContributionCustomized(getClass()),
+				"Templates can't be compiled if applyUriComponentsContributer(…) is overridden!");
+
+		this.compileTemplates = compileTemplates;
 	}
 
 	/*
@@ -112,12 +137,38 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 	public ControllerLinkBuilder linkTo(Object invocationValue) {
 
 		Assert.isInstanceOf(LastInvocationAware.class, invocationValue);
-		LastInvocationAware invocations = (LastInvocationAware) invocationValue;
+
+		try {
+			return linkToInvocation((LastInvocationAware) invocationValue);
+		} finally {
+			DummyInvocationUtils.releaseRecorder(invocationValue);
+		}
+	}
+
+	private ControllerLinkBuilder linkToInvocation(LastInvocationAware invocations) {
 
 		MethodInvocation invocation = invocations.getLastInvocation();
-		Iterator<Object> classMappingParameters = invocations.getObjectParameters();
 		Method method = invocation.getMethod();
 
+		if (compileTemplates) {
+
+			List<Object> objectParameters = new ArrayList<Object>();
+
+			for (Iterator<Object> iterator = invocations.getObjectParameters(); iterator.hasNext();) {
+				objectParameters.add(iterator.next());
+			}
+
+			FastLinkTemplate template = getTemplate(invocation.getTargetType(), method, objectParameters.size());
+			String href = template == null ? null : template.expand(ControllerLinkBuilder.getBaseUriString(),
+					invocation.getArguments(), objectParameters);
+
+			if (href != null) {
+				return new ControllerLinkBuilder(href);
+			}
+		}
+
+		Iterator<Object> classMappingParameters = invocations.getObjectParameters();
+
 		String mapping = DISCOVERER.getMapping(invocation.getTargetType(), method);
 		UriComponentsBuilder builder = ControllerLinkBuilder.getBuilder().path(mapping);
 
@@ -129,18 +180,65 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 			values.put(names.next(), classMappingParameters.next());
 		}
 
-		for (BoundMethodParameter parameter : PATH_VARIABLE_ACCESSOR.getBoundParameters(invocation)) {
-			values.put(parameter.getVariableName(), parameter.asString());
+		Object[] arguments = invocation.getArguments();
+
+		for (ParameterBinding binding : PATH_VARIABLE_ACCESSOR.getBindings(method)) {
+			values.put(binding.getVariableName(), binding.asString(binding.getValue(arguments)));
 		}
 
-		for (BoundMethodParameter parameter : REQUEST_PARAM_ACCESSOR.getBoundParameters(invocation)) {
-			bindRequestParameters(builder, parameter);
+		for (ParameterBinding binding : REQUEST_PARAM_ACCESSOR.getBindings(method)) {
+
+			Object value = binding.getValue(arguments);
+
+			if (value != null) {
+				bindRequestParameters(builder, binding, value);
+			}
 		}
 
 		UriComponents components = applyUriComponentsContributer(builder, invocation).buildAndExpand(values);
 		return new ControllerLinkBuilder(components);
 	}
 
+	/**
+	 * Returns the {@link FastLinkTemplate} rendering the links to the given method invoked on the given type with the
+	 * given number of type level parameters, compiling it on first access.
+	 * 
+	 * @return the template or {@literal null} if the method's mapping can't be compiled.
+	 */
+	private FastLinkTemplate getTemplate(Class<?> type, Method method, int objectParameterCount) {
+
+		TemplateKey key = new TemplateKey(type, method, objectParameterCount);
+		FastLinkTemplate template = templates.get(key);
+
+		if (template == null) {
+
+			template = TEMPLATE_FACTORY.createEncodingLinkTemplate(type, method, objectParameterCount);
+
+			if (template == null) {
+				template = NOT_COMPILABLE;
+			} else {
+				template.setContributions(uriComponentsContributors.getContributions(method));
+			}
+
+			templates.putIfAbsent(key, template);
+		}
+
+		return template == NOT_COMPILABLE ? null : template;
+	}
+
+	/**
+	 * Returns whether the given {@link ControllerLinkBuilderFactory} type overrides
+	 * {@link #applyUriComponentsContributer(UriComponentsBuilder, MethodInvocation)}, which the compiled templates would
+	 * bypass.
+	 */
+	private static boolean isContributionCustomized(Class<?> type) {
+
+		Method method = ReflectionUtils.findMethod(type, "applyUriComponentsContributer", UriComponentsBuilder.class,
+				MethodInvocation.class);
+
+		return !ControllerLinkBuilderFactory.class.equals(method.getDeclaringClass());
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.hateoas.MethodLinkBuilderFactory#linkTo(java.lang.reflect.Method, java.lang.Object[])
@@ -151,41 +249,29 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 	}
 
 	/**
-	 * Applies the configured {@link UriComponentsContributor}s to the given {@link UriComponentsBuilder}.
+	 * Applies the configured {@link UriComponentsContributor}s to the given {@link UriComponentsBuilder}. Which
+	 * contributors apply to which parameters is determined once per method.
 	 * 
 	 * @param builder will never be {@literal null}.
 	 * @param invocation will never be {@literal null}.
 	 * @return
 	 */
 	protected UriComponentsBuilder applyUriComponentsContributer(UriComponentsBuilder builder, MethodInvocation invocation) {
-
-		MethodParameters parameters = new MethodParameters(invocation.getMethod());
-		Iterator<Object> parameterValues = Arrays.asList(invocation.getArguments()).iterator();
-
-		for (MethodParameter parameter : parameters.getParameters()) {
-			Object parameterValue = parameterValues.next();
-			for (UriComponentsContributor contributor : uriComponentsContributors) {
-				if (contributor.supportsParameter(parameter)) {
-					contributor.enhance(builder, parameter, parameterValue);
-				}
-			}
-		}
-
-		return builder;
+		return uriComponentsContributors.apply(builder, invocation.getMethod(), invocation.getArguments());
 	}
 
 	/**
-	 * Populates the given {@link UriComponentsBuilder} with request parameters found in the given
-	 * {@link BoundMethodParameter}.
+	 * Populates the given {@link UriComponentsBuilder} with request parameters found in the given value bound to the
+	 * given {@link ParameterBinding}.
 	 * 
 	 * @param builder must not be {@literal null}.
-	 * @param parameter must not be {@literal null}.
+	 * @param binding must not be {@literal null}.
+	 * @param value must not be {@literal null}.
 	 */
 	@SuppressWarnings("unchecked")
-	private static void bindRequestParameters(UriComponentsBuilder builder, BoundMethodParameter parameter) {
+	private static void bindRequestParameters(UriComponentsBuilder builder, ParameterBinding binding, Object value) {
 
-		Object value = parameter.getValue();
-		String key = parameter.getVariableName();
+		String key = binding.getVariableName();
 
 		if (value instanceof MultiValueMap) {
 
@@ -212,7 +298,54 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 			}
 
 		} else {
-			builder.queryParam(key, parameter.asString());
+			builder.queryParam(key, binding.asString(value));
+		}
+	}
+
+	/**
+	 * Key of the compiled {@link FastLinkTemplate}s, the controller type, method and number of type level
+	 * parameters.
+	 */
+	private static class TemplateKey {
+
+		private final Class<?> type;
+		private final Method method;
+		private final int objectParameterCount;
+
+		public TemplateKey(Class<?> type, Method method, int objectParameterCount) {
+			this.type = type;
+			this.method = method;
+			this.objectParameterCount = objectParameterCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof TemplateKey)) {
+				return false;
+			}
+
+			TemplateKey that = (TemplateKey) obj;
+
+			return type.equals(that.type) && method.equals(that.method)
+					&& objectParameterCount == that.objectParameterCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * (31 * type.hashCode() + method.hashCode()) + objectParameterCount;
 		}
 	}
 
@@ -222,7 +355,7 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 	 * 
 	 * @author Oliver Gierke
 	 */
-	private static class RequestParamParameterAccessor extends AnnotatedParametersParameterAccessor {
+	static class RequestParamParameterAccessor extends AnnotatedParametersParameterAccessor {
 
 		public RequestParamParameterAccessor() {
 			super(new AnnotationAttribute(RequestParam.class));
@@ -230,13 +363,11 @@ public class ControllerLinkBuilderFactory implements MethodLinkBuilderFactory<Co
 
 		/* 
 		 * (non-Javadoc)
-		 * @see org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor#verifyParameterValue(org.springframework.core.MethodParameter, java.lang.Object)
+		 * @see org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor#isRequired(org.springframework.core.MethodParameter)
 		 */
 		@Override
-		protected Object verifyParameterValue(MethodParameter parameter, Object value) {
-
-			RequestParam annotation = parameter.getParameterAnnotation(RequestParam.class);
-			return annotation.required() ? super.verifyParameterValue(parameter, value) : value;
+		protected boolean isRequired(MethodParameter parameter) {
+			return parameter.getParameterAnnotation(RequestParam.class).required();
 		}
 	}
 }
@@ -0,0 +1,31 @@
+package org.springframework.hateoas.mvc;
+
+import java.util.List;
+
+import org.springframework.hateoas.core.DeferredLink;
+
+/**
+ * {@link DeferredLink} rendered by a {@link FastLinkTemplate}. Path and query are rendered when the link is created, so
+ * that arguments are converted right away and the link doesn't keep them. Only appending them to the base URI is
+ * deferred until the href is written.
+ */
+class FastLink extends DeferredLink {
+	private static final long serialVersionUID = 5207018632375446587L;
+
+	private final String baseUri;
+	private final String pathAndQuery;
+
+	FastLink(FastLinkTemplate template, Object[] arguments, List<Object> objectParameters, String rel) {
+		super(rel);
+		this.baseUri = ControllerLinkBuilder.getBaseUriString();
+
+		StringBuilder builder = new StringBuilder();
+		template.write(builder, "", arguments, objectParameters);
+		this.pathAndQuery = builder.toString();
+	}
+
+	@Override
+	public void writeHref(StringBuilder builder) {
+		builder.append(baseUri).append(pathAndQuery);
+	}
+}
@@ -0,0 +1,118 @@
+package org.springframework.hateoas.mvc;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.util.Assert;
+
+/**
+ * Controller method resolved once into a reusable link template. Expanding the handle goes straight to the compiled
+ * {@link FastLinkTemplate} without recording a method invocation through proxies. The template is looked up from the
+ * {@link FastLinkTemplateCachingFactory} in charge of the current request and kept as long as that one stays the same,
+ * so handles can be created upfront and shared between threads.
+ *
+ * @see FastLinks#template(Class, String, Class[])
+ */
+public class FastLinkHandle {
+	private final Class<?> controller;
+	private final Method method;
+	private final int parameterCount;
+	private final List<Object> typeParameters;
+	private volatile ResolvedTemplate resolved;
+
+	FastLinkHandle(Class<?> controller, Method method) {
+		this(controller, method, Collections.<Object> emptyList());
+	}
+
+	private FastLinkHandle(Class<?> controller, Method method, List<Object> typeParameters) {
+		this.controller = controller;
+		this.method = method;
+		this.parameterCount = method.getParameterTypes().length;
+		this.typeParameters = typeParameters;
+	}
+
+	/**
+	 * Returns a new handle binding the given parameters to the template variables of the type level mapping, like the
+	 * parameters handed to {@link ControllerLinkBuilder#methodOn(Class, Object...)}.
+	 *
+	 * @param parameters must not be {@literal null}.
+	 * @return
+	 */
+	public FastLinkHandle withTypeParameters(Object... parameters) {
+		Assert.notNull(parameters, "Parameters must not be null!");
+		return new FastLinkHandle(controller, method, Arrays.asList(parameters.clone()));
+	}
+
+	/**
+	 * Builds the link for the given method arguments.
+	 *
+	 * @param arguments the arguments in the order of the method parameters, must not be {@literal null}.
+	 * @return
+	 */
+	public String expand(Object... arguments) {
+		Assert.notNull(arguments, "Arguments must not be null!");
+		if (arguments.length != parameterCount) {
+			throw new IllegalArgumentException(String.format("Method %s expects %d arguments but got %d!", method,
+					parameterCount, arguments.length));
+		}
+
+		return getTemplate().build(arguments, typeParameters);
+	}
+
+	/**
+	 * Creates a {@link Link} with the given rel for the given method arguments. The href is
+	 * only written when it is serialized or requested, see {@link org.springframework.hateoas.core.DeferredLink}.
+	 * The arguments are converted right away, so changes made to them afterwards don't show up in the href.
+	 *
+	 * @param rel must not be {@literal null} or empty.
+	 * @param arguments the arguments in the order of the method parameters, must not be {@literal null}.
+	 * @return
+	 */
+	public Link link(String rel, Object... arguments) {
+		Assert.notNull(arguments, "Arguments must not be null!");
+		if (arguments.length != parameterCount) {
+			throw new IllegalArgumentException(String.format("Method %s expects %d arguments but got %d!", method,
+					parameterCount, arguments.length));
+		}
+
+		return new FastLink(getTemplate(), arguments, typeParameters, rel);
+	}
+
+	private FastLinkTemplate getTemplate() {
+		FastLinkTemplateCachingFactory factory = FastLinks.getLinkFactory();
+		ResolvedTemplate resolved = this.resolved;
+
+		if (resolved == null || resolved.factory != factory) {
+			resolved = new ResolvedTemplate(factory,
+					factory.createLinkTemplate(controller, method, typeParameters.size()));
+			this.resolved = resolved;
+		}
+
+		return resolved.template;
+	}
+
+	/**
+	 * Returns the controller method the handle points to.
+	 *
+	 * @return
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * The template of the handle along with the factory it was created by.
+	 */
+	private static class ResolvedTemplate {
+		private final FastLinkTemplateCachingFactory factory;
+		private final FastLinkTemplate template;
+
+		ResolvedTemplate(FastLinkTemplateCachingFactory factory, FastLinkTemplate template) {
+			this.factory = factory;
+			this.template = template;
+		}
+	}
+}
@@ -3,117 +3,76 @@ package org.springframework.hateoas.mvc;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.hateoas.core.UriEncoder;
+import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.ParameterBinding;
 import org.springframework.hateoas.mvc.FastLinks.LastInvocationHolder;
-import org.springframework.web.util.UriUtils;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URI;
+import org.springframework.hateoas.mvc.UriComponentsContributors.Contribution;
+import org.springframework.util.Assert;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 class FastLinkTemplate {
 	enum Type {
-		PATH_SEGMENT {
-			@Override
-			public boolean isAllowed(int c) {
-				return isPchar(c) || '%' == c;
-			}
+		PATH_SEGMENT(UriEncoder.PATH_SEGMENT, "%"),
+		QUERY_PARAM(UriEncoder.QUERY_PARAM, "%+");
 
-			@Override
-			protected String doEncode(String value) throws UnsupportedEncodingException {
-				return UriUtils.encodePathSegment(value, "UTF-8");
-			}
-		},
-		QUERY_PARAM {
-			@Override
-			public boolean isAllowed(int c) {
-				if ('=' == c || '&' == c) {
-					return false;
-				} else {
-					return isPchar(c) || '/' == c || '?' == c || '%' == c;
-				}
-			}
-			@Override
-			protected String doEncode(String value) throws UnsupportedEncodingException {
-				return UriUtils.encodeQueryParam(value, "UTF-8");
-			}
-		};
+		private final UriEncoder encoder;
+		private final String additionallyAllowed;
 
-		protected abstract boolean isAllowed(int c);
-		protected abstract String doEncode(String value) throws UnsupportedEncodingException;
+		private Type(UriEncoder encoder, String additionallyAllowed) {
+			this.encoder = encoder;
+			this.additionallyAllowed = additionallyAllowed;
+		}
 
 		public String encode(String input) {
-			try {
-				return doEncode(input);
-			} catch (UnsupportedEncodingException e) {
-				throw new IllegalStateException(e);
-			}
+			return encoder.encode(input);
 		}
 
+		public void encode(String input, StringBuilder buf) {
+			encoder.encode(input, buf);
+		}
+
+		/**
+		 * Returns whether the given value can be used as is, i.e. consists of allowed characters and escape sequences only.
+		 * Path segment values must not be dot segments either, as those are removed by normalization.
+		 */
 		public boolean isAllowed(String input) {
+			if (this == PATH_SEGMENT && (".".equals(input) || "..".equals(input))) {
+				return false;
+			}
 			for (int i = 0; i < input.length(); i++) {
 				char c = input.charAt(i);
-				if (!isAllowed(c)) {
+				if (!encoder.isAllowed(c) && additionallyAllowed.indexOf(c) == -1) {
 					return false;
 				}
 			}
 			return true;
 		}
-
-		/**
-		 * Indicates whether the given character is in the {@code ALPHA} set.
-		 *
-		 * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986, appendix A</a>
-		 */
-		protected boolean isAlpha(int c) {
-			return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
-		}
-
-		/**
-		 * Indicates whether the given character is in the {@code DIGIT} set.
-		 *
-		 * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986, appendix A</a>
-		 */
-		protected boolean isDigit(int c) {
-			return c >= '0' && c <= '9';
-		}
-
-		/**
-		 * Indicates whether the given character is in the {@code sub-delims} set.
-		 *
-		 * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986, appendix A</a>
-		 */
-		protected boolean isSubDelimiter(int c) {
-			return '!' == c || '$' == c || '&' == c || '\'' == c || '(' == c || ')' == c || '*' == c || '+' == c ||
-					',' == c || ';' == c || '=' == c;
-		}
-
-		/**
-		 * Indicates whether the given character is in the {@code unreserved} set.
-		 *
-		 * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986, appendix A</a>
-		 */
-		protected boolean isUnreserved(int c) {
-			return isAlpha(c) || isDigit(c) || '-' == c || '.' == c || '_' == c || '~' == c;
-		}
-
-		/**
-		 * Indicates whether the given character is in the {@code pchar} set.
-		 *
-		 * @see <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC 3986, appendix A</a>
-		 */
-		protected boolean isPchar(int c) {
-			return isUnreserved(c) || isSubDelimiter(c) || ':' == c || '@' == c;
-		}
 	}
 
 	interface Encoder {
 		String encode(Object par);
+
+		/**
+		 * Appends the encoded form of the given non-null value to the given buffer.
+		 */
+		void append(StringBuilder buf, Object par);
 	}
 
-	private interface ParamAccessor {
-		Object getParam(LastInvocationHolder invocations);
+	interface ParamAccessor {
+		Object getParam(Object[] arguments, List<Object> objectParameters);
 	}
 
 	static class ObjectParameterAccessor implements ParamAccessor {
@@ -123,9 +82,12 @@ class FastLinkTemplate {
 			this.idx = idx;
 		}
 
+		public int getIndex() {
+			return idx;
+		}
+
 		@Override
-		public Object getParam(LastInvocationHolder invocations) {
-			List<Object> objectParameters = invocations.getObjectParameters();
+		public Object getParam(Object[] arguments, List<Object> objectParameters) {
 			if (objectParameters.size() > idx) {
 				return objectParameters.get(idx);
 			} else {
@@ -141,9 +103,12 @@ class FastLinkTemplate {
 			this.idx = idx;
 		}
 
+		public int getIndex() {
+			return idx;
+		}
+
 		@Override
-		public Object getParam(LastInvocationHolder invocations) {
-			Object[] arguments = invocations.getLastInvocation().getArguments();
+		public Object getParam(Object[] arguments, List<Object> objectParameters) {
 			if (arguments.length > idx) {
 				return arguments[idx];
 			} else {
@@ -152,6 +117,23 @@ class FastLinkTemplate {
 		}
 	}
 
+	/**
+	 * Accessor for method arguments bound through a {@link ParameterBinding}, rejecting missing values of required
+	 * parameters the way {@link ControllerLinkBuilderFactory} does.
+	 */
+	static class ParameterBindingAccessor implements ParamAccessor {
+		private final ParameterBinding binding;
+
+		public ParameterBindingAccessor(ParameterBinding binding) {
+			this.binding = binding;
+		}
+
+		@Override
+		public Object getParam(Object[] arguments, List<Object> objectParameters) {
+			return binding.getValue(arguments);
+		}
+	}
+
 	static class ToStringValueEncoder implements Encoder {
 		private Type type;
 
@@ -165,6 +147,10 @@ class FastLinkTemplate {
 			return value;
 		}
 
+		public void append(StringBuilder buf, Object par) {
+			buf.append(encode(par));
+		}
+
 		protected String toString(Object par) {
 			if (par instanceof Collection) {
 				return toString((Collection<Object>) par);
@@ -207,16 +193,124 @@ class FastLinkTemplate {
 		}
 	}
 
+	/**
+	 * Encoder for boxed primitives, appending their {@link Object#toString()} representation without the intermediate
+	 * {@link String}. None of them can contain characters that need to be encoded.
+	 */
+	static class PrimitiveEncoder implements Encoder {
+		static final PrimitiveEncoder INSTANCE = new PrimitiveEncoder();
+
+		public String encode(Object par) {
+			return par.toString();
+		}
+
+		public void append(StringBuilder buf, Object par) {
+			if (par instanceof Long || par instanceof Integer || par instanceof Short || par instanceof Byte) {
+				buf.append(((Number) par).longValue());
+			} else if (par instanceof Double) {
+				buf.append(((Double) par).doubleValue());
+			} else if (par instanceof Float) {
+				buf.append(((Float) par).floatValue());
+			} else if (par instanceof Boolean) {
+				buf.append(((Boolean) par).booleanValue());
+			} else {
+				buf.append(par.toString());
+			}
+		}
+	}
+
+	/**
+	 * Encoder for {@link UUID}s, writing the canonical 36 character representation from the bits of the value.
+	 */
+	static class UuidEncoder implements Encoder {
+		static final UuidEncoder INSTANCE = new UuidEncoder();
+		private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+		public String encode(Object par) {
+			StringBuilder buf = new StringBuilder(36);
+			append(buf, par);
+			return buf.toString();
+		}
+
+		public void append(StringBuilder buf, Object par) {
+			UUID uuid = (UUID) par;
+			long most = uuid.getMostSignificantBits();
+			long least = uuid.getLeastSignificantBits();
+
+			appendHex(buf, most >>> 32, 8);
+			buf.append('-');
+			appendHex(buf, most >>> 16, 4);
+			buf.append('-');
+			appendHex(buf, most, 4);
+			buf.append('-');
+			appendHex(buf, least >>> 48, 4);
+			buf.append('-');
+			appendHex(buf, least, 12);
+		}
+
+		private static void appendHex(StringBuilder buf, long value, int digits) {
+			for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+				buf.append(DIGITS[(int) (value >>> shift) & 0xF]);
+			}
+		}
+	}
+
+	/**
+	 * Encoder for values of a particular enum type, the names of its constants are verified once upfront.
+	 */
+	static class EnumEncoder implements Encoder {
+		private final String[] names;
+
+		public EnumEncoder(Class<?> enumType, Type type) {
+			Object[] constants = enumType.getEnumConstants();
+			this.names = new String[constants.length];
+			for (int i = 0; i < constants.length; i++) {
+				String name = ((Enum<?>) constants[i]).name();
+				names[i] = type.isAllowed(name) ? name : null;
+			}
+		}
+
+		public String encode(Object par) {
+			Enum<?> value = (Enum<?>) par;
+			String name = names[value.ordinal()];
+			if (name == null) {
+				throw new IllegalArgumentException("The value contains not allowed characters: " + value.name());
+			}
+			return name;
+		}
+
+		public void append(StringBuilder buf, Object par) {
+			buf.append(encode(par));
+		}
+	}
+
+	/**
+	 * Encoder converting values through a {@link ConversionService}, using the type descriptors computed when the
+	 * template was created.
+	 */
 	static class ConversionServiceEncoder implements Encoder {
-		private static final ConversionService CONVERSION_SERVICE = new DefaultFormattingConversionService();
 		private static final TypeDescriptor STRING_DESCRIPTOR = TypeDescriptor.valueOf(String.class);
 
 		private Type type;
 		private TypeDescriptor parameterTypeDescriptor;
+		private ConversionService conversionService;
 
 		public ConversionServiceEncoder(Type type, TypeDescriptor parameterTypeDescriptor) {
+			this(type, parameterTypeDescriptor, getDefaultConversionService());
+		}
+
+		public ConversionServiceEncoder(Type type, TypeDescriptor parameterTypeDescriptor,
+				ConversionService conversionService) {
 			this.type = type;
 			this.parameterTypeDescriptor = parameterTypeDescriptor;
+			this.conversionService = conversionService;
+		}
+
+		/**
+		 * Returns the {@link ConversionService} used if none is configured, created on first use.
+		 */
+		static ConversionService getDefaultConversionService() {
+			return DefaultConversionServiceHolder.INSTANCE;
 		}
 
 		public String encode(Object value) {
@@ -224,8 +318,23 @@ class FastLinkTemplate {
 				return null;
 			}
 
-			String result = (String) CONVERSION_SERVICE.convert(value, parameterTypeDescriptor, STRING_DESCRIPTOR);
-			return type.encode(result);
+			return type.encode(convert(value));
+		}
+
+		public void append(StringBuilder buf, Object value) {
+			if (value == null) {
+				buf.append(encode(value));
+			} else {
+				type.encode(convert(value), buf);
+			}
+		}
+
+		private String convert(Object value) {
+			return (String) conversionService.convert(value, parameterTypeDescriptor, STRING_DESCRIPTOR);
+		}
+
+		private static class DefaultConversionServiceHolder {
+			static final ConversionService INSTANCE = new DefaultFormattingConversionService();
 		}
 	}
 
@@ -241,6 +350,74 @@ class FastLinkTemplate {
 
 			throw new IllegalArgumentException("Encoding links with such parameters is not supported: " + value.getClass());
 		}
+
+		public void append(StringBuilder buf, Object value) {
+			encode(value);
+		}
+	}
+
+	/**
+	 * Encoder converting and encoding values the way {@link ControllerLinkBuilderFactory} hands them to a
+	 * {@link UriComponentsBuilder}: arguments are converted through the {@link ParameterBinding} of their parameter,
+	 * type level parameters through {@link Object#toString()}. Query values without a binding are entries of a map
+	 * parameter and have to be {@link String}s. Values the template can't render like the {@link UriComponentsBuilder}
+	 * does are reported through {@link NotRenderableException}, i.e. path values spanning multiple segments and query
+	 * values that would be subject to template expansion.
+	 */
+	static class ConvertingEncoder implements Encoder {
+		private final Type type;
+		private final ParameterBinding binding;
+
+		public ConvertingEncoder(Type type, ParameterBinding binding) {
+			this.type = type;
+			this.binding = binding;
+		}
+
+		public String encode(Object par) {
+			return type.encode(convert(par));
+		}
+
+		public void append(StringBuilder buf, Object par) {
+			type.encode(convert(par), buf);
+		}
+
+		private String convert(Object par) {
+			String value;
+			// elements of collections are handed in as strings already
+			if (par instanceof String) {
+				value = (String) par;
+			} else if (binding != null) {
+				value = binding.asString(par);
+			} else if (type == Type.PATH_SEGMENT) {
+				value = par.toString();
+			} else {
+				throw NotRenderableException.INSTANCE;
+			}
+
+			if (type == Type.PATH_SEGMENT ? value.indexOf('/') != -1 : value.indexOf('{') != -1) {
+				throw NotRenderableException.INSTANCE;
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Signals a value the template can't render the way {@link ControllerLinkBuilderFactory} does, so that
+	 * {@link FastLinkTemplate#expand(String, Object[], List)} falls back. As it isn't an error, the shared instance
+	 * doesn't carry a stack trace.
+	 */
+	static class NotRenderableException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		static final NotRenderableException INSTANCE = new NotRenderableException();
+
+		private NotRenderableException() {
+			super("Value can't be rendered by the compiled template");
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
 	}
 
 	static abstract class Component {
@@ -254,11 +431,15 @@ class FastLinkTemplate {
 			return encoder.encode(par);
 		}
 
-		public boolean append(StringBuilder buf, LastInvocationHolder invocation) {
-			return doAppend(buf, invocation);
+		public Encoder getEncoder() {
+			return encoder;
+		}
+
+		public boolean append(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
+			return doAppend(buf, arguments, objectParameters);
 		}
 
-		protected abstract boolean doAppend(StringBuilder buf, LastInvocationHolder invocation);
+		protected abstract boolean doAppend(StringBuilder buf, Object[] arguments, List<Object> objectParameters);
 	}
 
 	static class ParameterPathComponent extends Component {
@@ -272,11 +453,15 @@ class FastLinkTemplate {
 			this.paramAccessor = paramAccessor;
 		}
 
+		public ParamAccessor getParamAccessor() {
+			return paramAccessor;
+		}
+
 		@Override
-		public boolean doAppend(StringBuilder buf, LastInvocationHolder invocation) {
-			Object param = paramAccessor.getParam(invocation);
+		public boolean doAppend(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
+			Object param = paramAccessor.getParam(arguments, objectParameters);
 			if (param != null) {
-				buf.append(encode(param));
+				getEncoder().append(buf, param);
 				return true;
 			} else {
 				return false;
@@ -292,8 +477,12 @@ class FastLinkTemplate {
 			this.part = part;
 		}
 
+		public String getPart() {
+			return part;
+		}
+
 		@Override
-		public boolean doAppend(StringBuilder buf, LastInvocationHolder invocation) {
+		public boolean doAppend(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
 			buf.append(part);
 			return true;
 		}
@@ -302,18 +491,42 @@ class FastLinkTemplate {
 	static class QueryParamComponent extends Component {
 		private String paramName;
 		private ParamAccessor paramAccessor;
+		private boolean required;
+
+		public QueryParamComponent(String paramName, ParamAccessor paramAccessor, Encoder encoder) {
+			this(paramName, paramAccessor, encoder, false);
+		}
 
-		public QueryParamComponent(String paramName, MethodArgumentAccessor paramAccessor, Encoder encoder) {
+		public QueryParamComponent(String paramName, ParamAccessor paramAccessor, Encoder encoder,
+				boolean required) {
 			super(encoder);
 			this.paramName = paramName;
 			this.paramAccessor = paramAccessor;
+			this.required = required;
+		}
+
+		public String getParamName() {
+			return paramName;
+		}
+
+		public ParamAccessor getParamAccessor() {
+			return paramAccessor;
 		}
 
 		@Override
-		public boolean doAppend(StringBuilder buf, LastInvocationHolder invocation) {
-			Object paramValue = paramAccessor.getParam(invocation);
+		public boolean doAppend(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
+			return appendParam(buf, paramAccessor.getParam(arguments, objectParameters));
+		}
 
+		/**
+		 * Appends the given value of the parameter, returns whether anything has been appended.
+		 */
+		public boolean appendParam(StringBuilder buf, Object paramValue) {
 			if (paramValue == null) {
+				if (required) {
+					throw new IllegalArgumentException("Required request parameter " + paramName
+							+ " found but null value given!");
+				}
 				return false;
 			}
 
@@ -334,7 +547,8 @@ class FastLinkTemplate {
 		private void appendCollection(StringBuilder buf, Collection<Object> paramValue) {
 			for(Iterator<Object> i = paramValue.iterator(); i.hasNext() ;) {
 				Object element = i.next();
-				appendValue(buf, element);
+				// elements are not converted, UriComponentsBuilder.queryParam(…) renders them through toString()
+				appendValue(buf, element == null ? null : element.toString());
 				if (i.hasNext()) {
 					buf.append("&");
 				}
@@ -350,45 +564,396 @@ class FastLinkTemplate {
 			}
 		}
 
-		private void appendValue(StringBuilder buf, Object paramValue) {
-			String paramValueEncoded = encode(paramValue);
-			buf.append(paramName).append("=").append(paramValueEncoded);
+		protected void appendValue(StringBuilder buf, Object paramValue) {
+			// null elements render as parameter without value, just like UriComponents do
+			if (paramValue == null) {
+				buf.append(paramName);
+			} else {
+				getEncoder().append(buf.append(paramName).append("="), paramValue);
+			}
+		}
+	}
+
+	/**
+	 * Query parameter populated the way {@link ControllerLinkBuilderFactory} populates a {@link UriComponentsBuilder}:
+	 * arrays are converted into a single value rather than split into separate parameters. Maps handed in for other
+	 * parameter types are left to the general code path.
+	 */
+	static class ConvertedQueryParamComponent extends QueryParamComponent {
+
+		public ConvertedQueryParamComponent(String paramName, ParamAccessor paramAccessor, Encoder encoder) {
+			super(paramName, paramAccessor, encoder);
+		}
+
+		@Override
+		public boolean appendParam(StringBuilder buf, Object paramValue) {
+			if (paramValue instanceof Map) {
+				throw NotRenderableException.INSTANCE;
+			} else if (paramValue != null && paramValue.getClass().isArray()) {
+				appendValue(buf, paramValue);
+				return true;
+			}
+			return super.appendParam(buf, paramValue);
 		}
 	}
 
+	/**
+	 * Query parameters bound to a {@link java.util.Map} or {@link org.springframework.util.MultiValueMap}, each entry is
+	 * appended as separate parameter.
+	 */
+	static class MapQueryParamComponent extends Component {
+		private String paramName;
+		private ParamAccessor paramAccessor;
+		private boolean required;
+
+		public MapQueryParamComponent(String paramName, ParamAccessor paramAccessor, Encoder encoder,
+				boolean required) {
+			super(encoder);
+			this.paramName = paramName;
+			this.paramAccessor = paramAccessor;
+			this.required = required;
+		}
+
+		@Override
+		public boolean doAppend(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
+			Object paramValue = paramAccessor.getParam(arguments, objectParameters);
+			if (paramValue == null) {
+				if (required) {
+					throw new IllegalArgumentException("Required request parameter " + paramName
+							+ " found but null value given!");
+				}
+				return false;
+			}
+
+			int start = buf.length();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) paramValue).entrySet()) {
+				if (paramValue instanceof MultiValueMap) {
+					for (Object value : (Collection<?>) entry.getValue()) {
+						appendValue(buf, entry.getKey(), value, start);
+					}
+				} else {
+					appendValue(buf, entry.getKey(), entry.getValue(), start);
+				}
+			}
+			return buf.length() > start;
+		}
+
+		private void appendValue(StringBuilder buf, Object name, Object value, int start) {
+			if (buf.length() > start) {
+				buf.append("&");
+			}
+			buf.append(encode(name));
+			if (value != null) {
+				buf.append("=").append(encode(value));
+			}
+		}
+	}
+
+	/**
+	 * Writes the components of a template in a single method. Implementations are generated by
+	 * {@link FastLinkWriterGenerator}.
+	 */
+	static abstract class LinkWriter {
+		private final int requiredArguments;
+		private final int requiredObjectParameters;
+
+		protected LinkWriter(int requiredArguments, int requiredObjectParameters) {
+			this.requiredArguments = requiredArguments;
+			this.requiredObjectParameters = requiredObjectParameters;
+		}
+
+		/**
+		 * Returns whether enough parameters are given to write the link. If not, the components report the missing ones.
+		 */
+		public boolean canWrite(Object[] arguments, List<Object> objectParameters) {
+			return arguments.length >= requiredArguments && objectParameters.size() >= requiredObjectParameters;
+		}
+
+		/**
+		 * Writes path and query of the link, followed by a trailing {@code ?} or {@code &}. Returns {@literal false} if a
+		 * path parameter is {@literal null}.
+		 */
+		public abstract boolean write(StringBuilder buf, Object[] arguments, List<Object> objectParameters);
+	}
+
 	private List<Component> linkComponents;
 	private List<Component> queryComponents;
+	private LinkWriter writer;
+	private Contribution[] contributions = new Contribution[0];
+	private boolean distinctQueryParams;
 
 	public FastLinkTemplate(List<Component> linkComponents, List<Component> queryComponents) {
 		this.linkComponents = linkComponents;
 		this.queryComponents = queryComponents;
+		this.distinctQueryParams = hasDistinctNames(queryComponents);
+	}
+
+	/**
+	 * Returns whether the given query components are plain request parameters with distinct names, so that their
+	 * values are never to be grouped by name.
+	 */
+	private static boolean hasDistinctNames(List<Component> queryComponents) {
+		Set<String> names = new HashSet<String>();
+		for (Component component : queryComponents) {
+			if (!(component instanceof QueryParamComponent)
+					|| !names.add(((QueryParamComponent) component).getParamName())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generates a dedicated {@link LinkWriter} for the template. Must be called before the template is published to other
+	 * threads.
+	 *
+	 * @return whether the writer could be generated, if not the template keeps using its components.
+	 */
+	boolean generateWriter() {
+		this.writer = FastLinkWriterGenerator.generate(linkComponents, queryComponents);
+		return writer != null;
+	}
+
+	boolean hasWriter() {
+		return writer != null;
+	}
+
+	/**
+	 * Configures the {@link UriComponentsContributor}s to apply to the method arguments. Must be called before the
+	 * template is published to other threads.
+	 */
+	void setContributions(Contribution[] contributions) {
+		this.contributions = contributions;
 	}
 
 	public String build(LastInvocationHolder invocation) {
+		return build(invocation.getLastInvocation().getArguments(), invocation.getObjectParameters());
+	}
+
+	/**
+	 * Builds the link from the raw method arguments and the parameters for the type level mapping.
+	 */
+	public String build(Object[] arguments, List<Object> objectParameters) {
 		StringBuilder buf = new StringBuilder();
 
-		URI baseUri = ControllerLinkBuilder.getBaseUri();
-		buf.append(baseUri.toASCIIString());
+		write(buf, ControllerLinkBuilder.getBaseUriString(), arguments, objectParameters);
+
+		return buf.toString();
+	}
+
+	/**
+	 * Appends the link built from the given base URI, raw method arguments and parameters for the type level mapping to
+	 * the given buffer.
+	 */
+	public void write(StringBuilder buf, String baseUri, Object[] arguments, List<Object> objectParameters) {
+		render(buf, baseUri, arguments, objectParameters, true);
+	}
+
+	/**
+	 * Renders the link the way the {@link UriComponentsBuilder} based code path of {@link ControllerLinkBuilderFactory}
+	 * does. Only valid for templates created through {@link FastLinkTemplateFactory#createEncodingLinkTemplate}, whose
+	 * components convert and encode values instead of rejecting the ones that need encoding.
+	 *
+	 * @return the link or {@literal null} if the template can't guarantee the same output for the given base URI and
+	 *         parameters, e.g. for base URIs containing escaped characters, paths changed by normalization, query values
+	 *         subject to template expansion or contributors changing anything but the query.
+	 */
+	String expand(String baseUri, Object[] arguments, List<Object> objectParameters) {
+		if (!MappingLinkTemplate.isSimpleBaseUri(baseUri)) {
+			return null;
+		}
+
+		StringBuilder buf = new StringBuilder(baseUri.length() + 64);
+
+		try {
+			return render(buf, baseUri, arguments, objectParameters, false) ? buf.toString() : null;
+		} catch (NotRenderableException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Appends the link to the given buffer. Strict rendering reports parameters the template can't handle with an
+	 * exception, otherwise {@literal false} is returned for them.
+	 */
+	private boolean render(StringBuilder buf, String baseUri, Object[] arguments, List<Object> objectParameters,
+			boolean strict) {
+		int start = buf.length();
+		buf.append(baseUri);
+
+		boolean written;
+		if (writer != null && writer.canWrite(arguments, objectParameters)) {
+			written = writer.write(buf, arguments, objectParameters);
+		} else {
+			written = appendComponents(buf, arguments, objectParameters);
+		}
+
+		if (!written) {
+			if (strict) {
+				throw new IllegalArgumentException("Something wrong. Parameters doesn't match the method?");
+			}
+			return false;
+		}
+
+		int queryStart = buf.indexOf("?", start + baseUri.length()) + 1;
+
+		if (!strict && !isNormalized(buf, start + baseUri.length(), queryStart - 1)) {
+			return false;
+		}
+
+		if (contributions.length != 0 && !appendContributions(buf, arguments, strict)) {
+			return false;
+		}
+
+		if (!distinctQueryParams || contributions.length != 0) {
+			groupQueryParams(buf, queryStart);
+		}
 
+		// removing last ? or & character
+		buf.setLength(buf.length() - 1);
+		return true;
+	}
+
+	/**
+	 * Appends path and query, followed by a trailing {@code ?} or {@code &}. Returns {@literal false} if a path
+	 * parameter is {@literal null}.
+	 */
+	private boolean appendComponents(StringBuilder buf, Object[] arguments, List<Object> objectParameters) {
 		for (Component linkComponent : linkComponents) {
-			boolean added = linkComponent.append(buf, invocation);
+			boolean added = linkComponent.append(buf, arguments, objectParameters);
 			if (!added) {
-				throw new IllegalArgumentException("Something wrong. Parameters doesn't match the method?");
+				return false;
 			}
 		}
 
 		buf.append("?");
 
 		for (Component queryComponent : queryComponents) {
-			boolean added = queryComponent.append(buf, invocation);
+			boolean added = queryComponent.append(buf, arguments, objectParameters);
 			if (added) {
 				buf.append("&");
 			}
 		}
 
-		// removing last ? or & character
-		buf.setLength(buf.length() - 1);
+		return true;
+	}
 
-		return buf.toString();
+	/**
+	 * Returns whether the path between the given indexes is left as is by normalization, i.e. contains neither empty nor
+	 * dot segments. An empty last segment is fine if the mapping ends with a slash.
+	 */
+	private boolean isNormalized(StringBuilder buf, int pathStart, int pathEnd) {
+		for (int index = pathStart; index < pathEnd;) {
+			int segmentStart = index + 1;
+			int segmentEnd = buf.indexOf("/", segmentStart);
+			if (segmentEnd == -1 || segmentEnd > pathEnd) {
+				segmentEnd = pathEnd;
+			}
+
+			if (segmentStart == segmentEnd ? segmentEnd != pathEnd || !hasTrailingSlash()
+					: MappingLinkTemplate.isDotSegment(buf, segmentStart, segmentEnd)) {
+				return false;
+			}
+
+			index = segmentEnd;
+		}
+		return true;
+	}
+
+	private boolean hasTrailingSlash() {
+		Component last = linkComponents.isEmpty() ? null : linkComponents.get(linkComponents.size() - 1);
+		return last instanceof StaticPartPathComponent && ((StaticPartPathComponent) last).getPart().endsWith("/");
+	}
+
+	/**
+	 * Groups the query parameters following the given index by name in the order of their first occurrence, the way
+	 * {@link UriComponents} render them. Names and values are encoded at that point, so parameters are split at the
+	 * ampersands and equal signs left.
+	 */
+	private static void groupQueryParams(StringBuilder buf, int queryStart) {
+		Map<String, List<String>> params = new LinkedHashMap<String, List<String>>();
+		int index = queryStart;
+		int count = 0;
+
+		while (index < buf.length()) {
+			int end = buf.indexOf("&", index);
+			String param = buf.substring(index, end);
+			int equals = param.indexOf('=');
+			String name = equals == -1 ? param : param.substring(0, equals);
+
+			List<String> values = params.get(name);
+			if (values == null) {
+				values = new ArrayList<String>(2);
+				params.put(name, values);
+			}
+			values.add(param);
+
+			index = end + 1;
+			count++;
+		}
+
+		if (params.size() == count) {
+			return;
+		}
+
+		buf.setLength(queryStart);
+		for (List<String> values : params.values()) {
+			for (String param : values) {
+				buf.append(param).append("&");
+			}
+		}
+	}
+
+	/**
+	 * Appends the query parameters added by the {@link UriComponentsContributor}s. Contributors are applied to a blank
+	 * {@link UriComponentsBuilder}, so only query parameters can be contributed to links built by {@link FastLinks}.
+	 * Returns {@literal false} if the contributions can't be rendered and rendering isn't strict.
+	 */
+	private boolean appendContributions(StringBuilder buf, Object[] arguments, boolean strict) {
+		UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
+
+		for (Contribution contribution : contributions) {
+			contribution.apply(builder, arguments);
+		}
+
+		UriComponents components = builder.build();
+
+		if (components.getScheme() != null || components.getUserInfo() != null || components.getHost() != null
+				|| components.getPort() != -1 || StringUtils.hasLength(components.getPath())
+				|| components.getFragment() != null) {
+			Assert.state(!strict, "UriComponentsContributors can only contribute query parameters to fast links!");
+			return false;
+		}
+
+		for (Map.Entry<String, List<String>> parameter : components.getQueryParams().entrySet()) {
+			// contributed parameters are subject to template expansion in ControllerLinkBuilderFactory
+			if (!strict && !isExpansionFree(parameter.getKey(), parameter.getValue())) {
+				return false;
+			}
+
+			String name = Type.QUERY_PARAM.encode(parameter.getKey());
+
+			for (String value : parameter.getValue()) {
+				buf.append(name);
+				if (value != null) {
+					buf.append("=").append(Type.QUERY_PARAM.encode(value));
+				}
+				buf.append("&");
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isExpansionFree(String name, List<String> values) {
+		if (name.indexOf('{') != -1) {
+			return false;
+		}
+		for (String value : values) {
+			if (value != null && value.indexOf('{') != -1) {
+				return false;
+			}
+		}
+		return true;
 	}
 }
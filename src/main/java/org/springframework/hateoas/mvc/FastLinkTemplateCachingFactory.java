@@ -1,23 +1,66 @@
 package org.springframework.hateoas.mvc;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.hateoas.mvc.FastLinks.LastInvocationHolder;
 
 import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class FastLinkTemplateCachingFactory {
-	private Map<Key, FastLinkTemplate> templateCache = new ConcurrentHashMap<Key, FastLinkTemplate>();
-	private FastLinkTemplateFactory linkFactory = new FastLinkTemplateFactory();
+/**
+ * Cache of {@link FastLinkTemplate}s per controller type, method and number of type level parameters. Each template
+ * is compiled exactly once, concurrent first calls for the same key wait for the compiling thread. The cache can
+ * optionally be bounded through {@link #setMaxSize(int)}, evicting templates that have not been used recently
+ * (second-chance FIFO), and exposes {@link Statistics} about its usage. Templates used heavily can additionally be
+ * compiled into generated bytecode, see {@link #setGenerateWriters(boolean)}.
+ * <p>
+ * Declared as bean, the factory is used by {@link FastLinks} for links built while handling requests of the
+ * {@link ApplicationContext} it is declared in (or one of its children) and is cleared when the context is closed.
+ * Otherwise {@link FastLinks} uses an unbounded, JVM wide default instance.
+ * <p>
+ * Parameters that need conversion are converted through the {@link ConversionService} configured via
+ * {@link #setConversionService(ConversionService)}. Declared as bean, the factory defaults to the context's MVC
+ * {@link ConversionService} (or its general one), looked up when the first template is compiled.
+ */
+public class FastLinkTemplateCachingFactory implements ApplicationContextAware, DisposableBean {
+	private static final String[] CONVERSION_SERVICE_BEAN_NAMES = { "mvcConversionService",
+			ConfigurableApplicationContext.CONVERSION_SERVICE_BEAN_NAME };
 
-	private class Key {
-		private Class<?> type;
-		private Method method;
+	private final ConcurrentMap<Key, Entry> templateCache = new ConcurrentHashMap<Key, Entry>();
+	private final Queue<Entry> evictionQueue = new ConcurrentLinkedQueue<Entry>();
+	private volatile FastLinkTemplateFactory linkFactory;
 
-		public Key(Class<?> type, Method method) {
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong compileTimeNanos = new AtomicLong();
+
+	private volatile int maxSize;
+	private volatile boolean generateWriters;
+	private volatile UriComponentsContributors uriComponentsContributors = UriComponentsContributors.NONE;
+	private ApplicationContext context;
+
+	private static class Key {
+		private final Class<?> type;
+		private final Method method;
+		private final int objectParameterCount;
+
+		public Key(Class<?> type, Method method, int objectParameterCount) {
 			this.type = type;
 			this.method = method;
+			this.objectParameterCount = objectParameterCount;
 		}
 
 		@Override
@@ -27,6 +70,7 @@ public class FastLinkTemplateCachingFactory {
 
 			Key key = (Key) o;
 
+			if (objectParameterCount != key.objectParameterCount) return false;
 			if (!type.equals(key.type)) return false;
 			return method.equals(key.method);
 
@@ -36,23 +80,297 @@ public class FastLinkTemplateCachingFactory {
 		public int hashCode() {
 			int result = type.hashCode();
 			result = 31 * result + method.hashCode();
+			result = 31 * result + objectParameterCount;
 			return result;
 		}
 	}
 
+	/**
+	 * Cache entry compiling its template on first {@link #run()}. Threads asking for the template while it is being
+	 * compiled block until it is available.
+	 */
+	private static class Entry extends FutureTask<FastLinkTemplate> {
+		private final Key key;
+		private volatile boolean referenced;
+
+		public Entry(Key key, Callable<FastLinkTemplate> compilation) {
+			super(compilation);
+			this.key = key;
+		}
+
+		public FastLinkTemplate getTemplate() {
+			boolean interrupted = false;
+			try {
+				while (true) {
+					try {
+						return get();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException) {
+							throw (RuntimeException) cause;
+						} else if (cause instanceof Error) {
+							throw (Error) cause;
+						}
+						throw new IllegalStateException(cause);
+					}
+				}
+			} finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Configures the maximum number of templates to cache. Defaults to {@literal 0}, i.e. unbounded.
+	 *
+	 * @param maxSize must not be negative.
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Maximum cache size must not be negative!");
+		}
+		this.maxSize = maxSize;
+		evictIfNecessary();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Configures whether a dedicated class writing the link is generated for each compiled template. This trades a
+	 * class per template shape and a slower first compilation for a faster
+	 * {@link FastLinkTemplate#build(Object[], java.util.List)}. Classes are shared by all factories and reused when
+	 * templates are recompiled, see {@link FastLinkWriterGenerator}. Templates whose writer cannot be generated keep
+	 * using their components. Defaults to {@literal false}.
+	 *
+	 * @param generateWriters
+	 */
+	public void setGenerateWriters(boolean generateWriters) {
+		this.generateWriters = generateWriters;
+	}
+
+	/**
+	 * Configures the {@link UriComponentsContributor}s to apply to the method arguments of the links built. As
+	 * {@link FastLinkTemplate}s only render strings, contributors may only add query parameters. Clears the cache.
+	 *
+	 * @param uriComponentsContributors must not be {@literal null}.
+	 */
+	public void setUriComponentsContributors(List<? extends UriComponentsContributor> uriComponentsContributors) {
+		this.uriComponentsContributors = new UriComponentsContributors(uriComponentsContributors);
+		clear();
+	}
+
+	/**
+	 * Configures the {@link ConversionService} to convert parameters with. Templates pick their encoders depending on
+	 * whether a service is configured, so the cache is cleared.
+	 *
+	 * @param conversionService can be {@literal null} to use a default {@link ConversionService}.
+	 */
+	public void setConversionService(ConversionService conversionService) {
+		this.linkFactory = new FastLinkTemplateFactory(conversionService);
+		clear();
+	}
+
+	/**
+	 * Returns the number of currently cached templates.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return templateCache.size();
+	}
+
+	/**
+	 * Removes all cached templates. Statistics are kept.
+	 */
+	public void clear() {
+		templateCache.clear();
+		evictionQueue.clear();
+	}
+
+	/**
+	 * Returns a snapshot of the usage statistics of the cache.
+	 *
+	 * @return
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(hits.get(), misses.get(), evictions.get(), compileTimeNanos.get(), size());
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext context) {
+		this.context = context;
+		FastLinks.registerLinkFactory(context, this);
+	}
+
+	@Override
+	public void destroy() {
+		if (context != null) {
+			FastLinks.unregisterLinkFactory(context, this);
+		}
+		clear();
+	}
+
 	protected FastLinkTemplate createLinkTemplate(LastInvocationHolder invocations) {
 		DummyInvocationUtils.MethodInvocation methodInvocation = invocations.getLastInvocation();
-		Class<?> type = methodInvocation.getTargetType();
-		Method method = methodInvocation.getMethod();
+		return createLinkTemplate(methodInvocation.getTargetType(), methodInvocation.getMethod(),
+				invocations.getObjectParameters().size());
+	}
+
+	protected FastLinkTemplate createLinkTemplate(final Class<?> type, final Method method,
+			final int objectParameterCount) {
+		Key key = new Key(type, method, objectParameterCount);
+		Entry entry = templateCache.get(key);
 
-		Key key = new Key(type, method);
+		if (entry == null) {
+			Entry created = new Entry(key, new Callable<FastLinkTemplate>() {
+				@Override
+				public FastLinkTemplate call() {
+					FastLinkTemplate template = getLinkFactory().createLinkTemplate(type, method, objectParameterCount);
+					if (generateWriters) {
+						template.generateWriter();
+					}
+					template.setContributions(uriComponentsContributors.getContributions(method));
+					return template;
+				}
+			});
 
-		if (templateCache.containsKey(key)) {
-			return templateCache.get(key);
-		} else {
-			FastLinkTemplate linkTemplate = linkFactory.createLinkTemplate(invocations);
-			templateCache.put(key, linkTemplate);
-			return linkTemplate;
+			entry = templateCache.putIfAbsent(key, created);
+
+			if (entry == null) {
+				misses.incrementAndGet();
+				return compile(created);
+			}
+		}
+
+		hits.incrementAndGet();
+		entry.referenced = true;
+		return entry.getTemplate();
+	}
+
+	private FastLinkTemplateFactory getLinkFactory() {
+		FastLinkTemplateFactory linkFactory = this.linkFactory;
+
+		if (linkFactory == null) {
+			linkFactory = new FastLinkTemplateFactory(lookupConversionService());
+			this.linkFactory = linkFactory;
+		}
+
+		return linkFactory;
+	}
+
+	private ConversionService lookupConversionService() {
+		if (context == null) {
+			return null;
+		}
+
+		for (String name : CONVERSION_SERVICE_BEAN_NAMES) {
+			if (context.containsBean(name) && context.isTypeMatch(name, ConversionService.class)) {
+				return context.getBean(name, ConversionService.class);
+			}
+		}
+
+		return null;
+	}
+
+	private FastLinkTemplate compile(Entry entry) {
+		long start = System.nanoTime();
+		entry.run();
+		compileTimeNanos.addAndGet(System.nanoTime() - start);
+
+		try {
+			FastLinkTemplate template = entry.getTemplate();
+			evictionQueue.add(entry);
+			evictIfNecessary();
+			return template;
+		} catch (RuntimeException e) {
+			// don't cache failures, subsequent calls recompile and report the error again
+			templateCache.remove(entry.key, entry);
+			throw e;
+		}
+	}
+
+	private void evictIfNecessary() {
+		int maxSize = this.maxSize;
+
+		while (maxSize > 0 && templateCache.size() > maxSize) {
+			Entry candidate = evictionQueue.poll();
+
+			if (candidate == null) {
+				return;
+			}
+
+			if (candidate.referenced) {
+				candidate.referenced = false;
+				evictionQueue.add(candidate);
+			} else if (templateCache.remove(candidate.key, candidate)) {
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Snapshot of the usage statistics of a {@link FastLinkTemplateCachingFactory}.
+	 */
+	public static class Statistics {
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final long compileTimeNanos;
+		private final int size;
+
+		Statistics(long hits, long misses, long evictions, long compileTimeNanos, int size) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.compileTimeNanos = compileTimeNanos;
+			this.size = size;
+		}
+
+		/**
+		 * Number of lookups served by an already cached (or concurrently compiled) template.
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * Number of lookups that compiled a template.
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * Number of templates evicted because of the configured maximum size.
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * Total time spent compiling templates, in nanoseconds.
+		 */
+		public long getCompileTimeNanos() {
+			return compileTimeNanos;
+		}
+
+		/**
+		 * Number of cached templates at the time the snapshot was taken.
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("hits=%d, misses=%d, evictions=%d, compileTime=%dms, size=%d", hits, misses, evictions,
+					compileTimeNanos / 1000000, size);
 		}
 	}
 }
@@ -2,24 +2,29 @@ package org.springframework.hateoas.mvc;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.hateoas.core.AnnotationAttribute;
 import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
 import org.springframework.hateoas.core.CachingMappingDiscoverer;
 import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.hateoas.core.MappingDiscoverer;
+import org.springframework.hateoas.core.UriEncoder;
+import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.ParameterBinding;
 import org.springframework.hateoas.mvc.FastLinkTemplate.MethodArgumentAccessor;
 import org.springframework.hateoas.mvc.FastLinkTemplate.Type;
 import org.springframework.hateoas.mvc.FastLinks.LastInvocationHolder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.util.UriTemplate;
 
 public class FastLinkTemplateFactory {
@@ -27,68 +32,194 @@ public class FastLinkTemplateFactory {
 			new AnnotationMappingDiscoverer(RequestMapping.class));
 	private static final AnnotatedParametersParameterAccessor PATH_VARIABLE_ACCESSOR = new AnnotatedParametersParameterAccessor(
 			new AnnotationAttribute(PathVariable.class));
-	private static final AnnotatedParametersParameterAccessor REQUEST_PARAM_ACCESSOR = new AnnotatedParametersParameterAccessor(
-			new AnnotationAttribute(RequestParam.class));
+	private static final AnnotatedParametersParameterAccessor REQUEST_PARAM_ACCESSOR = new ControllerLinkBuilderFactory.RequestParamParameterAccessor();
+
+	private final ConversionService conversionService;
+
+	public FastLinkTemplateFactory() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new {@link FastLinkTemplateFactory} converting parameters with the given {@link ConversionService}.
+	 * Numbers, booleans, {@link UUID}s and enums are rendered without a {@link ConversionService} unless one is given.
+	 *
+	 * @param conversionService can be {@literal null} to use a {@link DefaultFormattingConversionService}, created on
+	 *          first use.
+	 */
+	public FastLinkTemplateFactory(ConversionService conversionService) {
+		this.conversionService = conversionService;
+	}
 
 
 	public FastLinkTemplate createLinkTemplate(LastInvocationHolder invocations) {
 		DummyInvocationUtils.MethodInvocation invocation = invocations.getLastInvocation();
-		Method method = invocation.getMethod();
+		return createLinkTemplate(invocation.getTargetType(), invocation.getMethod(),
+				invocations.getObjectParameters().size());
+	}
+
+	/**
+	 * Creates the template for the given method invoked on the given type, with the given number of parameters bound to
+	 * the leading template variables (usually the ones of the type level mapping).
+	 */
+	public FastLinkTemplate createLinkTemplate(Class<?> type, Method method, int objectParameterCount) {
+		String mapping = DISCOVERER.getMapping(type, method);
+
+		// relative mappings are appended to the base URI as path, just like ControllerLinkBuilder does
+		if (mapping != null && mapping.length() != 0 && !mapping.startsWith("/")) {
+			mapping = "/" + mapping;
+		}
 
-		String mapping = DISCOVERER.getMapping(invocation.getTargetType(), method);
 		UriTemplate template = new UriTemplate(mapping);
 
 		List<FastLinkTemplate.Component> pathComponents = buildPathComponents(mapping, template,
-				invocations.getObjectParameters(),
-				PATH_VARIABLE_ACCESSOR.getBoundParameters(method));
+				objectParameterCount,
+				Arrays.asList(PATH_VARIABLE_ACCESSOR.getBindings(method)));
 		List<FastLinkTemplate.Component> queryComponents = buildQueryComponents(template,
-				REQUEST_PARAM_ACCESSOR.getBoundParameters(method));
+				Arrays.asList(REQUEST_PARAM_ACCESSOR.getBindings(method)));
 
 		return new FastLinkTemplate(pathComponents, queryComponents);
 	}
 
-	protected List<FastLinkTemplate.Component> buildPathComponents(String mapping, UriTemplate template, List<Object> objectParameters, List<AnnotatedParametersParameterAccessor.BoundMethodParameter> pathParameters) {
-		Map<String, AnnotatedParametersParameterAccessor.BoundMethodParameter> pathParamNames = index(pathParameters);
-		int objectParametersUsed = 0;
+	/**
+	 * Creates a template rendering the links {@link ControllerLinkBuilderFactory} builds for invocations of the given
+	 * method through {@link org.springframework.web.util.UriComponentsBuilder}, to be rendered through
+	 * {@link FastLinkTemplate#expand(String, Object[], List)}. Unlike the templates for {@link FastLinks}, it converts
+	 * values through their {@link ParameterBinding}s and encodes them rather than rejecting values that need encoding.
+	 * The conversion service of the factory isn't used.
+	 *
+	 * @return the template or {@literal null} if the mapping can't be rendered that way, e.g. relative mappings or
+	 *         mappings containing dot segments.
+	 */
+	FastLinkTemplate createEncodingLinkTemplate(Class<?> type, Method method, int objectParameterCount) {
+		String mapping = DISCOVERER.getMapping(type, method);
 
-		List<String> variableNames = template.getVariableNames();
-		List<FastLinkTemplate.Component> pathComponents = new ArrayList<FastLinkTemplate.Component>(variableNames.size() * 2);
-		int startFrom = 0;
-		for(String variableName : variableNames) {
-			String variableToken = "{" + variableName + "}";
-			int idx = mapping.indexOf(variableToken, startFrom);
-			if (idx == -1) {
-				throw new IllegalStateException(variableName);
+		if (mapping == null || (mapping.length() != 0 && !mapping.startsWith("/"))) {
+			return null;
+		}
+
+		List<String> variableNames = new ArrayList<String>();
+		MappingLinkTemplate.Segment parsed = MappingLinkTemplate.Segment.parse(mapping);
+		for (int i = 0; i < parsed.getVariableCount(); i++) {
+			variableNames.add(parsed.getVariableName(i));
+		}
+
+		if (objectParameterCount > variableNames.size() || containsDotSegments(mapping)) {
+			return null;
+		}
+
+		// ControllerLinkBuilderFactory resolves path variables missing in the mapping as well
+		List<ParameterBinding> pathParameters = Arrays.asList(PATH_VARIABLE_ACCESSOR.getBindings(method));
+		for (ParameterBinding binding : pathParameters) {
+			if (!variableNames.contains(binding.getVariableName())) {
+				return null;
 			}
-			if (idx > startFrom) {
-				pathComponents.add(new FastLinkTemplate.StaticPartPathComponent(mapping.substring(startFrom, idx)));
+		}
+
+		List<FastLinkTemplate.Component> pathComponents = buildPathComponents(mapping, variableNames,
+				objectParameterCount, pathParameters, true);
+
+		if (pathComponents == null) {
+			return null;
+		}
+
+		List<FastLinkTemplate.Component> queryComponents = new ArrayList<FastLinkTemplate.Component>();
+		for (ParameterBinding parameter : REQUEST_PARAM_ACCESSOR.getBindings(method)) {
+			FastLinkTemplate.ParamAccessor paramAccessor = new FastLinkTemplate.ParameterBindingAccessor(parameter);
+			if (isMapType(parameter.getParameter().getParameterType())) {
+				queryComponents.add(new FastLinkTemplate.MapQueryParamComponent(parameter.getVariableName(), paramAccessor,
+						new FastLinkTemplate.ConvertingEncoder(Type.QUERY_PARAM, null), false));
+			} else {
+				queryComponents.add(new FastLinkTemplate.ConvertedQueryParamComponent(parameter.getVariableName(),
+						paramAccessor, new FastLinkTemplate.ConvertingEncoder(Type.QUERY_PARAM, parameter)));
 			}
-			if (objectParametersUsed < objectParameters.size()) {
-				pathComponents.add(buildObjectParameterComponent(objectParametersUsed));
-				objectParametersUsed++;
-			} else if (pathParamNames.containsKey(variableName)) {
-				AnnotatedParametersParameterAccessor.BoundMethodParameter boundMethodParameter = pathParamNames.get(variableName);
-				pathComponents.add(buildMethodArgumentParameterComponent(boundMethodParameter));
+		}
+
+		return new FastLinkTemplate(pathComponents, queryComponents);
+	}
+
+	protected List<FastLinkTemplate.Component> buildPathComponents(String mapping, UriTemplate template, int objectParameterCount, List<ParameterBinding> pathParameters) {
+		// ControllerLinkBuilder normalizes the expanded mapping, which isn't done for fast links
+		if (containsDotSegments(mapping)) {
+			throw new IllegalArgumentException("Mappings containing dot segments are not supported: " + mapping);
+		}
+
+		return buildPathComponents(mapping, template.getVariableNames(), objectParameterCount, pathParameters, false);
+	}
+
+	/**
+	 * Builds the components for the given mapping. Templates encoding values, see
+	 * {@link #createEncodingLinkTemplate(Class, Method, int)}, encode the static parts as well and convert values
+	 * through their {@link ParameterBinding}s.
+	 *
+	 * @return the components or {@literal null} if a variable isn't bound and values are encoded.
+	 */
+	private List<FastLinkTemplate.Component> buildPathComponents(String mapping, List<String> variableNames,
+			int objectParameterCount, List<ParameterBinding> pathParameters, boolean encodeValues) {
+		Map<String, ParameterBinding> pathParamNames = index(pathParameters);
+
+		// variables are bound by name like ControllerLinkBuilder does, method parameters win over type level ones
+		Map<String, Integer> objectParameterNames = new HashMap<String, Integer>();
+		for (int i = 0; i < Math.min(objectParameterCount, variableNames.size()); i++) {
+			objectParameterNames.put(variableNames.get(i), i);
+		}
+
+		// the mapping is scanned for variables the same way the compiled ControllerLinkBuilder templates do
+		MappingLinkTemplate.Segment parsed = MappingLinkTemplate.Segment.parse(mapping);
+		List<FastLinkTemplate.Component> pathComponents = new ArrayList<FastLinkTemplate.Component>(variableNames.size() * 2);
+		for (int i = 0; i < parsed.getVariableCount(); i++) {
+			String variableName = parsed.getVariableName(i);
+			if (parsed.getPart(i).length() > 0) {
+				pathComponents.add(buildStaticPartComponent(parsed.getPart(i), encodeValues));
+			}
+			if (pathParamNames.containsKey(variableName)) {
+				ParameterBinding binding = pathParamNames.get(variableName);
+				pathComponents.add(buildMethodArgumentParameterComponent(binding, encodeValues));
+			} else if (objectParameterNames.containsKey(variableName)) {
+				pathComponents.add(buildObjectParameterComponent(objectParameterNames.get(variableName), encodeValues));
+			} else if (encodeValues) {
+				return null;
 			} else {
 				throw new IllegalStateException("Variable from mapping not found: "  + variableName);
 			}
-
-			startFrom = idx + variableToken.length();
 		}
-		if (startFrom < mapping.length()) {
-			pathComponents.add(new FastLinkTemplate.StaticPartPathComponent(mapping.substring(startFrom)));
+		String trailingPart = parsed.getPart(parsed.getVariableCount());
+		if (trailingPart.length() > 0) {
+			pathComponents.add(buildStaticPartComponent(trailingPart, encodeValues));
 		}
 
 		return pathComponents;
 	}
 
-	private FastLinkTemplate.ParameterPathComponent buildObjectParameterComponent(int objectParametersUsed) {
+	private static boolean containsDotSegments(String mapping) {
+		for (MappingLinkTemplate.Segment segment : MappingLinkTemplate.Segment.parseSegments(mapping)) {
+			if (segment.isDotSegment()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private FastLinkTemplate.StaticPartPathComponent buildStaticPartComponent(String part, boolean encodeValues) {
+		return new FastLinkTemplate.StaticPartPathComponent(encodeValues ? UriEncoder.PATH.encode(part) : part);
+	}
+
+	private FastLinkTemplate.ParameterPathComponent buildObjectParameterComponent(int objectParametersUsed,
+			boolean encodeValues) {
 		FastLinkTemplate.ObjectParameterAccessor paramAccessor = new FastLinkTemplate.ObjectParameterAccessor(objectParametersUsed);
-		return new FastLinkTemplate.ParameterPathComponent(paramAccessor);
+		return encodeValues ? new FastLinkTemplate.ParameterPathComponent(paramAccessor,
+				new FastLinkTemplate.ConvertingEncoder(Type.PATH_SEGMENT, null))
+				: new FastLinkTemplate.ParameterPathComponent(paramAccessor);
 	}
 
-	private FastLinkTemplate.ParameterPathComponent buildMethodArgumentParameterComponent(AnnotatedParametersParameterAccessor.BoundMethodParameter boundMethodParameter) {
-		MethodParameter methodParameter = boundMethodParameter.getParameter();
+	private FastLinkTemplate.ParameterPathComponent buildMethodArgumentParameterComponent(ParameterBinding binding,
+			boolean encodeValues) {
+		if (encodeValues) {
+			return new FastLinkTemplate.ParameterPathComponent(new FastLinkTemplate.ParameterBindingAccessor(binding),
+					new FastLinkTemplate.ConvertingEncoder(Type.PATH_SEGMENT, binding));
+		}
+
+		MethodParameter methodParameter = binding.getParameter();
 		FastLinkTemplate.Encoder encoder = buildValueEncoder(methodParameter, Type.PATH_SEGMENT);
 		MethodArgumentAccessor paramAccessor = new MethodArgumentAccessor(methodParameter.getParameterIndex());
 		return new FastLinkTemplate.ParameterPathComponent(paramAccessor, encoder);
@@ -96,16 +227,35 @@ public class FastLinkTemplateFactory {
 
 	private FastLinkTemplate.Encoder buildValueEncoder(MethodParameter methodParameter, Type segmentType) {
 		Class<?> parameterType = methodParameter.getParameterType();
-		if (isSimpleType(parameterType)) {
+		TypeDescriptor typeDescriptor = TypeDescriptor.nested(methodParameter, 0);
+		FastLinkTemplate.Encoder specialized = buildSpecializedEncoder(parameterType, segmentType);
+
+		if (specialized != null) {
+			// the specialized encoders render what the default service does, a configured one might differ
+			return conversionService == null ? specialized
+					: new FastLinkTemplate.ConversionServiceEncoder(segmentType, typeDescriptor, conversionService);
+		} else if (isSimpleType(parameterType)) {
 			return new FastLinkTemplate.ToStringValueEncoder(segmentType);
-		} else if (isNotSupportedType(parameterType)) {
+		} else if (isMapType(parameterType)) {
 			return new FastLinkTemplate.NotSupportedEncoder();
 		} else {
-			return new FastLinkTemplate.ConversionServiceEncoder(segmentType,
-					TypeDescriptor.nested(methodParameter, 0));
+			return new FastLinkTemplate.ConversionServiceEncoder(segmentType, typeDescriptor,
+					conversionService == null ? FastLinkTemplate.ConversionServiceEncoder.getDefaultConversionService()
+							: conversionService);
 		}
 	}
 
+	private FastLinkTemplate.Encoder buildSpecializedEncoder(Class<?> parameterType, Type segmentType) {
+		if (isPrimitiveType(parameterType)) {
+			return FastLinkTemplate.PrimitiveEncoder.INSTANCE;
+		} else if (UUID.class.equals(parameterType)) {
+			return FastLinkTemplate.UuidEncoder.INSTANCE;
+		} else if (parameterType.isEnum()) {
+			return new FastLinkTemplate.EnumEncoder(parameterType, segmentType);
+		}
+		return null;
+	}
+
 	private boolean isSimpleType(Class<?> parameterType) {
 		return String.class.isAssignableFrom(parameterType)
 				|| Enum.class.isAssignableFrom(parameterType)
@@ -118,32 +268,59 @@ public class FastLinkTemplateFactory {
 				|| int.class.isAssignableFrom(parameterType)
 				|| Long.class.isAssignableFrom(parameterType)
 				|| long.class.isAssignableFrom(parameterType)
+				|| Short.class.isAssignableFrom(parameterType)
+				|| short.class.isAssignableFrom(parameterType)
+				|| Byte.class.isAssignableFrom(parameterType)
+				|| byte.class.isAssignableFrom(parameterType)
+				|| Double.class.isAssignableFrom(parameterType)
+				|| double.class.isAssignableFrom(parameterType)
+				|| Float.class.isAssignableFrom(parameterType)
+				|| float.class.isAssignableFrom(parameterType)
+				|| UUID.class.isAssignableFrom(parameterType)
 				;
 	}
 
-	private boolean isNotSupportedType(Class<?> parameterType) {
+	/**
+	 * Returns whether the given type is a primitive or its wrapper whose string representation never needs encoding.
+	 */
+	private boolean isPrimitiveType(Class<?> parameterType) {
+		return Long.class.equals(parameterType) || long.class.equals(parameterType)
+				|| Integer.class.equals(parameterType) || int.class.equals(parameterType)
+				|| Short.class.equals(parameterType) || short.class.equals(parameterType)
+				|| Byte.class.equals(parameterType) || byte.class.equals(parameterType)
+				|| Double.class.equals(parameterType) || double.class.equals(parameterType)
+				|| Float.class.equals(parameterType) || float.class.equals(parameterType)
+				|| Boolean.class.equals(parameterType) || boolean.class.equals(parameterType);
+	}
+
+	private boolean isMapType(Class<?> parameterType) {
 		return Map.class.isAssignableFrom(parameterType);
 	}
 
-	protected List<FastLinkTemplate.Component> buildQueryComponents(UriTemplate template, List<AnnotatedParametersParameterAccessor.BoundMethodParameter> queryParameters) {
+	protected List<FastLinkTemplate.Component> buildQueryComponents(UriTemplate template, List<ParameterBinding> queryParameters) {
 		List<String> variableNames = template.getVariableNames();
 
 		List<FastLinkTemplate.Component> queryComponents = new ArrayList<FastLinkTemplate.Component>(variableNames.size() * 2);
-		for(AnnotatedParametersParameterAccessor.BoundMethodParameter parameter: queryParameters) {
+		for(ParameterBinding parameter: queryParameters) {
 			MethodParameter methodParameter = parameter.getParameter();
 			MethodArgumentAccessor paramAccessor = new MethodArgumentAccessor(methodParameter.getParameterIndex());
+			if (isMapType(methodParameter.getParameterType())) {
+				queryComponents.add(new FastLinkTemplate.MapQueryParamComponent(parameter.getVariableName(), paramAccessor,
+						new FastLinkTemplate.ToStringValueEncoder(Type.QUERY_PARAM), parameter.isRequired()));
+				continue;
+			}
 			FastLinkTemplate.Encoder encoder = buildValueEncoder(methodParameter, Type.QUERY_PARAM);
 			queryComponents.add(new FastLinkTemplate.QueryParamComponent(parameter.getVariableName(),
-					paramAccessor, encoder));
+					paramAccessor, encoder, parameter.isRequired()));
 		}
 
 		return queryComponents;
 	}
 
 
-	private Map<String, AnnotatedParametersParameterAccessor.BoundMethodParameter> index(List<AnnotatedParametersParameterAccessor.BoundMethodParameter> pathParameters) {
-		Map<String, AnnotatedParametersParameterAccessor.BoundMethodParameter> names = new HashMap<String, AnnotatedParametersParameterAccessor.BoundMethodParameter>(pathParameters.size());
-		for (AnnotatedParametersParameterAccessor.BoundMethodParameter parameter : pathParameters) {
+	private Map<String, ParameterBinding> index(List<ParameterBinding> pathParameters) {
+		Map<String, ParameterBinding> names = new HashMap<String, ParameterBinding>(pathParameters.size());
+		for (ParameterBinding parameter : pathParameters) {
 			names.put(parameter.getVariableName(), parameter);
 		}
 		return names;
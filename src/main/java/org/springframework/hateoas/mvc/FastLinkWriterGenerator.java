@@ -0,0 +1,309 @@
+package org.springframework.hateoas.mvc;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.hateoas.mvc.FastLinkTemplate.Component;
+import org.springframework.hateoas.mvc.FastLinkTemplate.Encoder;
+import org.springframework.hateoas.mvc.FastLinkTemplate.LinkWriter;
+import org.springframework.hateoas.mvc.FastLinkTemplate.MethodArgumentAccessor;
+import org.springframework.hateoas.mvc.FastLinkTemplate.ObjectParameterAccessor;
+import org.springframework.hateoas.mvc.FastLinkTemplate.ParamAccessor;
+import org.springframework.hateoas.mvc.FastLinkTemplate.ParameterPathComponent;
+import org.springframework.hateoas.mvc.FastLinkTemplate.QueryParamComponent;
+import org.springframework.hateoas.mvc.FastLinkTemplate.StaticPartPathComponent;
+
+/**
+ * Generates a {@link LinkWriter} class per {@link FastLinkTemplate} using the ASM repackaged in spring-core. The
+ * generated {@code write} method appends static parts as constants, reads the parameters directly from the argument
+ * array and has the {@link Encoder} of each parameter append it from its own call site, instead of iterating the
+ * components.
+ * <p>
+ * The classes are defined in the class loader of {@link FastLinkTemplate}, as done for CGLIB proxies, and thus live
+ * as long as the library. As the encoders and query components are handed to the constructor, a class only depends on
+ * the shape of the template, i.e. its static parts and the positions of its parameters. Classes are reused for
+ * templates of the same shape, so that recompiling templates, e.g. after the cache was cleared, doesn't define new
+ * ones. At most {@value #MAX_WRITER_CLASSES} classes are generated, further templates and templates using components
+ * this generator does not know are left to the interpreted components.
+ */
+class FastLinkWriterGenerator implements Opcodes {
+	private static final Logger LOG = LoggerFactory.getLogger(FastLinkWriterGenerator.class);
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	static final int MAX_WRITER_CLASSES = 1024;
+	private static final Map<List<Object>, Constructor<?>> WRITER_CONSTRUCTORS = new ConcurrentHashMap<List<Object>, Constructor<?>>();
+
+	private static final String WRITER = Type.getInternalName(LinkWriter.class);
+	private static final String ENCODER = Type.getInternalName(Encoder.class);
+	private static final String QUERY_PARAM = Type.getInternalName(QueryParamComponent.class);
+	private static final String STRING_BUILDER = Type.getInternalName(StringBuilder.class);
+	private static final String LIST = Type.getInternalName(List.class);
+
+	private static final String CONSTRUCTOR_DESCRIPTOR = "(II[Ljava/lang/Object;)V";
+	private static final String WRITE_DESCRIPTOR = "(Ljava/lang/StringBuilder;[Ljava/lang/Object;Ljava/util/List;)Z";
+
+	private static final int THIS = 0;
+	private static final int BUF = 1;
+	private static final int ARGUMENTS = 2;
+	private static final int OBJECT_PARAMETERS = 3;
+	private static final int VALUE = 4;
+
+	private FastLinkWriterGenerator() {
+	}
+
+	/**
+	 * Generates the {@link LinkWriter} for the given components.
+	 *
+	 * @return the writer or {@literal null} if none could be generated.
+	 */
+	static LinkWriter generate(List<Component> linkComponents, List<Component> queryComponents) {
+		try {
+			return doGenerate(linkComponents, queryComponents);
+		} catch (Throwable e) {
+			LOG.debug("Could not generate link writer, falling back to interpreted template.", e);
+			return null;
+		}
+	}
+
+	private static LinkWriter doGenerate(List<Component> linkComponents, List<Component> queryComponents)
+			throws Exception {
+		List<Object> shape = new ArrayList<Object>();
+		List<Object> dependencies = new ArrayList<Object>();
+		int requiredArguments = 0;
+		int requiredObjectParameters = 0;
+
+		for (Component component : linkComponents) {
+			if (component.getClass() == StaticPartPathComponent.class) {
+				shape.add(((StaticPartPathComponent) component).getPart());
+				continue;
+			}
+			if (component.getClass() != ParameterPathComponent.class) {
+				return null;
+			}
+
+			ParamAccessor accessor = ((ParameterPathComponent) component).getParamAccessor();
+			if (accessor instanceof MethodArgumentAccessor) {
+				int index = ((MethodArgumentAccessor) accessor).getIndex();
+				shape.add(index);
+				requiredArguments = Math.max(requiredArguments, index + 1);
+			} else if (accessor instanceof ObjectParameterAccessor) {
+				int index = ((ObjectParameterAccessor) accessor).getIndex();
+				shape.add(-index - 1);
+				requiredObjectParameters = Math.max(requiredObjectParameters, index + 1);
+			} else {
+				return null;
+			}
+			dependencies.add(component.getEncoder());
+		}
+
+		shape.add(Boolean.TRUE);
+
+		for (Component component : queryComponents) {
+			if (component.getClass() != QueryParamComponent.class) {
+				return null;
+			}
+
+			ParamAccessor accessor = ((QueryParamComponent) component).getParamAccessor();
+			if (!(accessor instanceof MethodArgumentAccessor)) {
+				return null;
+			}
+
+			int index = ((MethodArgumentAccessor) accessor).getIndex();
+			shape.add(index);
+			requiredArguments = Math.max(requiredArguments, index + 1);
+			dependencies.add(component);
+		}
+
+		Constructor<?> constructor = getWriterConstructor(shape, linkComponents, queryComponents);
+
+		if (constructor == null) {
+			return null;
+		}
+
+		return (LinkWriter) constructor.newInstance(requiredArguments, requiredObjectParameters, dependencies.toArray());
+	}
+
+	/**
+	 * Returns the constructor of the writer class for the given shape, generating the class if none was generated for
+	 * the shape yet. Returns {@literal null} if the maximum number of writer classes is reached.
+	 */
+	private static Constructor<?> getWriterConstructor(List<Object> shape, List<Component> linkComponents,
+			List<Component> queryComponents) throws Exception {
+		Constructor<?> constructor = WRITER_CONSTRUCTORS.get(shape);
+
+		if (constructor != null) {
+			return constructor;
+		}
+
+		synchronized (WRITER_CONSTRUCTORS) {
+			constructor = WRITER_CONSTRUCTORS.get(shape);
+
+			if (constructor != null) {
+				return constructor;
+			}
+
+			if (WRITER_CONSTRUCTORS.size() >= MAX_WRITER_CLASSES) {
+				LOG.debug("Maximum of {} generated link writers reached, falling back to interpreted template.",
+						MAX_WRITER_CLASSES);
+				return null;
+			}
+
+			String className = FastLinkTemplate.class.getName() + "$$LinkWriter$$" + COUNTER.incrementAndGet();
+			Class<?> writerClass = ReflectUtils.defineClass(className,
+					generateClass(className.replace('.', '/'), linkComponents, queryComponents),
+					FastLinkTemplate.class.getClassLoader());
+
+			constructor = writerClass.getConstructor(int.class, int.class, Object[].class);
+			WRITER_CONSTRUCTORS.put(shape, constructor);
+
+			return constructor;
+		}
+	}
+
+	private static byte[] generateClass(String internalName, List<Component> linkComponents,
+			List<Component> queryComponents) {
+		List<Object> dependencies = new ArrayList<Object>();
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, WRITER, null);
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "write", WRITE_DESCRIPTOR, null, null);
+		mv.visitCode();
+
+		for (Component component : linkComponents) {
+			if (component instanceof StaticPartPathComponent) {
+				appendConstant(mv, ((StaticPartPathComponent) component).getPart());
+				continue;
+			}
+
+			ParamAccessor accessor = ((ParameterPathComponent) component).getParamAccessor();
+			if (accessor instanceof MethodArgumentAccessor) {
+				loadArgument(mv, ((MethodArgumentAccessor) accessor).getIndex());
+			} else {
+				mv.visitVarInsn(ALOAD, OBJECT_PARAMETERS);
+				pushInt(mv, ((ObjectParameterAccessor) accessor).getIndex());
+				mv.visitMethodInsn(INVOKEINTERFACE, LIST, "get", "(I)Ljava/lang/Object;", true);
+			}
+
+			// if (value == null) return false;
+			Label notNull = new Label();
+			mv.visitVarInsn(ASTORE, VALUE);
+			mv.visitVarInsn(ALOAD, VALUE);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			mv.visitInsn(ICONST_0);
+			mv.visitInsn(IRETURN);
+			mv.visitLabel(notNull);
+
+			// encoder.append(buf, value);
+			String field = addDependency(cw, dependencies, component.getEncoder(), ENCODER);
+			mv.visitVarInsn(ALOAD, THIS);
+			mv.visitFieldInsn(GETFIELD, internalName, field, "L" + ENCODER + ";");
+			mv.visitVarInsn(ALOAD, BUF);
+			mv.visitVarInsn(ALOAD, VALUE);
+			mv.visitMethodInsn(INVOKEINTERFACE, ENCODER, "append", "(Ljava/lang/StringBuilder;Ljava/lang/Object;)V", true);
+		}
+
+		appendChar(mv, '?');
+
+		for (Component component : queryComponents) {
+			QueryParamComponent query = (QueryParamComponent) component;
+
+			// if (query.appendParam(buf, arguments[index])) buf.append('&');
+			String field = addDependency(cw, dependencies, query, QUERY_PARAM);
+			Label notAdded = new Label();
+			mv.visitVarInsn(ALOAD, THIS);
+			mv.visitFieldInsn(GETFIELD, internalName, field, "L" + QUERY_PARAM + ";");
+			mv.visitVarInsn(ALOAD, BUF);
+			loadArgument(mv, ((MethodArgumentAccessor) query.getParamAccessor()).getIndex());
+			mv.visitMethodInsn(INVOKEVIRTUAL, QUERY_PARAM, "appendParam", "(Ljava/lang/StringBuilder;Ljava/lang/Object;)Z",
+					false);
+			mv.visitJumpInsn(IFEQ, notAdded);
+			appendChar(mv, '&');
+			mv.visitLabel(notAdded);
+		}
+
+		mv.visitInsn(ICONST_1);
+		mv.visitInsn(IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		generateConstructor(cw, internalName, dependencies);
+		cw.visitEnd();
+
+		return cw.toByteArray();
+	}
+
+	private static void generateConstructor(ClassWriter cw, String internalName, List<Object> dependencies) {
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, 1);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitMethodInsn(INVOKESPECIAL, WRITER, "<init>", "(II)V", false);
+
+		for (int i = 0; i < dependencies.size(); i++) {
+			String type = dependencies.get(i) instanceof QueryParamComponent ? QUERY_PARAM : ENCODER;
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 3);
+			pushInt(mv, i);
+			mv.visitInsn(AALOAD);
+			mv.visitTypeInsn(CHECKCAST, type);
+			mv.visitFieldInsn(PUTFIELD, internalName, "d" + i, "L" + type + ";");
+		}
+
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static String addDependency(ClassWriter cw, List<Object> dependencies, Object dependency, String type) {
+		String name = "d" + dependencies.size();
+		dependencies.add(dependency);
+		cw.visitField(ACC_PRIVATE | ACC_FINAL, name, "L" + type + ";", null, null).visitEnd();
+		return name;
+	}
+
+	private static void loadArgument(MethodVisitor mv, int index) {
+		mv.visitVarInsn(ALOAD, ARGUMENTS);
+		pushInt(mv, index);
+		mv.visitInsn(AALOAD);
+	}
+
+	private static void appendConstant(MethodVisitor mv, String value) {
+		mv.visitVarInsn(ALOAD, BUF);
+		mv.visitLdcInsn(value);
+		mv.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+		mv.visitInsn(POP);
+	}
+
+	private static void appendChar(MethodVisitor mv, char value) {
+		mv.visitVarInsn(ALOAD, BUF);
+		pushInt(mv, value);
+		mv.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append", "(C)Ljava/lang/StringBuilder;", false);
+		mv.visitInsn(POP);
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value >= -1 && value <= 5) {
+			mv.visitInsn(ICONST_0 + value);
+		} else if (value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, value);
+		} else if (value <= Short.MAX_VALUE) {
+			mv.visitIntInsn(SIPUSH, value);
+		} else {
+			mv.visitLdcInsn(value);
+		}
+	}
+}
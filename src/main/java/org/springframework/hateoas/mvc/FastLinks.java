@@ -1,15 +1,28 @@
 package org.springframework.hateoas.mvc;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.context.ApplicationContext;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.DeferredLink;
+import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware;
 import org.springframework.hateoas.core.DummyInvocationUtils.MethodInvocation;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.DispatcherServlet;
 
 public class FastLinks {
-	private static FastLinkTemplateCachingFactory LINK_FACTORY = new FastLinkTemplateCachingFactory();
+	private static final FastLinkTemplateCachingFactory LINK_FACTORY = new FastLinkTemplateCachingFactory();
+	private static final Map<ApplicationContext, FastLinkTemplateCachingFactory> CONTEXT_LINK_FACTORIES = new ConcurrentHashMap<ApplicationContext, FastLinkTemplateCachingFactory>();
 
 	/**
 	 * Simple bean for storing last invocation but without proxy overhead.
@@ -23,6 +36,11 @@ public class FastLinks {
 			objectParameters = toList(original.getObjectParameters());
 		}
 
+		public LastInvocationHolder(MethodInvocation lastInvocation, List<Object> objectParameters) {
+			this.lastInvocation = lastInvocation;
+			this.objectParameters = objectParameters;
+		}
+
 		private List<Object> toList(Iterator<Object> ite) {
 			List<Object> result = new ArrayList<Object>();
 			while(ite.hasNext()) {
@@ -40,12 +58,114 @@ public class FastLinks {
 		}
 	}
 
+	static void registerLinkFactory(ApplicationContext context, FastLinkTemplateCachingFactory factory) {
+		CONTEXT_LINK_FACTORIES.put(context, factory);
+	}
+
+	static void unregisterLinkFactory(ApplicationContext context, FastLinkTemplateCachingFactory factory) {
+		if (CONTEXT_LINK_FACTORIES.get(context) == factory) {
+			CONTEXT_LINK_FACTORIES.remove(context);
+		}
+	}
+
+	/**
+	 * Returns the {@link FastLinkTemplateCachingFactory} declared in the {@link ApplicationContext} handling the current
+	 * request or the default one.
+	 */
+	static FastLinkTemplateCachingFactory getLinkFactory() {
+		if (CONTEXT_LINK_FACTORIES.isEmpty()) {
+			return LINK_FACTORY;
+		}
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object context = attributes == null ? null : attributes.getAttribute(
+				DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		return context instanceof ApplicationContext ? getLinkFactory((ApplicationContext) context) : LINK_FACTORY;
+	}
+
+	/**
+	 * Returns the {@link FastLinkTemplateCachingFactory} declared in the given {@link ApplicationContext} or one of its
+	 * parents, or the default one.
+	 */
+	static FastLinkTemplateCachingFactory getLinkFactory(ApplicationContext context) {
+		for (ApplicationContext current = context; current != null; current = current.getParent()) {
+			FastLinkTemplateCachingFactory factory = CONTEXT_LINK_FACTORIES.get(current);
+			if (factory != null) {
+				return factory;
+			}
+		}
+
+		return LINK_FACTORY;
+	}
+
 	public static String linkTo(Object invocationValue) {
-		Assert.isInstanceOf(LastInvocationAware.class, invocationValue);
-		LastInvocationHolder invocations = new LastInvocationHolder((LastInvocationAware) invocationValue);
+		LastInvocationHolder invocations = getInvocations(invocationValue);
 
-		FastLinkTemplate linkTemplate = LINK_FACTORY.createLinkTemplate(invocations);
+		FastLinkTemplate linkTemplate = getLinkFactory().createLinkTemplate(invocations);
 		return linkTemplate.build(invocations);
 	}
 
+	/**
+	 * Creates a {@link Link} with the given rel pointing to the recorded method invocation. Unlike
+	 * {@link #linkTo(Object)} the href is not built upfront but written when the link is serialized or asked for it, see
+	 * {@link DeferredLink}. The recorded arguments are converted when the link is created, so changes made to them
+	 * afterwards don't show up in the href.
+	 *
+	 * @param invocationValue the result of a method invocation on a proxy created by
+	 *          {@link ControllerLinkBuilder#methodOn(Class, Object...)}.
+	 * @param rel must not be {@literal null} or empty.
+	 * @return
+	 */
+	public static Link link(Object invocationValue, String rel) {
+		LastInvocationHolder invocations = getInvocations(invocationValue);
+
+		FastLinkTemplate linkTemplate = getLinkFactory().createLinkTemplate(invocations);
+		return new FastLink(linkTemplate, invocations.getLastInvocation().getArguments(),
+				invocations.getObjectParameters(), rel);
+	}
+
+	/**
+	 * Copies the invocation recorded by the given invocation value and releases the recorder behind it.
+	 */
+	private static LastInvocationHolder getInvocations(Object invocationValue) {
+		Assert.isInstanceOf(LastInvocationAware.class, invocationValue);
+
+		try {
+			return new LastInvocationHolder((LastInvocationAware) invocationValue);
+		} finally {
+			DummyInvocationUtils.releaseRecorder(invocationValue);
+		}
+	}
+
+	/**
+	 * Resolves the given controller method into a reusable {@link FastLinkHandle}. Links built through the handle skip
+	 * the proxy based invocation recording of {@code linkTo(methodOn(...))} entirely. The handle uses the
+	 * {@link FastLinkTemplateCachingFactory} in charge of the request a link is built for, so it can be created once and
+	 * kept in a constant.
+	 *
+	 * <pre>
+	 * FastLinkHandle show = FastLinks.template(CustomerController.class, "show", Long.class);
+	 * String link = show.expand(customer.getId());
+	 * </pre>
+	 *
+	 * @param controller must not be {@literal null}.
+	 * @param methodName must not be {@literal null} or empty.
+	 * @param parameterTypes the exact parameter types of the method.
+	 * @return
+	 * @throws IllegalArgumentException if no such method exists.
+	 */
+	public static FastLinkHandle template(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+		Assert.notNull(controller, "Controller type must not be null!");
+		Assert.hasText(methodName, "Method name must not be null or empty!");
+
+		Method method = ReflectionUtils.findMethod(controller, methodName, parameterTypes);
+		if (method == null) {
+			throw new IllegalArgumentException(String.format("No method %s with parameter types %s found on %s!",
+					methodName, Arrays.toString(parameterTypes), controller.getName()));
+		}
+
+		return new FastLinkHandle(controller, method);
+	}
+
 }
@@ -0,0 +1,188 @@
+package org.springframework.hateoas.mvc;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.core.AnnotationAttribute;
+import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.core.MappingDiscoverer;
+import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.ParameterBinding;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.util.UriTemplate;
+
+/**
+ * Opt-in component compiling the {@link FastLinkTemplate}s of all handler methods of {@link Controller} and
+ * {@link ExposesResourceFor} beans once the {@link ApplicationContext} has been refreshed. This moves annotation
+ * scanning, template parsing and encoder selection out of the first requests and reports mappings that cannot be
+ * compiled before the application takes traffic.
+ *
+ * <pre>
+ * &#64;Bean
+ * public FastLinksPrecompiler fastLinksPrecompiler() {
+ *   return new FastLinksPrecompiler();
+ * }
+ * </pre>
+ *
+ * Methods of controllers with template variables in their type level mapping are compiled for as many type
+ * parameters as the mapping has variables. If all of them are bound by {@link PathVariable}s of the method, the
+ * variant without type parameters is compiled as well.
+ */
+public class FastLinksPrecompiler implements ApplicationContextAware, ApplicationListener<ContextRefreshedEvent> {
+	private static final Logger LOG = LoggerFactory.getLogger(FastLinksPrecompiler.class);
+	private static final MappingDiscoverer DISCOVERER = new AnnotationMappingDiscoverer(RequestMapping.class);
+	private static final AnnotatedParametersParameterAccessor PATH_VARIABLE_ACCESSOR = new AnnotatedParametersParameterAccessor(
+			new AnnotationAttribute(PathVariable.class));
+
+	private FastLinkTemplateCachingFactory linkFactory;
+	private ApplicationContext context;
+	private boolean failOnError = true;
+	private int compiledTemplates;
+
+	/**
+	 * Creates a new {@link FastLinksPrecompiler} filling the {@link FastLinkTemplateCachingFactory} declared in the
+	 * {@link ApplicationContext} or the default one used by {@link FastLinks}.
+	 */
+	public FastLinksPrecompiler() {
+	}
+
+	FastLinksPrecompiler(FastLinkTemplateCachingFactory linkFactory) {
+		this.linkFactory = linkFactory;
+	}
+
+	/**
+	 * Configures whether mappings that cannot be compiled fail the startup of the {@link ApplicationContext}. If
+	 * disabled, they are logged as warnings and compiled lazily on first use, as without pre-compilation. Defaults to
+	 * {@literal true}.
+	 *
+	 * @param failOnError
+	 */
+	public void setFailOnError(boolean failOnError) {
+		this.failOnError = failOnError;
+	}
+
+	/**
+	 * Returns the number of templates compiled by the last run.
+	 *
+	 * @return
+	 */
+	public int getCompiledTemplates() {
+		return compiledTemplates;
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == context) {
+			precompile();
+		}
+	}
+
+	/**
+	 * Compiles the templates of all handler methods of the controllers in the {@link ApplicationContext}.
+	 *
+	 * @throws IllegalStateException if a template cannot be compiled and {@link #setFailOnError(boolean)} is enabled.
+	 */
+	public void precompile() {
+		FastLinkTemplateCachingFactory linkFactory = this.linkFactory != null ? this.linkFactory
+				: FastLinks.getLinkFactory(context);
+		List<String> failures = new ArrayList<String>();
+		int compiled = 0;
+
+		for (Class<?> controller : getControllerTypes()) {
+			for (Method method : ReflectionUtils.getUniqueDeclaredMethods(controller)) {
+				if (method.isBridge() || method.isSynthetic()
+						|| AnnotationUtils.findAnnotation(method, RequestMapping.class) == null) {
+					continue;
+				}
+
+				try {
+					for (int objectParameterCount : getObjectParameterCounts(controller, method)) {
+						linkFactory.createLinkTemplate(controller, method, objectParameterCount);
+						compiled++;
+					}
+				} catch (RuntimeException e) {
+					failures.add(String.format("%s on %s: %s", method, controller.getName(), e.getMessage()));
+				}
+			}
+		}
+
+		this.compiledTemplates = compiled;
+		LOG.debug("Compiled {} link templates.", compiled);
+
+		if (!failures.isEmpty()) {
+			String message = String.format("Could not compile %d link template(s):%n%s", failures.size(),
+					StringUtils.collectionToDelimitedString(failures, String.format("%n")));
+
+			if (failOnError) {
+				throw new IllegalStateException(message);
+			}
+
+			LOG.warn(message);
+		}
+	}
+
+	private Set<Class<?>> getControllerTypes() {
+		Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+
+		for (String beanName : context.getBeanDefinitionNames()) {
+			if (hasAnnotation(beanName, Controller.class) || hasAnnotation(beanName, ExposesResourceFor.class)) {
+				Class<?> type = context.getType(beanName);
+				if (type != null) {
+					types.add(ClassUtils.getUserClass(type));
+				}
+			}
+		}
+
+		return types;
+	}
+
+	private boolean hasAnnotation(String beanName, Class<? extends Annotation> annotation) {
+		return context.findAnnotationOnBean(beanName, annotation) != null;
+	}
+
+	private static List<Integer> getObjectParameterCounts(Class<?> controller, Method method) {
+		String typeMapping = DISCOVERER.getMapping(controller);
+
+		if (typeMapping == null) {
+			return Collections.singletonList(0);
+		}
+
+		List<String> variables = new UriTemplate(typeMapping).getVariableNames();
+
+		if (variables.isEmpty()) {
+			return Collections.singletonList(0);
+		}
+
+		Set<String> pathVariables = new HashSet<String>();
+		for (ParameterBinding binding : PATH_VARIABLE_ACCESSOR.getBindings(method)) {
+			pathVariables.add(binding.getVariableName());
+		}
+
+		return pathVariables.containsAll(variables) ? Arrays.asList(variables.size(), 0)
+				: Collections.singletonList(variables.size());
+	}
+}
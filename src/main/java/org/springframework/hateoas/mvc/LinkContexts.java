@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.LinkContext;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Captures {@link LinkContext}s and decorates {@link Executor}s to propagate them to the threads running the submitted
+ * tasks.
+ *
+ * <pre>
+ * ExecutorService executor = LinkContexts.propagating(Executors.newFixedThreadPool(8));
+ * </pre>
+ */
+public final class LinkContexts {
+
+	private LinkContexts() {}
+
+	/**
+	 * Captures the {@link LinkContext} of the current thread, i.e. the one bound to it or the one derived from the base
+	 * URI configured through {@link BaseUris} or the current request.
+	 *
+	 * @return will never be {@literal null}.
+	 * @throws IllegalStateException if there's neither a bound context, a configured base URI nor a current request.
+	 */
+	public static LinkContext capture() {
+
+		LinkContext current = LinkContext.getCurrent();
+		return current != null ? current : new LinkContext(ControllerLinkBuilder.getBaseUri());
+	}
+
+	/**
+	 * Returns an {@link Executor} running the submitted tasks with the {@link LinkContext} of the submitting thread
+	 * bound. Tasks submitted from threads without a {@link LinkContext} to capture are run as they are.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @return
+	 */
+	public static Executor propagating(final Executor executor) {
+
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				executor.execute(wrap(command));
+			}
+		};
+	}
+
+	/**
+	 * Returns an {@link ExecutorService} running the submitted tasks with the {@link LinkContext} of the submitting
+	 * thread bound. Tasks submitted from threads without a {@link LinkContext} to capture are run as they are.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @return
+	 */
+	public static ExecutorService propagating(ExecutorService executor) {
+
+		Assert.notNull(executor, "ExecutorService must not be null!");
+
+		return new LinkContextPropagatingExecutorService(executor);
+	}
+
+	private static Runnable wrap(Runnable command) {
+
+		Assert.notNull(command, "Command must not be null!");
+
+		LinkContext context = LinkContext.getCurrent();
+
+		// only servlet requests provide a base URI, others, e.g. portlet ones, can't be captured either
+		if (context == null && BaseUris.getBaseUri() == null
+				&& !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+			return command;
+		}
+
+		return (context == null ? capture() : context).wrap(command);
+	}
+
+	/**
+	 * {@link ExecutorService} wrapping all tasks into ones binding the {@link LinkContext} of the submitting thread. The
+	 * {@code submit(…)} and {@code invoke…(…)} methods of {@link AbstractExecutorService} all funnel through
+	 * {@link #execute(Runnable)} on the submitting thread.
+	 */
+	private static class LinkContextPropagatingExecutorService extends AbstractExecutorService {
+
+		private final ExecutorService delegate;
+
+		public LinkContextPropagatingExecutorService(ExecutorService delegate) {
+			this.delegate = delegate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+		 */
+		@Override
+		public void execute(Runnable command) {
+			delegate.execute(wrap(command));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ExecutorService#shutdown()
+		 */
+		@Override
+		public void shutdown() {
+			delegate.shutdown();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ExecutorService#shutdownNow()
+		 */
+		@Override
+		public List<Runnable> shutdownNow() {
+			return delegate.shutdownNow();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ExecutorService#isShutdown()
+		 */
+		@Override
+		public boolean isShutdown() {
+			return delegate.isShutdown();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ExecutorService#isTerminated()
+		 */
+		@Override
+		public boolean isTerminated() {
+			return delegate.isTerminated();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ExecutorService#awaitTermination(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			return delegate.awaitTermination(timeout, unit);
+		}
+	}
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.core.UriEncoder;
+
+/**
+ * Compiled form of a controller (or controller method) mapping used by {@link ControllerLinkBuilder#linkTo(Class,
+ * Object...)} and {@link ControllerLinkBuilder#linkTo(Class, java.lang.reflect.Method, Object...)}. The mapping is
+ * split into path segments of static parts and positional variables once, so that expansion is plain string
+ * concatenation.
+ * <p>
+ * The template only handles the cases in which the result is guaranteed to be identical to the one produced by
+ * expanding the mapping through {@link org.springframework.web.util.UriComponents} and slashing it onto the base URI:
+ * static parts made of unreserved characters and values that end up in a single path segment. Values are either
+ * percent-encoded with {@link UriEncoder#PATH_SEGMENT} or, if compiled without value encoding, have to consist of
+ * unreserved characters only. {@link #expand(String, Object[])} returns {@literal null} for everything else so that
+ * callers can fall back to the general code path.
+ */
+class MappingLinkTemplate {
+
+	/**
+	 * Template for mappings that cannot be compiled, always falls back.
+	 */
+	static final MappingLinkTemplate NOT_COMPILABLE = new MappingLinkTemplate(null, 0, false, false);
+
+	private final Segment[] segments;
+	private final int staticLength;
+	private final boolean encodeValues;
+	private final boolean absolutePath;
+
+	private MappingLinkTemplate(Segment[] segments, int staticLength, boolean encodeValues, boolean absolutePath) {
+		this.segments = segments;
+		this.staticLength = staticLength;
+		this.encodeValues = encodeValues;
+		this.absolutePath = absolutePath;
+	}
+
+	/**
+	 * Compiles the given mapping, encoding values on expansion.
+	 *
+	 * @param mapping can be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 * @see #compile(String, boolean)
+	 */
+	static MappingLinkTemplate compile(String mapping) {
+		return compile(mapping, true);
+	}
+
+	/**
+	 * Compiles the given mapping. Returns {@link #NOT_COMPILABLE} if the mapping contains anything but unreserved
+	 * characters, slashes and template variables or could be parsed into anything but a path.
+	 *
+	 * @param mapping can be {@literal null} or empty.
+	 * @param encodeValues whether values requiring encoding are encoded once or make expansion fall back.
+	 * @return will never be {@literal null}.
+	 */
+	static MappingLinkTemplate compile(String mapping, boolean encodeValues) {
+
+		if (mapping == null || mapping.length() == 0 || mapping.startsWith("//")) {
+			return NOT_COMPILABLE;
+		}
+
+		int firstSlash = mapping.indexOf('/');
+		String firstSegment = firstSlash == -1 ? mapping : mapping.substring(0, firstSlash);
+
+		if (firstSegment.indexOf(':') != -1) {
+			return NOT_COMPILABLE;
+		}
+
+		List<Segment> segments = Segment.parseSegments(mapping);
+		int staticLength = 0;
+
+		for (Segment segment : segments) {
+
+			if (segment.isDotSegment()) {
+				return NOT_COMPILABLE;
+			}
+
+			for (int i = 0; i <= segment.getVariableCount(); i++) {
+
+				String part = segment.getPart(i);
+
+				if (!isUnreserved(part, 0, part.length())
+						|| (i < segment.getVariableCount() && !isPathVariable(segment.getVariable(i)))) {
+					return NOT_COMPILABLE;
+				}
+
+				staticLength += part.length();
+			}
+
+			staticLength++;
+		}
+
+		return new MappingLinkTemplate(segments.toArray(new Segment[segments.size()]), staticLength, encodeValues,
+				mapping.startsWith("/"));
+	}
+
+	/**
+	 * Returns whether the template could be compiled.
+	 *
+	 * @return
+	 */
+	boolean isCompiled() {
+		return segments != null;
+	}
+
+	/**
+	 * Expands the template with the given positional parameters and appends the result to the given base URI.
+	 *
+	 * @param baseUri the ASCII representation of the base URI, must not be {@literal null}.
+	 * @param parameters can be {@literal null}.
+	 * @return the expanded URI or {@literal null} in case the template, the base URI or the given parameters can't be
+	 *         handled by the compiled form.
+	 */
+	String expand(String baseUri, Object[] parameters) {
+
+		if (segments == null || parameters == null || !isSimpleBaseUri(baseUri)) {
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder(baseUri.length() + staticLength + parameters.length * 8);
+		builder.append(baseUri);
+
+		int parameterIndex = 0;
+
+		for (Segment segment : segments) {
+
+			builder.append('/');
+			int segmentStart = builder.length();
+
+			for (int i = 0; i < segment.getVariableCount(); i++) {
+
+				builder.append(segment.getPart(i));
+
+				if (parameterIndex >= parameters.length) {
+					return null;
+				}
+
+				Object value = parameters[parameterIndex++];
+
+				if (value == null) {
+					return null;
+				}
+
+				String string = value.toString();
+
+				if (string.length() == 0) {
+					return null;
+				}
+
+				if (isUnreserved(string, 0, string.length())) {
+					builder.append(string);
+				} else if (encodeValues && isSegmentValue(string)) {
+					UriEncoder.PATH_SEGMENT.encode(string, builder);
+				} else {
+					return null;
+				}
+			}
+
+			builder.append(segment.getPart(segment.getVariableCount()));
+
+			if (segment.getVariableCount() != 0 && isDotSegment(builder, segmentStart, builder.length())) {
+				return null;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Returns whether the given base URI consists of a scheme, a host made of alphanumerics, dots and dashes, an
+	 * optional port and a path of non-empty unreserved segments without a trailing slash, query or fragment.
+	 *
+	 * @param uri must not be {@literal null}.
+	 * @return
+	 */
+	static boolean isSimpleBaseUri(String uri) {
+
+		int length = uri.length();
+		int index = 0;
+
+		if (length == 0 || !isAlpha(uri.charAt(0))) {
+			return false;
+		}
+
+		while (index < length && isSchemeCharacter(uri.charAt(index))) {
+			index++;
+		}
+
+		if (!uri.startsWith("://", index)) {
+			return false;
+		}
+
+		index += 3;
+		int hostStart = index;
+
+		while (index < length && isHostCharacter(uri.charAt(index))) {
+			index++;
+		}
+
+		if (index == hostStart) {
+			return false;
+		}
+
+		if (index < length && uri.charAt(index) == ':') {
+
+			int portStart = ++index;
+
+			while (index < length && isDigit(uri.charAt(index))) {
+				index++;
+			}
+
+			if (index == portStart) {
+				return false;
+			}
+		}
+
+		while (index < length) {
+
+			if (uri.charAt(index) != '/') {
+				return false;
+			}
+
+			int segmentStart = ++index;
+
+			while (index < length && uri.charAt(index) != '/') {
+				index++;
+			}
+
+			if (index == segmentStart || !isUnreserved(uri, segmentStart, index)
+					|| isDotSegment(uri, segmentStart, index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isUnreserved(CharSequence value, int start, int end) {
+
+		for (int i = start; i < end; i++) {
+
+			char c = value.charAt(i);
+
+			if (!(isAlpha(c) || isDigit(c) || '-' == c || '.' == c || '_' == c || '~' == c)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns whether the given value stays within its path segment when the expanded mapping is parsed again.
+	 */
+	private boolean isSegmentValue(String value) {
+
+		for (int i = 0; i < value.length(); i++) {
+
+			char c = value.charAt(i);
+
+			if ('/' == c || '?' == c || '#' == c || '{' == c || '}' == c || (':' == c && !absolutePath)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isPathVariable(String value) {
+
+		for (int i = 0; i < value.length(); i++) {
+
+			char c = value.charAt(i);
+
+			if ('?' == c || '#' == c) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	static boolean isDotSegment(CharSequence value, int start, int end) {
+
+		int length = end - start;
+
+		if (length == 1) {
+			return value.charAt(start) == '.';
+		}
+
+		return length == 2 && value.charAt(start) == '.' && value.charAt(start + 1) == '.';
+	}
+
+	private static boolean isSchemeCharacter(char c) {
+		return isAlpha(c) || isDigit(c) || '+' == c || '-' == c || '.' == c;
+	}
+
+	private static boolean isHostCharacter(char c) {
+		return isAlpha(c) || isDigit(c) || '-' == c || '.' == c;
+	}
+
+	private static boolean isAlpha(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * A string made of static parts and template variables, usually a single path segment of a mapping. Variables are
+	 * detected the same way {@link org.springframework.web.util.UriComponents} does, i.e. as the shortest non-empty
+	 * sequence enclosed in curly braces not containing a slash. The string starts and ends with a static part, which
+	 * may be empty, and alternates static parts and variables.
+	 */
+	static class Segment {
+
+		private final String[] parts;
+		private final String[] variables;
+
+		private Segment(String[] parts, String[] variables) {
+			this.parts = parts;
+			this.variables = variables;
+		}
+
+		/**
+		 * Parses the given mapping into its non-empty path segments.
+		 *
+		 * @param mapping must not be {@literal null}.
+		 * @return
+		 */
+		static List<Segment> parseSegments(String mapping) {
+
+			List<Segment> segments = new ArrayList<Segment>();
+
+			for (String segment : mapping.split("/")) {
+				if (segment.length() != 0) {
+					segments.add(parse(segment));
+				}
+			}
+
+			return segments;
+		}
+
+		/**
+		 * Parses the given string into static parts and variables.
+		 *
+		 * @param source must not be {@literal null}.
+		 * @return
+		 */
+		static Segment parse(String source) {
+
+			List<String> parts = new ArrayList<String>();
+			List<String> variables = new ArrayList<String>();
+			int index = 0;
+			int searchFrom = 0;
+
+			while (true) {
+
+				int open = source.indexOf('{', searchFrom);
+				int close = open == -1 ? -1 : source.indexOf('}', open + 2);
+
+				if (close == -1) {
+					break;
+				}
+
+				int slash = source.indexOf('/', open + 1);
+
+				if (slash != -1 && slash < close) {
+					searchFrom = open + 1;
+					continue;
+				}
+
+				parts.add(source.substring(index, open));
+				variables.add(source.substring(open + 1, close));
+				index = searchFrom = close + 1;
+			}
+
+			parts.add(source.substring(index));
+
+			return new Segment(parts.toArray(new String[parts.size()]), variables.toArray(new String[variables.size()]));
+		}
+
+		/**
+		 * Returns the static part preceding the variable with the given index, or the trailing one for the number of
+		 * variables.
+		 *
+		 * @param index
+		 * @return
+		 */
+		String getPart(int index) {
+			return parts[index];
+		}
+
+		/**
+		 * Returns the number of variables.
+		 *
+		 * @return
+		 */
+		int getVariableCount() {
+			return variables.length;
+		}
+
+		/**
+		 * Returns the expression of the variable with the given index, i.e. the content between the curly braces.
+		 *
+		 * @param index
+		 * @return
+		 */
+		String getVariable(int index) {
+			return variables[index];
+		}
+
+		/**
+		 * Returns the name of the variable with the given index, i.e. its expression without a regular expression
+		 * following a colon.
+		 *
+		 * @param index
+		 * @return
+		 */
+		String getVariableName(int index) {
+
+			String variable = variables[index];
+			int colon = variable.indexOf(':');
+
+			return colon == -1 ? variable : variable.substring(0, colon);
+		}
+
+		/**
+		 * Returns whether the segment is a dot segment, i.e. {@code .} or {@code ..}.
+		 *
+		 * @return
+		 */
+		boolean isDotSegment() {
+			return variables.length == 0 && MappingLinkTemplate.isDotSegment(parts[0], 0, parts[0].length());
+		}
+	}
+}
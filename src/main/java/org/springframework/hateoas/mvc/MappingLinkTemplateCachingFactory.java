@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.hateoas.core.MappingDiscoverer;
+import org.springframework.util.StringUtils;
+
+/**
+ * Caches {@link MappingLinkTemplate}s per controller type and (optional) controller method.
+ */
+class MappingLinkTemplateCachingFactory {
+
+	private final ConcurrentMap<Key, MappingLinkTemplate> templateCache = new ConcurrentHashMap<Key, MappingLinkTemplate>();
+	private final MappingDiscoverer discoverer;
+
+	/**
+	 * Creates a new {@link MappingLinkTemplateCachingFactory} using the given {@link MappingDiscoverer} to lookup
+	 * mappings.
+	 *
+	 * @param discoverer must not be {@literal null}.
+	 */
+	public MappingLinkTemplateCachingFactory(MappingDiscoverer discoverer) {
+		this.discoverer = discoverer;
+	}
+
+	/**
+	 * Returns the {@link MappingLinkTemplate} for the type level mapping of the given controller. A missing mapping is
+	 * treated as root mapping.
+	 *
+	 * @param controller must not be {@literal null}.
+	 * @return
+	 */
+	public MappingLinkTemplate getTemplate(Class<?> controller) {
+
+		Key key = new Key(controller, null);
+		MappingLinkTemplate template = templateCache.get(key);
+
+		if (template == null) {
+
+			String mapping = discoverer.getMapping(controller);
+			template = MappingLinkTemplate.compile(mapping == null ? "/" : mapping);
+			templateCache.putIfAbsent(key, template);
+		}
+
+		return template;
+	}
+
+	/**
+	 * Returns the {@link MappingLinkTemplate} for the given method invoked on the given controller.
+	 *
+	 * @param controller must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	public MappingLinkTemplate getTemplate(Class<?> controller, Method method) {
+
+		Key key = new Key(controller, method);
+		MappingLinkTemplate template = templateCache.get(key);
+
+		if (template == null) {
+
+			String mapping = discoverer.getMapping(controller, method);
+			// values are encoded twice on this code path, see ControllerLinkBuilder.linkTo(Class, Method, Object...)
+			template = StringUtils.hasText(mapping) ? MappingLinkTemplate.compile(mapping, false)
+					: MappingLinkTemplate.NOT_COMPILABLE;
+			templateCache.putIfAbsent(key, template);
+		}
+
+		return template;
+	}
+
+	private static class Key {
+
+		private final Class<?> type;
+		private final Method method;
+
+		public Key(Class<?> type, Method method) {
+			this.type = type;
+			this.method = method;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) o;
+			return type.equals(that.type) && (method == null ? that.method == null : method.equals(that.method));
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + (method == null ? 0 : method.hashCode());
+		}
+	}
+}
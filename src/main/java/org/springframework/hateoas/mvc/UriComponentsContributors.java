@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.hateoas.core.MethodParameters;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * A set of {@link UriComponentsContributor}s along with a per {@link Method} plan of which contributors apply to which
+ * parameters. The plan is computed once per method, so that applying the contributors to an invocation only calls
+ * {@link UriComponentsContributor#enhance(UriComponentsBuilder, MethodParameter, Object)} where needed.
+ */
+class UriComponentsContributors {
+
+	static final UriComponentsContributors NONE = new UriComponentsContributors(
+			Collections.<UriComponentsContributor> emptyList());
+
+	private static final Contribution[] NO_CONTRIBUTIONS = new Contribution[0];
+
+	private final List<UriComponentsContributor> contributors;
+	private final ConcurrentMap<Method, Contribution[]> contributionsCache = new ConcurrentHashMap<Method, Contribution[]>();
+
+	/**
+	 * Creates a new {@link UriComponentsContributors} for the given {@link UriComponentsContributor}s.
+	 * 
+	 * @param contributors must not be {@literal null}.
+	 */
+	public UriComponentsContributors(List<? extends UriComponentsContributor> contributors) {
+
+		Assert.notNull(contributors, "UriComponentsContributors must not be null!");
+		this.contributors = Collections.unmodifiableList(new ArrayList<UriComponentsContributor>(contributors));
+	}
+
+	/**
+	 * Returns the configured {@link UriComponentsContributor}s.
+	 * 
+	 * @return
+	 */
+	public List<UriComponentsContributor> getContributors() {
+		return contributors;
+	}
+
+	/**
+	 * Returns the {@link Contribution}s to apply for invocations of the given {@link Method}. The returned array must not
+	 * be modified.
+	 * 
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	public Contribution[] getContributions(Method method) {
+
+		if (contributors.isEmpty()) {
+			return NO_CONTRIBUTIONS;
+		}
+
+		Contribution[] contributions = contributionsCache.get(method);
+
+		if (contributions == null) {
+			contributions = createContributions(method);
+			contributionsCache.put(method, contributions);
+		}
+
+		return contributions;
+	}
+
+	/**
+	 * Applies the {@link UriComponentsContributor}s to the given {@link UriComponentsBuilder} for an invocation of the
+	 * given {@link Method} with the given arguments.
+	 * 
+	 * @param builder must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @param arguments must not be {@literal null}.
+	 * @return the given {@link UriComponentsBuilder}.
+	 */
+	public UriComponentsBuilder apply(UriComponentsBuilder builder, Method method, Object[] arguments) {
+
+		for (Contribution contribution : getContributions(method)) {
+			contribution.apply(builder, arguments);
+		}
+
+		return builder;
+	}
+
+	private Contribution[] createContributions(Method method) {
+
+		List<Contribution> contributions = new ArrayList<Contribution>();
+
+		for (MethodParameter parameter : new MethodParameters(method).getParameters()) {
+
+			List<UriComponentsContributor> supporting = new ArrayList<UriComponentsContributor>();
+
+			for (UriComponentsContributor contributor : contributors) {
+				if (contributor.supportsParameter(parameter)) {
+					supporting.add(contributor);
+				}
+			}
+
+			if (!supporting.isEmpty()) {
+				contributions.add(new Contribution(parameter, supporting));
+			}
+		}
+
+		return contributions.isEmpty() ? NO_CONTRIBUTIONS : contributions.toArray(new Contribution[contributions.size()]);
+	}
+
+	/**
+	 * A {@link MethodParameter} along with the {@link UriComponentsContributor}s supporting it.
+	 */
+	static class Contribution {
+
+		private final MethodParameter parameter;
+		private final int index;
+		private final UriComponentsContributor[] contributors;
+
+		public Contribution(MethodParameter parameter, List<UriComponentsContributor> contributors) {
+
+			this.parameter = parameter;
+			this.index = parameter.getParameterIndex();
+			this.contributors = contributors.toArray(new UriComponentsContributor[contributors.size()]);
+		}
+
+		/**
+		 * Applies the {@link UriComponentsContributor}s to the given builder with the parameter's value taken from the given
+		 * arguments.
+		 * 
+		 * @param builder must not be {@literal null}.
+		 * @param arguments must not be {@literal null}.
+		 */
+		public void apply(UriComponentsBuilder builder, Object[] arguments) {
+
+			Object value = arguments[index];
+
+			for (UriComponentsContributor contributor : contributors) {
+				contributor.enhance(builder, parameter, value);
+			}
+		}
+	}
+}
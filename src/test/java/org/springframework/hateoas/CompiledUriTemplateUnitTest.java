@@ -0,0 +1,239 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.hateoas.TemplateVariable.VariableType;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link CompiledUriTemplate}. Expansions are verified against the general expansion of
+ * {@link UriTemplate}.
+ */
+public class CompiledUriTemplateUnitTest {
+
+	/**
+	 * Base URIs along with the optional variables of the templates.
+	 */
+	static final String[][] TEMPLATES = { { "/foo/{id}", "" }, { "/foo/{id}/", "{/segment}" },
+			{ "/foo/{id}", "{?page,size}" }, { "/foo/{id}", "{&page}" }, { "/foo?bar=baz", "{&page,size}" },
+			{ "/foo?bar=baz&qux", "{&page}" }, { "/foo?bar=", "{&page}" }, { "/foo", "{/segment}{?page}" },
+			{ "/foo/", "{/segment,other}" }, { "/{id}", "{/segment}" }, { "/foo", "{#fragment}" },
+			{ "/foo", "{?page}{#fragment}{/segment}" }, { "http://localhost/foo/{id}", "{?page}" },
+			{ "http://localhost:8080", "{/segment}{?page}" }, { "http://localhost", "{?page}" },
+			{ "https://Example.com/{first}-{second}/bar", "{?page}" }, { "/foo/a:b@c!$'()*+,;=/{id}", "{?page}" },
+			{ "/foo/{id}", "{#fragment}{#other}" }, { "/", "{/segment}" } };
+
+	/**
+	 * Templates not compiled as they need encoding or normalization.
+	 */
+	static final String[][] NOT_COMPILABLE = { { "/foo bar/{id}", "" }, { "/foo%20bar/{id}", "" },
+			{ "/foo{bar-baz}/{id}", "" }, { "foo/{id}", "" }, { "/foo//{id}", "" }, { "http://user@localhost/{id}", "" },
+			{ "http://localhost:08080/{id}", "" }, { "/foo?bar={id}", "" }, { "/foo#bar", "{?page}" },
+			{ "/foo?page=1", "{&page}" }, { "/foo", "{?page}{&page}" }, { "/foo?bar=a=b", "{&page}" } };
+
+	static final Object[] VALUES = { null, "", "value", "42", 42L, "with space", "a/b", "a&b", "a=b", "a+b", "a%20b",
+			"\u00e4", "a:b@c!$'()*+,;", "a?b", "a#b", "{x}", "a.b-c_d~e", VariableType.SEGMENT };
+
+	@Test
+	public void expandsLikeGeneralExpansionWithArguments() {
+
+		int compiled = 0;
+
+		for (String[] source : TEMPLATES) {
+
+			UriTemplate template = template(source);
+			CompiledUriTemplate compiledTemplate = compile(source);
+
+			for (Object first : VALUES) {
+				for (Object second : VALUES) {
+
+					Object[] arguments = { first, second, "third" };
+					String result = compiledTemplate.expand(arguments);
+
+					if (result != null) {
+						compiled++;
+						assertThat(Arrays.toString(source) + " with " + Arrays.toString(arguments), result,
+								is(expandGenerally(source[0], template, arguments)));
+					}
+				}
+			}
+		}
+
+		assertThat(compiled, is(greaterThan(1000)));
+	}
+
+	@Test
+	public void expandsLikeGeneralExpansionWithMap() {
+
+		int compiled = 0;
+
+		for (String[] source : TEMPLATES) {
+
+			UriTemplate template = template(source);
+			CompiledUriTemplate compiledTemplate = compile(source);
+
+			for (Object first : VALUES) {
+				for (Object second : VALUES) {
+
+					Map<String, Object> parameters = new HashMap<String, Object>();
+					parameters.put("id", first);
+					parameters.put("first", first);
+					parameters.put("second", second);
+					parameters.put("page", second);
+					parameters.put("segment", first);
+					parameters.put("other", second);
+					parameters.put("fragment", second);
+
+					String result = compiledTemplate.expand(parameters);
+
+					if (result != null) {
+						compiled++;
+						assertThat(Arrays.toString(source) + " with " + parameters, result,
+								is(expandGenerally(source[0], template, parameters)));
+					}
+				}
+			}
+		}
+
+		assertThat(compiled, is(greaterThan(1000)));
+	}
+
+	@Test
+	public void doesNotCompileTemplatesNeedingEncodingOrNormalization() {
+
+		for (String[] source : NOT_COMPILABLE) {
+			assertThat(Arrays.toString(source), compile(source), is(CompiledUriTemplate.NOT_COMPILABLE));
+		}
+	}
+
+	@Test
+	public void fallsBackForMissingValues() {
+
+		CompiledUriTemplate compiled = compile(new String[] { "/foo/{id}", "{?page}" });
+
+		assertThat(compiled.expand(new Object[0]), is(nullValue()));
+		assertThat(compiled.expand(new HashMap<String, Object>()), is(nullValue()));
+		assertThat(compiled.expand(new Object[] { 1 }), is("/foo/1?page=1"));
+	}
+
+	@Test
+	public void expandsLinks() {
+
+		Link link = new Link("http://localhost/foo/{id}{?page,size}", "foo");
+
+		assertThat(link.expand(1, 2).getHref(), is("http://localhost/foo/1?page=1&size=2"));
+		assertThat(link.expand(Collections.singletonMap("id", 1)).getHref(), is("http://localhost/foo/1"));
+	}
+
+	private static UriTemplate template(String[] source) {
+
+		List<TemplateVariable> variables = new UriTemplate("/" + source[1]).getVariables();
+		return new UriTemplate(source[0], new TemplateVariables(variables));
+	}
+
+	private static CompiledUriTemplate compile(String[] source) {
+		return CompiledUriTemplate.compile(source[0], new TemplateVariables(template(source).getVariables()));
+	}
+
+	/**
+	 * The general expansion of {@link UriTemplate#expand(Object...)}.
+	 */
+	private static String expandGenerally(String baseUri, UriTemplate template, Object[] parameters) {
+
+		try {
+
+			org.springframework.web.util.UriTemplate baseTemplate = new org.springframework.web.util.UriTemplate(baseUri);
+			UriComponentsBuilder builder = UriComponentsBuilder.fromUri(baseTemplate.expand(parameters));
+			Iterator<Object> iterator = Arrays.asList(parameters).iterator();
+
+			for (TemplateVariable variable : getOptionalVariables(template)) {
+				append(builder, variable, iterator.hasNext() ? iterator.next() : null);
+			}
+
+			return builder.build().toUri().toString();
+
+		} catch (RuntimeException o_O) {
+			return o_O.toString();
+		}
+	}
+
+	/**
+	 * The general expansion of {@link UriTemplate#expand(Map)}.
+	 */
+	private static String expandGenerally(String baseUri, UriTemplate template, Map<String, ?> parameters) {
+
+		try {
+
+			org.springframework.web.util.UriTemplate baseTemplate = new org.springframework.web.util.UriTemplate(baseUri);
+			UriComponentsBuilder builder = UriComponentsBuilder.fromUri(baseTemplate.expand(parameters));
+
+			for (TemplateVariable variable : getOptionalVariables(template)) {
+				append(builder, variable, parameters.get(variable.getName()));
+			}
+
+			return builder.build().toUri().toString();
+
+		} catch (RuntimeException o_O) {
+			return o_O.toString();
+		}
+	}
+
+	private static List<TemplateVariable> getOptionalVariables(UriTemplate template) {
+
+		List<TemplateVariable> result = new ArrayList<TemplateVariable>();
+
+		for (TemplateVariable variable : template) {
+			if (!variable.isRequired()) {
+				result.add(variable);
+			}
+		}
+
+		return result;
+	}
+
+	private static void append(UriComponentsBuilder builder, TemplateVariable variable, Object value) {
+
+		if (value == null) {
+			return;
+		}
+
+		switch (variable.getType()) {
+			case REQUEST_PARAM:
+			case REQUEST_PARAM_CONTINUED:
+				builder.queryParam(variable.getName(), value);
+				break;
+			case SEGMENT:
+				builder.pathSegment(value.toString());
+				break;
+			case FRAGMENT:
+				builder.fragment(value.toString());
+				break;
+			default:
+		}
+	}
+}
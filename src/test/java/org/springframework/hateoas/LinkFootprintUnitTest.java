@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.hateoas.core.PrefixedLink;
+
+/**
+ * Measures the heap retained by large numbers of {@link Link}s. Sizes are estimated from the object graph assuming a
+ * 64 bit JVM with compressed references, so that the results don't depend on the JVM running the tests. Objects
+ * shared by the links are counted once.
+ */
+public class LinkFootprintUnitTest {
+
+	static final int COUNT = 10000;
+	static final String PREFIX = "http://localhost:8080/context/collection/";
+
+	@Test
+	public void plainLinksDontRetainTemplatesOrRelCopies() {
+
+		List<Link> before = new ArrayList<Link>(COUNT);
+		List<Link> after = new ArrayList<Link>(COUNT);
+
+		for (int i = 0; i < COUNT; i++) {
+
+			// the former shape: a template kept for every link
+			before.add(new Link(new UriTemplate(PREFIX + i), new String("item")));
+			after.add(new Link(PREFIX + i, new String("item")));
+		}
+
+		long beforeBytes = retainedBytesPerLink(before);
+		long afterBytes = retainedBytesPerLink(after);
+
+		assertThat(afterBytes, is(lessThanOrEqualTo(beforeBytes - 32)));
+		assertThat(after.get(0).getRel(), is(sameInstance(after.get(1).getRel())));
+		assertThat(after.get(0).isTemplated(), is(false));
+		assertThat(retainedBytesPerLink(after), is(afterBytes));
+	}
+
+	@Test
+	public void prefixedLinksShareTheirPrefix() {
+
+		List<Link> plain = new ArrayList<Link>(COUNT);
+		List<Link> prefixed = new ArrayList<Link>(COUNT);
+
+		for (int i = 0; i < COUNT; i++) {
+			plain.add(new Link(PREFIX + i, "item"));
+			prefixed.add(PrefixedLink.of(PREFIX, PREFIX + i, "item"));
+		}
+
+		assertThat(prefixed.get(0), is(instanceOf(PrefixedLink.class)));
+		assertThat(prefixed, is(plain));
+		assertThat(retainedBytesPerLink(prefixed), is(lessThan(retainedBytesPerLink(plain) - PREFIX.length())));
+	}
+
+	@Test
+	public void prefixedLinksEqualPlainOnesWithoutKeepingTheirHref() {
+
+		Link plain = new Link(PREFIX + 1, "item");
+		Link prefixed = PrefixedLink.of(PREFIX, PREFIX + 1, "item");
+		long bytes = estimateRetainedBytes(prefixed);
+
+		assertThat(prefixed, is(plain));
+		assertThat(plain, is(prefixed));
+		assertThat(prefixed, is(PrefixedLink.of(PREFIX + 1, PREFIX + 1, "item")));
+		assertThat(prefixed, is(not(PrefixedLink.of(PREFIX, PREFIX + 2, "item"))));
+		assertThat(prefixed.hashCode(), is(plain.hashCode()));
+		assertThat(prefixed.toString(), is(plain.toString()));
+		assertThat(prefixed.withSelfRel(), is(instanceOf(PrefixedLink.class)));
+		assertThat(prefixed.withSelfRel(), is(plain.withSelfRel()));
+		assertThat(estimateRetainedBytes(prefixed), is(bytes));
+	}
+
+	private static long retainedBytesPerLink(List<Link> links) {
+		return (estimateRetainedBytes(links) - estimateRetainedBytes(new ArrayList<Link>(links.size()))) / links.size();
+	}
+
+	/**
+	 * Estimates the bytes retained by the given root, walking all non-static fields.
+	 */
+	private static long estimateRetainedBytes(Object root) {
+
+		Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
+		Deque<Object> queue = new ArrayDeque<Object>();
+		long bytes = 0;
+
+		queue.add(root);
+
+		while (!queue.isEmpty()) {
+
+			Object current = queue.poll();
+
+			if (visited.put(current, current) != null) {
+				continue;
+			}
+
+			Class<?> type = current.getClass();
+
+			if (type.isArray()) {
+
+				int length = Array.getLength(current);
+				Class<?> componentType = type.getComponentType();
+				bytes += align(16 + length * sizeOf(componentType));
+
+				if (!componentType.isPrimitive()) {
+					for (int i = 0; i < length; i++) {
+						enqueue(queue, Array.get(current, i));
+					}
+				}
+
+				continue;
+			}
+
+			long size = 12;
+
+			for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+				for (Field field : candidate.getDeclaredFields()) {
+
+					if (Modifier.isStatic(field.getModifiers())) {
+						continue;
+					}
+
+					size += sizeOf(field.getType());
+
+					if (!field.getType().isPrimitive()) {
+						field.setAccessible(true);
+						enqueue(queue, get(field, current));
+					}
+				}
+			}
+
+			bytes += align(size);
+		}
+
+		return bytes;
+	}
+
+	private static void enqueue(Deque<Object> queue, Object value) {
+
+		if (value != null && !(value instanceof Class) && !(value instanceof Enum)) {
+			queue.add(value);
+		}
+	}
+
+	private static Object get(Field field, Object target) {
+
+		try {
+			return field.get(target);
+		} catch (IllegalAccessException o_O) {
+			throw new IllegalStateException(o_O);
+		}
+	}
+
+	private static int sizeOf(Class<?> type) {
+
+		if (type == long.class || type == double.class) {
+			return 8;
+		} else if (type == int.class || type == float.class) {
+			return 4;
+		} else if (type == short.class || type == char.class) {
+			return 2;
+		} else if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+
+		return 4;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+}
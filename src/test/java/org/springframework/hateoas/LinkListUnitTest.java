@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link LinkList}.
+ */
+public class LinkListUnitTest {
+
+	@Test
+	public void looksUpLinksByRelInSmallLists() {
+
+		LinkList links = new LinkList();
+		links.add(new Link("/foo", "foo"));
+		links.add(new Link("/bar", "bar"));
+		links.add(new Link("/other", "foo"));
+
+		assertLookups(links);
+	}
+
+	@Test
+	public void looksUpLinksByRelInIndexedLists() {
+
+		LinkList links = new LinkList();
+
+		for (int i = 0; i < LinkList.INDEX_THRESHOLD; i++) {
+			links.add(new Link("/filler/" + i, "filler" + i));
+		}
+
+		links.add(new Link("/foo", "foo"));
+		links.add(new Link("/bar", "bar"));
+		assertThat(links.getLinks("foo"), contains(new Link("/foo", "foo")));
+
+		// appended after the index was built
+		links.add(new Link("/other", "foo"));
+
+		assertLookups(links);
+		assertThat(links.getLinks("bar"), is(sameInstance(links.getLinks("bar"))));
+	}
+
+	@Test
+	public void keepsLookupsConsistentWithModifications() {
+
+		LinkList links = new LinkList();
+
+		for (int i = 0; i < LinkList.INDEX_THRESHOLD * 2; i++) {
+			links.add(new Link("/" + i, i % 2 == 0 ? "even" : "odd"));
+		}
+
+		assertThat(links.getLinks("even"), hasSize(LinkList.INDEX_THRESHOLD));
+
+		links.remove(0);
+		assertThat(links.getLink("even"), is(new Link("/2", "even")));
+
+		links.set(0, new Link("/1", "changed"));
+		assertThat(links.getLink("odd"), is(new Link("/3", "odd")));
+		assertThat(links.getLink("changed"), is(new Link("/1", "changed")));
+
+		links.add(0, new Link("/first", "odd"));
+		assertThat(links.getLink("odd"), is(new Link("/first", "odd")));
+
+		for (Iterator<Link> iterator = links.iterator(); iterator.hasNext();) {
+			if (iterator.next().getRel().equals("odd")) {
+				iterator.remove();
+			}
+		}
+
+		assertThat(links.getLinks("odd"), is(empty()));
+		assertThat(links.getLinks("even"), hasSize(LinkList.INDEX_THRESHOLD - 1));
+
+		links.clear();
+		assertThat(links.getLink("even"), is(nullValue()));
+		assertThat(links, is(empty()));
+	}
+
+	@Test
+	public void behavesLikeArrayList() {
+
+		LinkList links = new LinkList();
+		List<Link> reference = new ArrayList<Link>();
+
+		for (int i = 0; i < 20; i++) {
+
+			Link link = new Link("/" + i, "rel" + i % 3);
+			links.add(link);
+			reference.add(link);
+		}
+
+		links.remove(5);
+		reference.remove(5);
+		links.add(3, new Link("/inserted"));
+		reference.add(3, new Link("/inserted"));
+
+		assertThat(links, is(reference));
+		assertThat(links.hashCode(), is(reference.hashCode()));
+		assertThat(links.toString(), is(reference.toString()));
+		assertThat(new LinkList(reference), is(reference));
+	}
+
+	@Test
+	public void layersLinksOnSharedOnes() {
+
+		LinkList shared = new LinkList();
+		shared.add(new Link("/profile", "profile"));
+		shared.add(new Link("/foo", "foo"));
+
+		LinkList first = LinkList.sharing(shared);
+		LinkList second = LinkList.sharing(shared);
+
+		first.add(new Link("/bar", "bar"));
+		first.add(new Link("/other", "foo"));
+
+		assertLookups(first);
+		assertThat(first, contains(new Link("/profile", "profile"), new Link("/foo", "foo"), new Link("/bar", "bar"),
+				new Link("/other", "foo")));
+		assertThat(second, contains(new Link("/profile", "profile"), new Link("/foo", "foo")));
+		assertThat(second.getLinks("foo"), is(shared.getLinks("foo")));
+
+		// modifying shared links copies them
+		first.remove(0);
+		second.set(1, new Link("/changed", "foo"));
+
+		assertThat(first, contains(new Link("/foo", "foo"), new Link("/bar", "bar"), new Link("/other", "foo")));
+		assertThat(second, contains(new Link("/profile", "profile"), new Link("/changed", "foo")));
+		assertThat(shared, contains(new Link("/profile", "profile"), new Link("/foo", "foo")));
+
+		LinkList third = LinkList.sharing(shared);
+		third.add(1, new Link("/inserted", "inserted"));
+		third.clear();
+
+		assertThat(third, is(empty()));
+		assertThat(third.getLink("profile"), is(nullValue()));
+		assertThat(shared, hasSize(2));
+	}
+
+	@Test
+	public void linksIndexTheirListUpfront() {
+
+		List<Link> source = new ArrayList<Link>();
+
+		for (int i = 0; i <= LinkList.INDEX_THRESHOLD; i++) {
+			source.add(new Link("/filler/" + i, "filler" + i));
+		}
+
+		LinkList shared = new Links(source).getLinkList();
+
+		assertThat(ReflectionTestUtils.getField(shared, "index"), is(notNullValue()));
+		assertThat(LinkList.sharing(shared).getLink("filler0"), is(source.get(0)));
+	}
+
+	private static void assertLookups(LinkList links) {
+
+		assertThat(links.getLink("foo"), is(new Link("/foo", "foo")));
+		assertThat(links.getLink("bar"), is(new Link("/bar", "bar")));
+		assertThat(links.getLink("baz"), is(nullValue()));
+		assertThat(links.getLink(null), is(nullValue()));
+
+		assertThat(links.getLinks("foo"), contains(new Link("/foo", "foo"), new Link("/other", "foo")));
+		assertThat(links.getLinks("bar"), contains(new Link("/bar", "bar")));
+		assertThat(links.getLinks("baz"), is(empty()));
+	}
+}
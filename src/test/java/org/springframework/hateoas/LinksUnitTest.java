@@ -15,10 +15,11 @@
  */
 package org.springframework.hateoas;
 
-import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 import org.springframework.util.StringUtils;
@@ -60,4 +61,37 @@ public class LinksUnitTest {
 	public void getSingleLinkByRel() {
 		assertThat(reference.getLink("bar"), is(new Link("/somethingElse", "bar")));
 	}
+
+	@Test
+	public void getsLinksByRelSuffix() {
+
+		Links links = new Links(new Link("/orders", "orders"), new Link("/curied", "ex:orders"), new Link("/more", "orders"));
+
+		assertThat(links.getLinks("orders"),
+				contains(new Link("/orders", "orders"), new Link("/curied", "ex:orders"), new Link("/more", "orders")));
+		assertThat(links.getLinks("ex:orders"), contains(new Link("/curied", "ex:orders")));
+		assertThat(links.getLinks("foo"), is(empty()));
+	}
+
+	@Test
+	public void getsLinksByRelSuffixNotBeingARelItself() {
+
+		Links links = new Links(new Link("/curied", "ex:orders"), new Link("/pre", "preorders"), new Link("/foo", "foo"));
+
+		assertThat(links.getLinks("orders"), contains(new Link("/curied", "ex:orders"), new Link("/pre", "preorders")));
+		assertThat(links.getLinks("rders"), hasSize(2));
+	}
+
+	@Test
+	public void returnsModifiableListsOfLinksByRel() {
+
+		Links links = new Links(new Link("/orders", "orders"), new Link("/curied", "ex:orders"));
+
+		List<Link> result = links.getLinks("ex:orders");
+		result.add(new Link("/foo", "foo"));
+
+		assertThat(links.getLinks("ex:orders"), contains(new Link("/curied", "ex:orders")));
+		assertThat(links.getLinks("foo"), is(empty()));
+		assertThat(links.getLinks("foo").add(new Link("/foo", "foo")), is(true));
+	}
 }
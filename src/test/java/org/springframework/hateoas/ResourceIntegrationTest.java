@@ -18,6 +18,7 @@ package org.springframework.hateoas;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.io.StringReader;
 import java.io.StringWriter;
 
 import javax.xml.bind.JAXBContext;
@@ -27,6 +28,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.custommonkey.xmlunit.Diff;
 import org.junit.Test;
+import org.springframework.hateoas.core.PrefixedLink;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
@@ -54,6 +56,19 @@ public class ResourceIntegrationTest extends AbstractJackson2MarshallingIntegrat
 		assertThat(write(resource), is(REFERENCE));
 	}
 
+	@Test
+	public void rendersPrefixedLinksLikePlainOnes() throws Exception {
+
+		Person person = new Person();
+		person.firstname = "Dave";
+		person.lastname = "Matthews";
+
+		Resource<Person> resource = new Resource<Person>(person);
+		resource.add(new PrefixedLink("local", "host", Link.REL_SELF));
+
+		assertThat(write(resource), is(REFERENCE));
+	}
+
 	/**
 	 * @see #124
 	 * @see #154
@@ -77,6 +92,29 @@ public class ResourceIntegrationTest extends AbstractJackson2MarshallingIntegrat
 		assertThat(new Diff(XML_REFERENCE, writer.toString()).similar(), is(true));
 	}
 
+	@Test
+	public void marshalsDeferredLinksToXmlLikePlainOnes() throws Exception {
+
+		Person person = new Person();
+		person.firstname = "Dave";
+		person.lastname = "Matthews";
+
+		PersonResource resource = new PersonResource(person);
+		resource.add(new PrefixedLink("/f", "oo", "bar"));
+
+		JAXBContext context = JAXBContext.newInstance(PersonResource.class, Person.class);
+		StringWriter writer = new StringWriter();
+		context.createMarshaller().marshal(resource, writer);
+
+		assertThat(new Diff(XML_REFERENCE, writer.toString()).similar(), is(true));
+
+		PersonResource result = (PersonResource) context.createUnmarshaller().unmarshal(
+				new StringReader(writer.toString()));
+
+		assertThat(result.getLinks(), hasSize(1));
+		assertThat(result.getLink("bar"), is(new Link("/foo", "bar")));
+	}
+
 	/**
 	 * @see #14
 	 */
@@ -156,4 +156,32 @@ public class ResourceSupportUnitTest {
 		assertThat(support.hasLink("self"), is(true));
 		assertThat(support.hasLink("another"), is(true));
 	}
+
+	@Test
+	public void startsWithSharedLinks() {
+
+		Links shared = new Links(new Link("/profile", "profile"), new Link("/search", "search"));
+
+		ResourceSupport first = new SharingResource(shared);
+		first.add(new Link("/first"));
+		ResourceSupport second = new SharingResource(shared);
+		second.add(new Link("/second"));
+
+		assertThat(first.getLinks(), contains(new Link("/profile", "profile"), new Link("/search", "search"),
+				new Link("/first")));
+		assertThat(second.getId(), is(new Link("/second")));
+		assertThat(second.getLink("search"), is(new Link("/search", "search")));
+
+		first.removeLinks();
+
+		assertThat(first.hasLinks(), is(false));
+		assertThat(second.getLinks(), hasSize(3));
+	}
+
+	static class SharingResource extends ResourceSupport {
+
+		public SharingResource(Links sharedLinks) {
+			super(sharedLinks);
+		}
+	}
 }
@@ -18,6 +18,10 @@ package org.springframework.hateoas;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -261,6 +265,55 @@ public class UriTemplateUnitTest {
 		assertThat(template.toString(), is("/{?q}"));
 	}
 
+	@Test
+	public void ignoresBracesNotEnclosingVariables() {
+
+		UriTemplate template = new UriTemplate("/foo{bar-baz}/{{?q,}");
+
+		assertVariables(template, new TemplateVariable("q", VariableType.REQUEST_PARAM));
+		assertThat(template.toString(), is("/foo{bar-baz}/{{?q}"));
+
+		assertThat(UriTemplate.isTemplate("/foo{bar-baz}{}"), is(false));
+		assertThat(UriTemplate.isTemplate("/foo{bar-baz}{?,}"), is(true));
+		assertThat(new UriTemplate("/foo{?,}").getVariables(), is(empty()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyVariableNames() {
+		new UriTemplate("/foo{?q,,p}");
+	}
+
+	@Test
+	public void sharesParsedTemplatesWithVariables() {
+
+		assertThat(UriTemplate.of("/foo{?bar}"), is(sameInstance(UriTemplate.of("/foo{?bar}"))));
+		assertThat(UriTemplate.of("/foo").getVariables(), is(empty()));
+		assertThat(UriTemplate.of("/foo").toString(), is("/foo"));
+		assertVariables(new UriTemplate("/foo{?bar}"), new TemplateVariable("bar", VariableType.REQUEST_PARAM));
+	}
+
+	@Test
+	public void memoizesRenderedTemplate() throws Exception {
+
+		UriTemplate template = new UriTemplate("/foo?bar=baz").with("q", VariableType.REQUEST_PARAM);
+
+		assertThat(template.toString(), is("/foo?bar=baz{&q}"));
+		assertThat(template.toString(), is(sameInstance(template.toString())));
+		assertThat(template.getVariableNames(), is(sameInstance(template.getVariableNames())));
+		assertThat(template.with("bar", VariableType.REQUEST_PARAM), is(sameInstance(template)));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(template);
+		output.close();
+
+		UriTemplate deserialized = (UriTemplate) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+				.readObject();
+
+		assertThat(deserialized.toString(), is("/foo?bar=baz{&q}"));
+		assertThat(deserialized.expand("value").toString(), is("/foo?bar=baz&q=value"));
+	}
+
 	private static void assertVariables(UriTemplate template, TemplateVariable... variables) {
 		assertVariables(template, Arrays.asList(variables));
 	}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BoundedCache}.
+ */
+public class BoundedCacheUnitTest {
+
+	@Test
+	public void evictsLeastRecentlyUsedEntryOnceFull() {
+
+		BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(1);
+
+		cache.put(1, "one");
+		cache.put(2, "two");
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.get(1), is(nullValue()));
+		assertThat(cache.get(2), is("two"));
+	}
+
+	@Test
+	public void keepsRecentlyAccessedEntries() {
+
+		BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(BoundedCache.MAX_SEGMENTS * 2);
+
+		// keys differing by the number of segments end up in the same segment
+		cache.put(0, "first");
+		cache.put(BoundedCache.MAX_SEGMENTS, "second");
+		cache.get(0);
+		cache.put(BoundedCache.MAX_SEGMENTS * 2, "third");
+
+		assertThat(cache.get(0), is("first"));
+		assertThat(cache.get(BoundedCache.MAX_SEGMENTS), is(nullValue()));
+		assertThat(cache.get(BoundedCache.MAX_SEGMENTS * 2), is("third"));
+	}
+
+	@Test
+	public void neverExceedsMaximumSize() {
+
+		BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(100);
+
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, i);
+		}
+
+		assertThat(cache.size(), is(100));
+	}
+
+	@Test
+	public void keepsValueCachedBefore() {
+
+		BoundedCache<String, String> cache = new BoundedCache<String, String>(10);
+
+		assertThat(cache.putIfAbsent("key", "first"), is(nullValue()));
+		assertThat(cache.putIfAbsent("key", "second"), is("first"));
+		assertThat(cache.get("key"), is("first"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaximumSize() {
+		new BoundedCache<String, String>(0);
+	}
+}
@@ -0,0 +1,81 @@
+package org.springframework.hateoas.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CachingMappingDiscoverer}.
+ */
+public class CachingMappingDiscovererUnitTest {
+
+	MappingDiscoverer delegate = mock(MappingDiscoverer.class);
+	CachingMappingDiscoverer discoverer = new CachingMappingDiscoverer(delegate);
+
+	@Test
+	public void cachesTypeAndMethodMappings() throws Exception {
+
+		Method method = Sample.class.getMethod("method");
+
+		when(delegate.getMapping(Sample.class)).thenReturn("/sample");
+		when(delegate.getMapping(Sample.class, method)).thenReturn("/sample/method");
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(discoverer.getMapping(Sample.class), is("/sample"));
+			assertThat(discoverer.getMapping(Sample.class, Sample.class.getMethod("method")), is("/sample/method"));
+		}
+
+		verify(delegate, times(1)).getMapping(Sample.class);
+		verify(delegate, times(1)).getMapping(Sample.class, method);
+	}
+
+	@Test
+	public void cachesMissingMappings() throws Exception {
+
+		Method method = Sample.class.getMethod("method");
+
+		assertThat(discoverer.getMapping(Sample.class), is(nullValue()));
+		assertThat(discoverer.getMapping(Sample.class), is(nullValue()));
+		assertThat(discoverer.getMapping(method), is(nullValue()));
+		assertThat(discoverer.getMapping(method), is(nullValue()));
+
+		verify(delegate, times(1)).getMapping(Sample.class);
+		verify(delegate, times(1)).getMapping(method);
+	}
+
+	@Test
+	public void cachesMethodMappingsPerType() throws Exception {
+
+		Method method = Sample.class.getMethod("method");
+
+		when(delegate.getMapping(Sample.class, method)).thenReturn("/sample/method");
+		when(delegate.getMapping(SampleSubclass.class, method)).thenReturn("/subclass/method");
+
+		assertThat(discoverer.getMapping(Sample.class, method), is("/sample/method"));
+		assertThat(discoverer.getMapping(SampleSubclass.class, method), is("/subclass/method"));
+	}
+
+	@Test
+	public void doesNotCacheFailures() {
+
+		when(delegate.getMapping(Sample.class)).thenThrow(new IllegalStateException()).thenReturn("/sample");
+
+		try {
+			discoverer.getMapping(Sample.class);
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException e) {}
+
+		assertThat(discoverer.getMapping(Sample.class), is("/sample"));
+	}
+
+	static class Sample {
+
+		public void method() {}
+	}
+
+	static class SampleSubclass extends Sample {}
+}
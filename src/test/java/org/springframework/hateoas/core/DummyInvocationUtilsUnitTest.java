@@ -0,0 +1,251 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.hateoas.core.DummyInvocationUtils.*;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware;
+import org.springframework.hateoas.core.DummyInvocationUtils.MethodInvocation;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link DummyInvocationUtils}.
+ */
+public class DummyInvocationUtilsUnitTest {
+
+	@Test
+	public void recordsInvocationOnClassProxy() throws Exception {
+
+		Object result = methodOn(SampleController.class, "foo").someMethod(4L);
+		MethodInvocation invocation = ((LastInvocationAware) result).getLastInvocation();
+
+		assertThat(invocation.getMethod(), is(SampleController.class.getMethod("someMethod", Long.class)));
+		assertThat(invocation.getArguments(), is(new Object[] { 4L }));
+		assertThat(invocation.getTargetType(), is(typeCompatibleWith(SampleController.class)));
+		assertThat(((LastInvocationAware) result).getObjectParameters().next(), is((Object) "foo"));
+	}
+
+	@Test
+	public void recordsInvocationOnInterfaceProxy() throws Exception {
+
+		Object result = methodOn(SampleInterface.class).withoutArguments();
+		MethodInvocation invocation = ((LastInvocationAware) result).getLastInvocation();
+
+		assertThat(invocation.getMethod(), is(SampleInterface.class.getMethod("withoutArguments")));
+		assertThat(invocation.getArguments(), is(emptyArray()));
+	}
+
+	@Test
+	public void reusesProxyClasses() {
+
+		SampleController first = methodOn(SampleController.class);
+		SampleController second = methodOn(SampleController.class);
+
+		assertThat(first, is(not(sameInstance(second))));
+		assertThat(first.getClass(), is(sameInstance((Object) second.getClass())));
+		assertThat(methodOn(SampleInterface.class).getClass(),
+				is(sameInstance((Object) methodOn(SampleInterface.class).getClass())));
+	}
+
+	@Test
+	public void keepsInvocationsOfProxiesApart() {
+
+		Object first = methodOn(SampleController.class).someMethod(1L);
+		Object second = methodOn(SampleController.class).someMethod(2L);
+
+		assertThat(((LastInvocationAware) first).getLastInvocation().getArguments()[0], is((Object) 1L));
+		assertThat(((LastInvocationAware) second).getLastInvocation().getArguments()[0], is((Object) 2L));
+	}
+
+	@Test
+	public void handlesObjectMethodsOnInterfaceProxies() {
+
+		SampleInterface proxy = methodOn(SampleInterface.class);
+
+		assertThat(proxy.equals(proxy), is(true));
+		assertThat(proxy.equals(methodOn(SampleInterface.class)), is(false));
+		assertThat(proxy.hashCode(), is(System.identityHashCode(proxy)));
+		assertThat(proxy.toString(), is(notNullValue()));
+	}
+
+	@Test
+	public void returnsPlainCarriersForWellKnownReturnTypes() throws Exception {
+
+		SampleController controller = methodOn(SampleController.class);
+
+		assertCarries(controller.entity(1L), SampleController.class.getMethod("entity", Long.class));
+		assertCarries(controller.responseEntity(), SampleController.class.getMethod("responseEntity"));
+		assertCarries(controller.object(), SampleController.class.getMethod("object"));
+	}
+
+	@Test
+	public void recordsChainedInvocationsOnProxiedReturnValues() throws Exception {
+
+		Object result = methodOn(SampleController.class).someMethod(1L).entity(2L);
+		MethodInvocation invocation = ((LastInvocationAware) result).getLastInvocation();
+
+		assertThat(invocation.getMethod(), is(SampleController.class.getMethod("entity", Long.class)));
+		assertThat(invocation.getArguments(), is(new Object[] { 2L }));
+	}
+
+	@Test
+	public void handsOutOneReturnValuePerTypeAndProxy() {
+
+		SampleController controller = methodOn(SampleController.class);
+
+		assertThat(controller.entity(1L), is(sameInstance((Object) controller.entity(2L))));
+		assertThat(controller.responseEntity(), is(sameInstance((Object) controller.responseEntity())));
+		assertThat(controller.object(), is(sameInstance(controller.object())));
+		assertThat(controller.someMethod(1L), is(sameInstance(controller.someMethod(2L))));
+
+		Object value = controller.entity(3L);
+		assertThat(((LastInvocationAware) value).getLastInvocation().getArguments()[0], is((Object) 3L));
+	}
+
+	@Test
+	public void reusesRecorderOnceReleased() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			SampleController first = methodOn(SampleController.class);
+			Object value = first.entity(1L);
+
+			assertThat(((LastInvocationAware) value).getLastInvocation().getArguments()[0], is((Object) 1L));
+			releaseRecorder(value);
+
+			SampleController second = methodOn(SampleController.class, "foo");
+			Object secondValue = second.entity(2L);
+
+			assertThat(second, is(sameInstance(first)));
+			assertThat(secondValue, is(sameInstance(value)));
+			assertThat(((LastInvocationAware) secondValue).getLastInvocation().getArguments()[0], is((Object) 2L));
+			assertThat(((LastInvocationAware) secondValue).getObjectParameters().next(), is((Object) "foo"));
+
+			releaseRecorder(secondValue);
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	@Test
+	public void rejectsArmingUnreleasedRecorder() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			methodOn(SampleController.class).entity(1L);
+
+			try {
+				methodOn(SampleController.class);
+				fail("Expected IllegalStateException!");
+			} catch (IllegalStateException e) {}
+
+			releaseRecorder(methodOn(SampleController.class).entity(2L));
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	@Test
+	public void rejectsUsingRecorderAfterRelease() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			SampleController proxy = methodOn(SampleController.class);
+			Object value = proxy.entity(1L);
+			releaseRecorder(value);
+
+			try {
+				proxy.entity(2L);
+				fail("Expected IllegalStateException!");
+			} catch (IllegalStateException e) {}
+
+			try {
+				((LastInvocationAware) value).getLastInvocation();
+				fail("Expected IllegalStateException!");
+			} catch (IllegalStateException e) {}
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	@Test
+	public void rejectsInvokingReusableProxyTwice() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			SampleController proxy = methodOn(SampleController.class);
+			Object value = proxy.entity(1L);
+
+			try {
+				proxy.entity(2L);
+				fail("Expected IllegalStateException!");
+			} catch (IllegalStateException e) {}
+
+			releaseRecorder(value);
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	private static void assertCarries(Object value, Method method) {
+
+		assertThat(value, is(not(instanceOf(Factory.class))));
+		assertThat(((LastInvocationAware) value).getLastInvocation().getMethod(), is(method));
+	}
+
+	public static class SampleController {
+
+		public SampleController someMethod(Long id) {
+			return null;
+		}
+
+		public HttpEntity<Void> entity(Long id) {
+			return null;
+		}
+
+		public ResponseEntity<String> responseEntity() {
+			return null;
+		}
+
+		public Object object() {
+			return null;
+		}
+	}
+
+	public interface SampleInterface {
+
+		SampleController withoutArguments();
+	}
+}
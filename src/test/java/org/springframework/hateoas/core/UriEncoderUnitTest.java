@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Unit tests for {@link UriEncoder}.
+ */
+public class UriEncoderUnitTest {
+
+	static final String[] VALUES = { "", "abc", "with blank", "a/b?c#d", "a=b&c", "50%", "a+b;c,d", "@:!$'()*",
+			"\"<>[]\\^`{|}", "\u00e4\u00f6\u00fc", "\u20ac\u4e2d", "\ud83d\ude00", "x\ud83dy", "\ude00", "\u0000\u007f",
+			"\u0080\u07ff\u0800\uffff" };
+
+	@Test
+	public void encodesLikeUriUtils() throws Exception {
+
+		for (String value : VALUES) {
+
+			assertThat(UriEncoder.PATH.encode(value), is(UriUtils.encodePath(value, "UTF-8")));
+			assertThat(UriEncoder.PATH_SEGMENT.encode(value), is(UriUtils.encodePathSegment(value, "UTF-8")));
+			assertThat(UriEncoder.QUERY_PARAM.encode(value), is(UriUtils.encodeQueryParam(value, "UTF-8")));
+			assertThat(UriEncoder.FRAGMENT.encode(value), is(UriUtils.encodeFragment(value, "UTF-8")));
+		}
+	}
+
+	@Test
+	public void returnsSameInstanceIfNothingNeedsEscaping() {
+
+		String value = "foo-bar_1.2~3";
+
+		assertThat(UriEncoder.PATH_SEGMENT.encode(value), is(sameInstance(value)));
+		assertThat(UriEncoder.PATH_SEGMENT.isAllowed(value), is(true));
+		assertThat(UriEncoder.PATH_SEGMENT.isAllowed("a/b"), is(false));
+	}
+
+	@Test
+	public void appendsToGivenBuilder() {
+
+		StringBuilder builder = new StringBuilder("/people/");
+
+		assertThat(UriEncoder.PATH_SEGMENT.encode("a b", builder), is(sameInstance(builder)));
+		assertThat(builder.toString(), is("/people/a%20b"));
+	}
+}
@@ -36,6 +36,7 @@ import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.UriTemplate;
 import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.hateoas.core.DeferredLink;
 import org.springframework.hateoas.core.EmbeddedWrappers;
 import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
 
@@ -89,6 +90,28 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 		assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
 	}
 
+	@Test
+	public void rendersDeferredLinkWithoutRenderingHrefString() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new DeferredLink(Link.REL_SELF) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void writeHref(StringBuilder builder) {
+				builder.append("local").append("host");
+			}
+
+			@Override
+			public String getHref() {
+				throw new AssertionError("Href must be written through writeHref()!");
+			}
+		});
+
+		assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
+	}
+
 	@Test
 	public void deserializeSingleLink() throws Exception {
 		ResourceSupport expected = new ResourceSupport();
@@ -23,6 +23,8 @@ import javax.ws.rs.Path;
 import org.junit.Test;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Unit test for {@link JaxRsLinkBuilderFactory}.
@@ -65,6 +67,20 @@ public class JaxRsLinkBuilderFactoryUnitTest extends TestUtils {
 		assertThat(link.getHref(), endsWith("/people/with%20blank/addresses"));
 	}
 
+	@Test
+	public void usesConfiguredBaseUriWithoutCurrentRequest() {
+
+		RequestContextHolder.resetRequestAttributes();
+		BaseUris.setBaseUri("https://api.example.com");
+
+		try {
+			Link link = factory.linkTo(PersonsAddressesService.class, 15).withSelfRel();
+			assertThat(link.getHref(), is("https://api.example.com/people/15/addresses"));
+		} finally {
+			BaseUris.reset();
+		}
+	}
+
 	@Path("/people")
 	interface PersonService {
 
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.hateoas.core.AnnotationAttribute;
+import org.springframework.hateoas.mvc.AnnotatedParametersParameterAccessor.ParameterBinding;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Unit tests for {@link AnnotatedParametersParameterAccessor}.
+ */
+public class AnnotatedParametersParameterAccessorUnitTest {
+
+	AnnotatedParametersParameterAccessor accessor = new AnnotatedParametersParameterAccessor(new AnnotationAttribute(
+			PathVariable.class));
+
+	@Test
+	public void computesBindingsOnce() throws Exception {
+
+		Method method = Sample.class.getMethod("method", Long.class, String.class, Date.class);
+		ParameterBinding[] bindings = accessor.getBindings(method);
+
+		assertThat(bindings.length, is(2));
+		assertThat(bindings[0].getVariableName(), is("id"));
+		assertThat(bindings[1].getVariableName(), is("date"));
+		assertThat(accessor.getBindings(method), is(sameInstance(bindings)));
+	}
+
+	@Test
+	public void bindsArgumentsOfInvocation() throws Exception {
+
+		Method method = Sample.class.getMethod("method", Long.class, String.class, Date.class);
+		ParameterBinding[] bindings = accessor.getBindings(method);
+		Object[] arguments = { 4711L, "foo", new Date(12 * 60 * 60 * 1000) };
+
+		assertThat(bindings[0].asString(bindings[0].getValue(arguments)), is("4711"));
+		assertThat(bindings[1].asString(bindings[1].getValue(arguments)), startsWith("1970-01-0"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMissingValueForRequiredParameter() throws Exception {
+
+		Method method = Sample.class.getMethod("method", Long.class, String.class, Date.class);
+		accessor.getBindings(method)[0].getValue(new Object[3]);
+	}
+
+	@Test
+	public void allowsMissingValueForOptionalParameter() throws Exception {
+
+		AnnotatedParametersParameterAccessor accessor = new AnnotatedParametersParameterAccessor(new AnnotationAttribute(
+				RequestParam.class)) {
+
+			@Override
+			protected boolean isRequired(MethodParameter parameter) {
+				return parameter.getParameterAnnotation(RequestParam.class).required();
+			}
+		};
+
+		Method method = Sample.class.getMethod("method", Long.class, String.class, Date.class);
+		ParameterBinding binding = accessor.getBindings(method)[0];
+
+		assertThat(binding.getVariableName(), is("query"));
+		assertThat(binding.getValue(new Object[3]), is(nullValue()));
+	}
+
+	interface Sample {
+
+		void method(@PathVariable("id") Long id, @RequestParam(value = "query", required = false) String query,
+				@PathVariable("date") @DateTimeFormat(iso = ISO.DATE) Date date);
+	}
+}
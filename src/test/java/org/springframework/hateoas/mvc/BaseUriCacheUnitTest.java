@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.springframework.hateoas.mvc.BaseUriCache.BaseUri;
+import org.springframework.hateoas.mvc.BaseUriCache.Key;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link BaseUriCache}.
+ */
+public class BaseUriCacheUnitTest {
+
+	@Test
+	public void createsEqualKeysForRequestsToSameBaseUri() {
+
+		MockHttpServletRequest first = new MockHttpServletRequest("GET", "/people/1");
+		MockHttpServletRequest second = new MockHttpServletRequest("GET", "/people/2");
+
+		assertThat(Key.of(first), is(Key.of(second)));
+		assertThat(Key.of(first).hashCode(), is(Key.of(second).hashCode()));
+	}
+
+	@Test
+	public void createsDifferentKeysForForwardedRequests() {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people");
+		Key key = Key.of(request);
+
+		request.addHeader("X-Forwarded-Host", "somethingDifferent");
+		assertThat(Key.of(request), is(not(key)));
+
+		request = new MockHttpServletRequest("GET", "/people");
+		request.addHeader("Forwarded", "host=foo;proto=https");
+		assertThat(Key.of(request), is(not(key)));
+
+		request = new MockHttpServletRequest("GET", "/people");
+		request.setContextPath("/context");
+		assertThat(Key.of(request), is(not(key)));
+	}
+
+	@Test
+	public void evictsBaseUrisOnceFull() {
+
+		BaseUriCache cache = new BaseUriCache(2);
+		BaseUri baseUri = new BaseUri(URI.create("http://localhost"));
+		Key key = null;
+
+		for (int port = 1; port <= 3; port++) {
+
+			MockHttpServletRequest request = new MockHttpServletRequest();
+			request.setServerPort(port);
+			key = Key.of(request);
+			cache.put(key, baseUri);
+		}
+
+		assertThat(cache.size(), is(lessThanOrEqualTo(2)));
+		assertThat(cache.get(key), is(baseUri));
+	}
+
+	@Test
+	public void reusesBaseUriAcrossRequests() {
+
+		try {
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+			String first = ControllerLinkBuilder.getBaseUriString();
+
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+			String second = ControllerLinkBuilder.getBaseUriString();
+
+			assertThat(second, is("http://localhost"));
+			assertThat(second, is(sameInstance(first)));
+
+			MockHttpServletRequest forwarded = new MockHttpServletRequest();
+			forwarded.addHeader("X-Forwarded-Host", "somethingDifferent");
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(forwarded));
+
+			assertThat(ControllerLinkBuilder.getBaseUriString(), is("http://somethingDifferent"));
+
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+}
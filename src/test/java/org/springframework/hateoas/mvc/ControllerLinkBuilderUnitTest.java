@@ -20,6 +20,7 @@ import static org.junit.Assert.*;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
 
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,8 +30,12 @@ import org.mockito.Mockito;
 import org.springframework.hateoas.Identifiable;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.core.BaseUriResolver;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.DummyInvocationUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -63,6 +68,22 @@ public class ControllerLinkBuilderUnitTest extends TestUtils {
 		assertThat(link.getHref(), endsWith("/people/15/addresses"));
 	}
 
+	@Test
+	public void createsLinkToParameterizedControllerRootWithValueRequiringEncoding() {
+
+		Link link = linkTo(PersonsAddressesController.class, "with blank").withSelfRel();
+		assertThat(link.getHref(), is("http://localhost/people/with%20blank/addresses"));
+	}
+
+	@Test
+	public void createsLinkToParameterizedMethodMapping() throws Exception {
+
+		Method method = PersonsAddressesController.class.getMethod("getAddressesForCountry", String.class);
+
+		assertThat(linkTo(method, 15, "DE").withSelfRel().getHref(), is("http://localhost/people/15/addresses/DE"));
+		assertThat(linkTo(method, 15, "D E").withSelfRel().getHref(), is("http://localhost/people/15/addresses/D%2520E"));
+	}
+
 	/**
 	 * @see #70
 	 */
@@ -423,6 +444,84 @@ public class ControllerLinkBuilderUnitTest extends TestUtils {
 		assertThat(link.getHref(), startsWith("bar://"));
 	}
 
+	@Test
+	public void createsLinksWithReusableRecorders() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			for (int i = 0; i < 3; i++) {
+
+				assertThat(linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable("" + i)).withSelfRel()
+						.getHref(), is("http://localhost/something/" + i + "/foo"));
+				assertThat(FastLinks.linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable("" + i)),
+						is("http://localhost/something/" + i + "/foo"));
+			}
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	@Test
+	public void releasesReusableRecordersIfBuildingLinkFails() {
+
+		DummyInvocationUtils.setReuseRecorders(true);
+
+		try {
+
+			try {
+				linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable(null));
+				fail("Expected IllegalArgumentException!");
+			} catch (IllegalArgumentException e) {}
+
+			assertThat(linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable("1")).withSelfRel().getHref(),
+					is("http://localhost/something/1/foo"));
+
+		} finally {
+			DummyInvocationUtils.setReuseRecorders(false);
+		}
+	}
+
+	@Test
+	public void usesConfiguredBaseUriWithoutCurrentRequest() {
+
+		RequestContextHolder.resetRequestAttributes();
+		BaseUris.setBaseUri("https://api.example.com/context/");
+
+		try {
+
+			assertThat(linkTo(PersonControllerImpl.class).withSelfRel().getHref(),
+					is("https://api.example.com/context/people"));
+			assertThat(linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable("1")).withSelfRel().getHref(),
+					is("https://api.example.com/context/something/1/foo"));
+			assertThat(FastLinks.linkTo(methodOn(ControllerWithMethods.class).methodWithPathVariable("1")),
+					is("https://api.example.com/context/something/1/foo"));
+
+		} finally {
+			BaseUris.reset();
+		}
+	}
+
+	@Test
+	public void fallsBackToCurrentRequestIfResolverReturnsNull() {
+
+		BaseUris.setResolver(new BaseUriResolver() {
+
+			@Override
+			public URI getBaseUri() {
+				return null;
+			}
+		});
+
+		try {
+			assertThat(linkTo(PersonControllerImpl.class).withSelfRel().getHref(), is("http://localhost/people"));
+		} finally {
+			BaseUris.reset();
+		}
+	}
+
 	private static UriComponents toComponents(Link link) {
 		return UriComponentsBuilder.fromUriString(link.getHref()).build();
 	}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.hateoas.mvc.ControllerLinkBuilderFactoryUnitTest.SampleUriComponentsContributor;
+import org.springframework.hateoas.mvc.ControllerLinkBuilderFactoryUnitTest.SpecialType;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link FastLinkTemplateCachingFactory}.
+ */
+public class FastLinkTemplateCachingFactoryUnitTest {
+
+	static final Method FIRST = ReflectionUtils.findMethod(SampleController.class, "first", Long.class);
+	static final Method SECOND = ReflectionUtils.findMethod(SampleController.class, "second", Long.class);
+	static final Method THIRD = ReflectionUtils.findMethod(SampleController.class, "third", Long.class);
+	static final Method INVALID = ReflectionUtils.findMethod(SampleController.class, "invalid");
+	static final Method CONTRIBUTED = ReflectionUtils.findMethod(SampleController.class, "contributed", Long.class,
+			SpecialType.class);
+	static final Method COLORED = ReflectionUtils.findMethod(SampleController.class, "colored", Color.class);
+
+	@Test
+	public void compilesTemplateOnlyOnce() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+
+		FastLinkTemplate template = factory.createLinkTemplate(SampleController.class, FIRST, 0);
+
+		assertThat(factory.createLinkTemplate(SampleController.class, FIRST, 0), is(sameInstance(template)));
+		assertThat(factory.getStatistics().getMisses(), is(1L));
+		assertThat(factory.getStatistics().getHits(), is(1L));
+		assertThat(factory.getStatistics().getSize(), is(1));
+	}
+
+	@Test
+	public void compilesTemplateOnlyOnceForConcurrentCalls() throws Exception {
+
+		final FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<FastLinkTemplate>> results = new ArrayList<Future<FastLinkTemplate>>();
+
+		try {
+			for (int i = 0; i < 32; i++) {
+				results.add(executor.submit(new Callable<FastLinkTemplate>() {
+					@Override
+					public FastLinkTemplate call() throws Exception {
+						start.await();
+						return factory.createLinkTemplate(SampleController.class, FIRST, 0);
+					}
+				}));
+			}
+
+			start.countDown();
+
+			FastLinkTemplate template = results.get(0).get();
+			for (Future<FastLinkTemplate> result : results) {
+				assertThat(result.get(), is(sameInstance(template)));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(factory.getStatistics().getMisses(), is(1L));
+		assertThat(factory.getStatistics().getHits(), is(31L));
+	}
+
+	@Test
+	public void evictsTemplatesBeyondMaximumSize() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setMaxSize(2);
+
+		factory.createLinkTemplate(SampleController.class, FIRST, 0);
+		factory.createLinkTemplate(SampleController.class, SECOND, 0);
+		factory.createLinkTemplate(SampleController.class, FIRST, 0);
+		factory.createLinkTemplate(SampleController.class, THIRD, 0);
+
+		assertThat(factory.size(), is(2));
+		assertThat(factory.getStatistics().getEvictions(), is(1L));
+
+		// recently used template survived
+		factory.createLinkTemplate(SampleController.class, FIRST, 0);
+		assertThat(factory.getStatistics().getMisses(), is(3L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeMaximumSize() {
+		new FastLinkTemplateCachingFactory().setMaxSize(-1);
+	}
+
+	@Test
+	public void doesNotCacheFailures() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				factory.createLinkTemplate(SampleController.class, INVALID, 0);
+				fail("Expected exception!");
+			} catch (RuntimeException e) {}
+		}
+
+		assertThat(factory.size(), is(0));
+		assertThat(factory.getStatistics().getMisses(), is(2L));
+	}
+
+	@Test
+	public void appliesUriComponentsContributors() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setUriComponentsContributors(Arrays.asList(new SampleUriComponentsContributor()));
+
+		SpecialType specialType = new SpecialType();
+		specialType.parameterValue = "some value&more";
+
+		assertThat(write(factory.createLinkTemplate(SampleController.class, CONTRIBUTED, 0), 1L, specialType),
+				is("http://localhost/sample/contributed/1?foo=some%20value%26more"));
+		assertThat(write(factory.createLinkTemplate(SampleController.class, FIRST, 0), 1L),
+				is("http://localhost/sample/first/1"));
+
+		factory.setGenerateWriters(true);
+		factory.clear();
+
+		assertThat(write(factory.createLinkTemplate(SampleController.class, CONTRIBUTED, 0), 1L, specialType),
+				is("http://localhost/sample/contributed/1?foo=some%20value%26more"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsContributorsChangingThePath() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setUriComponentsContributors(Arrays.asList(new SampleUriComponentsContributor() {
+
+			@Override
+			public void enhance(UriComponentsBuilder builder, MethodParameter parameter, Object value) {
+				builder.path("/foo");
+			}
+		}));
+
+		write(factory.createLinkTemplate(SampleController.class, CONTRIBUTED, 0), 1L, new SpecialType());
+	}
+
+	@Test
+	public void convertsParametersWithConfiguredConversionService() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+
+		assertThat(write(factory.createLinkTemplate(SampleController.class, COLORED, 0), Color.RED),
+				is("http://localhost/sample/colored/RED"));
+
+		factory.setConversionService(lowerCaseColorConversionService());
+
+		assertThat(factory.size(), is(0));
+		assertThat(write(factory.createLinkTemplate(SampleController.class, COLORED, 0), Color.RED),
+				is("http://localhost/sample/colored/red"));
+		assertThat(write(factory.createLinkTemplate(SampleController.class, FIRST, 0), 1L),
+				is("http://localhost/sample/first/1"));
+	}
+
+	@Test
+	public void convertsParametersThroughCustomizedConversionService() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setConversionService(new DefaultConversionService() {
+
+			@Override
+			public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+				return source instanceof Color ? "custom" : super.convert(source, sourceType, targetType);
+			}
+		});
+
+		assertThat(write(factory.createLinkTemplate(SampleController.class, COLORED, 0), Color.RED),
+				is("http://localhost/sample/colored/custom"));
+	}
+
+	@Test
+	public void usesMvcConversionServiceOfApplicationContext() throws Exception {
+
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.getBeanFactory().registerSingleton("mvcConversionService", lowerCaseColorConversionService());
+		context.refresh();
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setApplicationContext(context);
+
+		try {
+			assertThat(write(factory.createLinkTemplate(SampleController.class, COLORED, 0), Color.RED),
+					is("http://localhost/sample/colored/red"));
+		} finally {
+			factory.destroy();
+			context.close();
+		}
+	}
+
+	@Test
+	public void registersWithApplicationContextHierarchy() throws Exception {
+
+		GenericApplicationContext parent = new GenericApplicationContext();
+		GenericApplicationContext child = new GenericApplicationContext(parent);
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+
+		factory.setApplicationContext(parent);
+
+		try {
+			assertThat(FastLinks.getLinkFactory(parent), is(sameInstance(factory)));
+			assertThat(FastLinks.getLinkFactory(child), is(sameInstance(factory)));
+		} finally {
+			factory.destroy();
+		}
+
+		assertThat(FastLinks.getLinkFactory(child), is(not(sameInstance(factory))));
+		assertThat(FastLinks.getLinkFactory(), is(sameInstance(FastLinks.getLinkFactory(child))));
+	}
+
+	private static ConversionService lowerCaseColorConversionService() {
+
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.addConverter(new Converter<Color, String>() {
+
+			@Override
+			public String convert(Color source) {
+				return source.name().toLowerCase(Locale.US);
+			}
+		});
+
+		return conversionService;
+	}
+
+	private static String write(FastLinkTemplate template, Object... arguments) {
+
+		StringBuilder builder = new StringBuilder();
+		template.write(builder, "http://localhost", arguments, Collections.emptyList());
+		return builder.toString();
+	}
+
+	enum Color {
+		RED, GREEN
+	}
+
+	@RequestMapping("/sample")
+	static class SampleController {
+
+		@RequestMapping("/first/{id}")
+		HttpEntity<?> first(@PathVariable("id") Long id) {
+			return null;
+		}
+
+		@RequestMapping("/second/{id}")
+		HttpEntity<?> second(@PathVariable("id") Long id) {
+			return null;
+		}
+
+		@RequestMapping("/third/{id}")
+		HttpEntity<?> third(@PathVariable("id") Long id) {
+			return null;
+		}
+
+		@RequestMapping("/contributed/{id}")
+		HttpEntity<?> contributed(@PathVariable("id") Long id, SpecialType specialType) {
+			return null;
+		}
+
+		@RequestMapping("/colored/{color}")
+		HttpEntity<?> colored(@PathVariable("color") Color color) {
+			return null;
+		}
+
+		@RequestMapping("/{unbound}")
+		HttpEntity<?> invalid() {
+			return null;
+		}
+	}
+}
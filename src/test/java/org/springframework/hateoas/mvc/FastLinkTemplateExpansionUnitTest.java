@@ -0,0 +1,428 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.DummyInvocationUtils.LastInvocationAware;
+import org.springframework.hateoas.core.DummyInvocationUtils.MethodInvocation;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link FastLinkTemplate#expand(String, Object[], List)}. Every link is built through both the compiled
+ * template and the {@link UriComponentsBuilder} based code path of {@link ControllerLinkBuilderFactory}, expecting
+ * identical results. Links are also built through the {@link FastLinkTemplate}s for {@link FastLinks}, which have to
+ * yield the same link unless they reject values requiring encoding.
+ */
+public class FastLinkTemplateExpansionUnitTest extends TestUtils {
+
+	UriComponentsContributors contributors = UriComponentsContributors.NONE;
+
+	@After
+	public void tearDown() {
+		BaseUris.reset();
+	}
+
+	@Test
+	public void compilesPathVariables() {
+
+		assertCompiled(methodOn(Sample.class).path(1L, "foo"), "http://localhost/sample/1/foo");
+		assertCompiled(methodOn(Sample.class).path(1L, "with blank"), "http://localhost/sample/1/with%20blank");
+		assertCompiled(methodOn(Sample.class).path(1L, "100% ?#[]{x}"), null);
+		assertCompiled(methodOn(Sample.class).path(1L, "müller€😀"), null);
+		assertCompiled(methodOn(Sample.class).path(1L, "a;b=c:d@e"), null);
+		assertCompiled(methodOn(Sample.class).path(1L, "..."), null);
+		assertCompiled(methodOn(Sample.class).extension(UUID.fromString("7d6a8d3c-1c5b-4a6e-9f4b-0b1c2d3e4f5a"), 2.5d,
+				(short) 3), null);
+		assertCompiled(methodOn(Sample.class).regex(42L), "http://localhost/sample/regex/42");
+		assertCompiled(methodOn(Sample.class).trailingSlash(1L), "http://localhost/sample/1/");
+		assertCompiled(methodOn(Sample.class).enums(Letter.A, Letter.B), null);
+	}
+
+	@Test
+	public void compilesFormattedPathVariables() {
+		assertCompiled(methodOn(Sample.class).date(new Date(12 * 60 * 60 * 1000)), null);
+	}
+
+	@Test
+	public void fallsBackForValuesChangedByNormalization() {
+
+		assertFallsBack(methodOn(Sample.class).path(1L, "a/b"));
+		assertFallsBack(methodOn(Sample.class).path(1L, "."));
+		assertFallsBack(methodOn(Sample.class).path(1L, ".."));
+		assertFallsBack(methodOn(Sample.class).path(1L, ""));
+	}
+
+	@Test
+	public void rejectsMissingPathVariablesLikeGeneralCodePath() {
+		assertCompiled(methodOn(Sample.class).path(null, "foo"), null);
+	}
+
+	@Test
+	public void compilesRequestParameters() {
+
+		assertCompiled(methodOn(Sample.class).query("a b+c=d&e/?f%", 2L, Letter.B),
+				"http://localhost/sample/query?first=a%20b%2Bc%3Dd%26e/?f%25&second=2&third=B");
+		assertCompiled(methodOn(Sample.class).query("foo", 1L, null), null);
+		assertCompiled(methodOn(Sample.class).query(null, 1L, null), null);
+		assertCompiled(methodOn(Sample.class).list(Arrays.asList(Letter.A, null, Letter.B)), null);
+		assertCompiled(methodOn(Sample.class).list(Collections.<Letter> emptyList()), null);
+		assertCompiled(methodOn(Sample.class).array(new Letter[] { Letter.A, Letter.B }),
+				"http://localhost/sample/array?letters=A,B", "http://localhost/sample/array?letters=A&letters=B");
+		assertCompiled(methodOn(Sample.class).sameName("first", "second", "third"), null);
+	}
+
+	@Test
+	public void fallsBackForRequestParametersSubjectToTemplateExpansion() {
+		assertFallsBack(methodOn(Sample.class).query("{foo}", 2L, null));
+	}
+
+	@Test
+	public void compilesMapRequestParameters() {
+
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		map.put("first", "value");
+		map.put("second", null);
+		map.put("name", "other");
+
+		assertCompiled(methodOn(Sample.class).map("name", map, "last"),
+				"http://localhost/sample/map?name=name&name=other&first=value&second&last=last");
+
+		MultiValueMap<String, String> multiValueMap = new LinkedMultiValueMap<String, String>();
+		multiValueMap.put("first", Arrays.asList("a", "b"));
+		multiValueMap.put("last", Arrays.asList("c"));
+
+		assertCompiled(methodOn(Sample.class).multiValueMap(multiValueMap, "d"),
+				"http://localhost/sample/multi?first=a&first=b&last=c&last=d");
+	}
+
+	@Test
+	public void bindsTypeLevelParameters() {
+
+		assertCompiled(methodOn(Parameterized.class, "people", 4711).show(1L), "http://localhost/people/4711/1");
+		assertCompiled(methodOn(Parameterized.class, "people", "with blank").show(1L), null);
+		// method level binding wins over the type level parameter
+		assertCompiled(methodOn(Parameterized.class, "people", 4711).overlap(42L), "http://localhost/people/42/42");
+	}
+
+	@Test
+	public void fallsBackForMissingTypeLevelParameters() {
+		assertFallsBack(methodOn(Parameterized.class, "people", null).show(1L));
+	}
+
+	@Test
+	public void appliesUriComponentsContributors() {
+
+		contributors = new UriComponentsContributors(Arrays.asList(new QueryContributor()));
+
+		assertCompiled(methodOn(Sample.class).contributed("foo", new Special("bar")),
+				"http://localhost/sample/contributed?name=foo&name=bar");
+
+		contributors = new UriComponentsContributors(Arrays.asList(new QueryContributor() {
+
+			@Override
+			public void enhance(UriComponentsBuilder builder, MethodParameter parameter, Object value) {
+				builder.fragment("fragment");
+			}
+		}));
+
+		assertFallsBack(methodOn(Sample.class).contributed("foo", new Special("bar")));
+	}
+
+	@Test
+	public void usesRequestBaseUri() {
+
+		request.setContextPath("/context");
+		request.setServletPath("/servlet");
+		request.setRequestURI("/context/servlet/foo");
+		request.addHeader("X-Forwarded-Host", "example.com:8080");
+
+		assertCompiled(methodOn(Sample.class).path(1L, "foo"), "http://example.com:8080/context/servlet/sample/1/foo");
+	}
+
+	@Test
+	public void fallsBackForBaseUrisRequiringEncoding() {
+
+		BaseUris.setBaseUri("http://localhost/with%20blank");
+
+		// the general code path encodes the base URI once more, FastLinks render it as is
+		assertFallsBack(methodOn(Sample.class).path(1L, "foo"), "http://localhost/with%20blank/sample/1/foo");
+	}
+
+	@Test
+	public void fallsBackForUncompilableMappings() {
+
+		assertFallsBack(methodOn(Relative.class).relative(1L));
+		assertFallsBack(methodOn(Sample.class).dotSegment(1L));
+	}
+
+	/**
+	 * Asserts the given invocation is rendered by the compiled template and yields the same link or exception as the
+	 * general code path.
+	 * 
+	 * @param expected the expected link, {@literal null} to only compare the code paths.
+	 */
+	private void assertCompiled(Object invocation, String expected) {
+		assertCompiled(invocation, expected, null);
+	}
+
+	/**
+	 * Asserts the given invocation is rendered by the compiled template and yields the same link or exception as the
+	 * general code path.
+	 * 
+	 * @param expected the expected link, {@literal null} to only compare the code paths.
+	 * @param expectedFastLink the link {@link FastLinks} are documented to render differently, {@literal null} if they
+	 *          have to render the same one.
+	 */
+	private void assertCompiled(Object invocation, String expected, String expectedFastLink) {
+
+		String general = render(invocation, false);
+		String compiled = render(invocation, true);
+
+		assertThat(compiled, is(general));
+		assertFastLink(invocation, expectedFastLink == null ? general : expectedFastLink);
+
+		if (!general.startsWith("!")) {
+			assertThat(expandTemplate((LastInvocationAware) invocation), is(general));
+		}
+
+		if (expected != null) {
+			assertThat(general, is(expected));
+		}
+	}
+
+	private void assertFallsBack(Object invocation) {
+		assertFallsBack(invocation, null);
+	}
+
+	/**
+	 * Asserts the compiled template falls back to the general code path for the given invocation.
+	 * 
+	 * @param expectedFastLink the link {@link FastLinks} are documented to render differently, {@literal null} if they
+	 *          have to render the same one.
+	 */
+	private void assertFallsBack(Object invocation, String expectedFastLink) {
+
+		String general = render(invocation, false);
+
+		assertThat(expandTemplate((LastInvocationAware) invocation), is(nullValue()));
+		assertThat(render(invocation, true), is(general));
+		assertFastLink(invocation, expectedFastLink == null ? general : expectedFastLink);
+	}
+
+	/**
+	 * Asserts the {@link FastLinkTemplate} of the given invocation, with and without generated writer, yields the given
+	 * link or rejects it, as {@link FastLinks} don't encode values and only take query parameters from contributors.
+	 */
+	private void assertFastLink(Object invocation, String expected) {
+
+		for (boolean generateWriters : new boolean[] { false, true }) {
+
+			assertThat(renderFast((LastInvocationAware) invocation, generateWriters),
+					anyOf(is(expected), startsWith("!" + IllegalArgumentException.class.getName()),
+							startsWith("!" + IllegalStateException.class.getName())));
+		}
+	}
+
+	/**
+	 * Renders the link to the given invocation or the exception building it fails with.
+	 */
+	private String render(Object invocation, boolean compileTemplates) {
+
+		ControllerLinkBuilderFactory factory = new ControllerLinkBuilderFactory();
+		factory.setUriComponentsContributors(contributors.getContributors());
+		factory.setCompileTemplates(compileTemplates);
+
+		try {
+			return factory.linkTo(invocation).toString();
+		} catch (RuntimeException e) {
+			return "!" + e.getClass().getName() + ": " + e.getMessage();
+		}
+	}
+
+	/**
+	 * Renders the link to the given invocation through a {@link FastLinkTemplate} or the exception building it fails
+	 * with.
+	 */
+	private String renderFast(LastInvocationAware invocations, boolean generateWriters) {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setUriComponentsContributors(contributors.getContributors());
+		factory.setGenerateWriters(generateWriters);
+
+		MethodInvocation invocation = invocations.getLastInvocation();
+		List<Object> objectParameters = getObjectParameters(invocations);
+
+		try {
+			return factory.createLinkTemplate(invocation.getTargetType(), invocation.getMethod(), objectParameters.size())
+					.build(invocation.getArguments(), objectParameters);
+		} catch (RuntimeException e) {
+			return "!" + e.getClass().getName() + ": " + e.getMessage();
+		}
+	}
+
+	private String expandTemplate(LastInvocationAware invocations) {
+
+		MethodInvocation invocation = invocations.getLastInvocation();
+		List<Object> objectParameters = getObjectParameters(invocations);
+
+		FastLinkTemplate template = new FastLinkTemplateFactory().createEncodingLinkTemplate(invocation.getTargetType(),
+				invocation.getMethod(), objectParameters.size());
+
+		if (template == null) {
+			return null;
+		}
+
+		template.setContributions(contributors.getContributions(invocation.getMethod()));
+
+		return template.expand(ControllerLinkBuilder.getBaseUriString(), invocation.getArguments(), objectParameters);
+	}
+
+	private static List<Object> getObjectParameters(LastInvocationAware invocations) {
+
+		List<Object> objectParameters = new ArrayList<Object>();
+
+		for (Iterator<Object> iterator = invocations.getObjectParameters(); iterator.hasNext();) {
+			objectParameters.add(iterator.next());
+		}
+
+		return objectParameters;
+	}
+
+	enum Letter {
+
+		A, B {
+
+			@Override
+			public String toString() {
+				return "bee";
+			}
+		};
+	}
+
+	static class Special {
+
+		final String value;
+
+		Special(String value) {
+			this.value = value;
+		}
+	}
+
+	static class QueryContributor implements UriComponentsContributor {
+
+		@Override
+		public boolean supportsParameter(MethodParameter parameter) {
+			return Special.class.equals(parameter.getParameterType());
+		}
+
+		@Override
+		public void enhance(UriComponentsBuilder builder, MethodParameter parameter, Object value) {
+			builder.queryParam("name", ((Special) value).value);
+		}
+	}
+
+	@RequestMapping("/sample")
+	interface Sample {
+
+		@RequestMapping("/{id}/{name}")
+		HttpEntity<?> path(@PathVariable("id") Long id, @PathVariable("name") String name);
+
+		@RequestMapping("/{id}/{value}.{count}")
+		HttpEntity<?> extension(@PathVariable("id") UUID id, @PathVariable("value") double value,
+				@PathVariable("count") short count);
+
+		@RequestMapping("/regex/{id:\\d+}")
+		HttpEntity<?> regex(@PathVariable("id") Long id);
+
+		@RequestMapping("/{id}/")
+		HttpEntity<?> trailingSlash(@PathVariable("id") Long id);
+
+		@RequestMapping("/{first}/{second}")
+		HttpEntity<?> enums(@PathVariable("first") Letter first, @PathVariable("second") Letter second);
+
+		@RequestMapping("/{date}")
+		HttpEntity<?> date(@PathVariable("date") @DateTimeFormat(iso = ISO.DATE) Date date);
+
+		@RequestMapping("/query")
+		HttpEntity<?> query(@RequestParam(value = "first", required = false) String first,
+				@RequestParam("second") Long second, @RequestParam(value = "third", required = false) Letter third);
+
+		@RequestMapping("/list")
+		HttpEntity<?> list(@RequestParam("letters") List<Letter> letters);
+
+		@RequestMapping("/array")
+		HttpEntity<?> array(@RequestParam("letters") Letter[] letters);
+
+		@RequestMapping("/same")
+		HttpEntity<?> sameName(@RequestParam("name") String first, @RequestParam("other") String second,
+				@RequestParam("name") String third);
+
+		@RequestMapping("/map")
+		HttpEntity<?> map(@RequestParam("name") String name, @RequestParam Map<String, String> map,
+				@RequestParam("last") String last);
+
+		@RequestMapping("/multi")
+		HttpEntity<?> multiValueMap(@RequestParam MultiValueMap<String, String> map, @RequestParam("last") String last);
+
+		@RequestMapping("/contributed")
+		HttpEntity<?> contributed(@RequestParam("name") String name, Special special);
+
+		@RequestMapping("/../{id}")
+		HttpEntity<?> dotSegment(@PathVariable("id") Long id);
+	}
+
+	interface Relative {
+
+		@RequestMapping("relative/{id}")
+		HttpEntity<?> relative(@PathVariable("id") Long id);
+	}
+
+	@RequestMapping("/{type}/{id}")
+	interface Parameterized {
+
+		@RequestMapping("/{detail}")
+		HttpEntity<?> show(@PathVariable("detail") Long detail);
+
+		@RequestMapping("/{id}")
+		HttpEntity<?> overlap(@PathVariable("id") Long id);
+	}
+}
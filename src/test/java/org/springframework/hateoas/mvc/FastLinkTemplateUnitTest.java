@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+
+import org.junit.Test;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.hateoas.mvc.FastLinkTemplate.ConversionServiceEncoder;
+import org.springframework.hateoas.mvc.FastLinkTemplate.Encoder;
+import org.springframework.hateoas.mvc.FastLinkTemplate.EnumEncoder;
+import org.springframework.hateoas.mvc.FastLinkTemplate.PrimitiveEncoder;
+import org.springframework.hateoas.mvc.FastLinkTemplate.Type;
+import org.springframework.hateoas.mvc.FastLinkTemplate.UuidEncoder;
+
+/**
+ * Unit tests for the {@link Encoder}s of {@link FastLinkTemplate}.
+ */
+public class FastLinkTemplateUnitTest {
+
+	@Test
+	public void primitiveEncoderAppendsToStringRepresentation() {
+
+		Object[] values = { Long.MIN_VALUE, 0L, Integer.MAX_VALUE, (short) -3, (byte) 7, 2.5d, Double.NaN, -1.0E10d,
+				0.1f, Float.NEGATIVE_INFINITY, true, false };
+
+		for (Object value : values) {
+			assertAppends(PrimitiveEncoder.INSTANCE, value, value.toString());
+		}
+	}
+
+	@Test
+	public void uuidEncoderAppendsCanonicalRepresentation() {
+
+		UUID[] values = { new UUID(0L, 0L), new UUID(1L, 2L), new UUID(-1L, -1L), UUID.randomUUID(),
+				UUID.fromString("00000000-0000-0001-0000-000000000002") };
+
+		for (UUID value : values) {
+			assertAppends(UuidEncoder.INSTANCE, value, value.toString());
+		}
+	}
+
+	@Test
+	public void enumEncoderAppendsName() {
+
+		EnumEncoder encoder = new EnumEncoder(Sample.class, Type.PATH_SEGMENT);
+
+		assertAppends(encoder, Sample.PLAIN, "PLAIN");
+		assertAppends(encoder, Sample.WITH_BODY, "WITH_BODY");
+
+		try {
+			encoder.encode(Sample.\u00DCMLAUT);
+			fail("Expected IllegalArgumentException!");
+		} catch (IllegalArgumentException e) {}
+	}
+
+	@Test
+	public void conversionServiceEncoderEncodesConvertedValue() {
+
+		ConversionServiceEncoder encoder = new ConversionServiceEncoder(Type.PATH_SEGMENT,
+				TypeDescriptor.valueOf(StringBuilder.class));
+
+		assertAppends(encoder, new StringBuilder("with blank"), "with%20blank");
+	}
+
+	private static void assertAppends(Encoder encoder, Object value, String expected) {
+
+		StringBuilder buf = new StringBuilder("prefix");
+		encoder.append(buf, value);
+
+		assertThat(buf.toString(), is("prefix" + expected));
+		assertThat(encoder.encode(value), is(expected));
+	}
+
+	enum Sample {
+
+		PLAIN, WITH_BODY {
+
+			@Override
+			public String toString() {
+				return "with body";
+			}
+		},
+		\u00DCMLAUT;
+	}
+}
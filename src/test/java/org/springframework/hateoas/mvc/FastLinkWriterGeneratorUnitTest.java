@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.mvc.FastLinksUnitTest.ObjectParamController;
+import org.springframework.hateoas.mvc.FastLinksUnitTest.SampleController;
+import org.springframework.hateoas.mvc.FastLinksUnitTest.TestEnum;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Unit tests for {@link FastLinkWriterGenerator}.
+ */
+public class FastLinkWriterGeneratorUnitTest extends TestUtils {
+
+	static final List<Object> NO_OBJECT_PARAMETERS = Collections.emptyList();
+
+	@Test
+	public void generatedWriterBuildsSameLinksAsComponents() {
+
+		assertSameLinks(SampleController.class, "sampleMethod", new Class<?>[] { Long.class, Long.class, Long.class },
+				NO_OBJECT_PARAMETERS, 1L, 2L, 3L);
+		assertSameLinks(SampleController.class, "optionalParam", new Class<?>[] { Long.class, Long.class, Long.class },
+				NO_OBJECT_PARAMETERS, 1L, 2L, null);
+		assertSameLinks(SampleController.class, "listParam", new Class<?>[] { Long.class, List.class },
+				NO_OBJECT_PARAMETERS, 1L, Arrays.asList(2L, 3L));
+		assertSameLinks(SampleController.class, "arrayParam", new Class<?>[] { Long.class, TestEnum[].class },
+				NO_OBJECT_PARAMETERS, 1L, new TestEnum[] { TestEnum.VALUE1, TestEnum.VALUE2 });
+		assertSameLinks(SampleController.class, "sampleMethodTime", new Class<?>[] { Date.class },
+				NO_OBJECT_PARAMETERS, new Date(0));
+		assertSameLinks(SampleController.class, "encodedParams", new Class<?>[] { String.class, String.class },
+				NO_OBJECT_PARAMETERS, "foo", "b%20r");
+		assertSameLinks(ObjectParamController.class, "sampleMethodTime", new Class<?>[] { Long.class },
+				Arrays.<Object> asList("context"), 1L);
+	}
+
+	@Test
+	public void generatedWriterRejectsMissingPathParameter() {
+
+		FastLinkTemplate template = createTemplate(SampleController.class, "sampleMethod", 0, Long.class, Long.class,
+				Long.class);
+		assertThat(template.generateWriter(), is(true));
+
+		try {
+			template.build(new Object[] { null, 1L, 2L }, NO_OBJECT_PARAMETERS);
+			fail("Expected IllegalArgumentException!");
+		} catch (IllegalArgumentException e) {}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void fallsBackToComponentsForMissingArguments() {
+
+		FastLinkTemplate template = createTemplate(SampleController.class, "sampleMethod", 0, Long.class, Long.class,
+				Long.class);
+		assertThat(template.generateWriter(), is(true));
+
+		template.build(new Object[] { 1L }, NO_OBJECT_PARAMETERS);
+	}
+
+	@Test
+	public void cachingFactoryGeneratesWritersIfConfigured() {
+
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setGenerateWriters(true);
+
+		FastLinkTemplate template = factory.createLinkTemplate(SampleController.class,
+				ReflectionUtils.findMethod(SampleController.class, "listParam", Long.class, List.class), 0);
+
+		assertThat(template.hasWriter(), is(true));
+	}
+
+	@Test
+	public void reusesWriterClassesForTemplatesOfTheSameShape() {
+
+		FastLinkTemplate template = createTemplate(SampleController.class, "sampleMethod", 0, Long.class, Long.class,
+				Long.class);
+		FastLinkTemplate recompiled = createTemplate(SampleController.class, "sampleMethod", 0, Long.class, Long.class,
+				Long.class);
+
+		assertThat(template.generateWriter(), is(true));
+		assertThat(recompiled.generateWriter(), is(true));
+		assertThat(getWriter(recompiled).getClass(), is(equalTo((Object) getWriter(template).getClass())));
+		assertThat(getWriter(recompiled), is(not(sameInstance(getWriter(template)))));
+	}
+
+	private static Object getWriter(FastLinkTemplate template) {
+		return ReflectionTestUtils.getField(template, "writer");
+	}
+
+	private static void assertSameLinks(Class<?> type, String methodName, Class<?>[] parameterTypes,
+			List<Object> objectParameters, Object... arguments) {
+
+		FastLinkTemplate template = createTemplate(type, methodName, objectParameters.size(), parameterTypes);
+		String expected = template.build(arguments, objectParameters);
+
+		assertThat(template.generateWriter(), is(true));
+		assertThat(template.build(arguments, objectParameters), is(expected));
+	}
+
+	private static FastLinkTemplate createTemplate(Class<?> type, String methodName, int objectParameterCount,
+			Class<?>... parameterTypes) {
+		return new FastLinkTemplateFactory().createLinkTemplate(type,
+				ReflectionUtils.findMethod(type, methodName, parameterTypes), objectParameterCount);
+	}
+}
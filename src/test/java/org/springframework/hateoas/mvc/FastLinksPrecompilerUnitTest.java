@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Unit tests for {@link FastLinksPrecompiler}.
+ */
+public class FastLinksPrecompilerUnitTest {
+
+	@Test
+	public void compilesTemplatesForAllHandlerMethodsOnRefresh() {
+
+		FastLinksPrecompiler precompiler = new FastLinksPrecompiler(new FastLinkTemplateCachingFactory());
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(PeopleController.class, AddressController.class);
+		context.addApplicationListener(precompiler);
+		precompiler.setApplicationContext(context);
+
+		try {
+			context.refresh();
+			// 2 methods of PeopleController, 1 method of AddressController with and without type parameter
+			assertThat(precompiler.getCompiledTemplates(), is(4));
+		} finally {
+			context.close();
+		}
+	}
+
+	@Test
+	public void rejectsMappingsThatCannotBeCompiled() {
+
+		FastLinksPrecompiler precompiler = new FastLinksPrecompiler(new FastLinkTemplateCachingFactory());
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(InvalidController.class);
+		context.addApplicationListener(precompiler);
+		precompiler.setApplicationContext(context);
+
+		try {
+			context.refresh();
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), containsString("unbound"));
+		} finally {
+			context.close();
+		}
+	}
+
+	@Test
+	public void onlyReportsFailuresIfConfigured() {
+
+		FastLinksPrecompiler precompiler = new FastLinksPrecompiler(new FastLinkTemplateCachingFactory());
+		precompiler.setFailOnError(false);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(InvalidController.class, PeopleController.class);
+		context.addApplicationListener(precompiler);
+		precompiler.setApplicationContext(context);
+
+		try {
+			context.refresh();
+			assertThat(precompiler.getCompiledTemplates(), is(2));
+		} finally {
+			context.close();
+		}
+	}
+
+	@Controller
+	@RequestMapping("/people")
+	static class PeopleController {
+
+		@RequestMapping("/{id}")
+		HttpEntity<?> person(@PathVariable("id") Long id) {
+			return null;
+		}
+
+		@RequestMapping
+		HttpEntity<?> people(@RequestParam("page") int page) {
+			return null;
+		}
+
+		void noHandlerMethod() {}
+	}
+
+	@Controller
+	@RequestMapping("/people/{id}/addresses")
+	static class AddressController {
+
+		@RequestMapping("/{type}")
+		HttpEntity<?> address(@PathVariable("id") Long id, @PathVariable("type") String type) {
+			return null;
+		}
+	}
+
+	@Controller
+	static class InvalidController {
+
+		@RequestMapping("/{unbound}")
+		HttpEntity<?> invalid() {
+			return null;
+		}
+	}
+}
@@ -20,8 +20,12 @@ import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.core.BaseUris;
+import org.springframework.hateoas.core.DeferredLink;
 import org.springframework.hateoas.mvc.ControllerLinkBuilderUnitTest.ControllerWithMethods;
 import org.springframework.http.HttpEntity;
 import org.springframework.util.LinkedMultiValueMap;
@@ -29,12 +33,15 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.util.UriUtils;
 
 import java.io.UnsupportedEncodingException;
 import java.util.*;
 
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.joda.time.format.ISODateTimeFormat.date;
 import static org.joda.time.format.ISODateTimeFormat.dateTime;
 import static org.junit.Assert.assertEquals;
@@ -162,7 +169,7 @@ public class FastLinksUnitTest extends TestUtils {
 
 	@Test
 	public void optionalParameters() {
-		String link = FastLinks.linkTo(methodOn(SampleController.class).sampleMethod(1L, 2L, null));
+		String link = FastLinks.linkTo(methodOn(SampleController.class).optionalParam(1L, 2L, null));
 
 		assertThat(link, endsWith("/sample/1?id1=2"));
 	}
@@ -205,40 +212,67 @@ public class FastLinksUnitTest extends TestUtils {
 		assertThat(link, endsWith("/sample/1?values=VALUE1&values=VALUE2"));
 	}
 
-	@Test(expected = IllegalArgumentException.class)
-	public void mapsInLinksAreNotSupported() {
+	@Test
+	public void mapParameters() {
 		Map<String, String> queryParams = new LinkedHashMap<String, String>();
 		queryParams.put("firstKey", "firstValue");
 		queryParams.put("secondKey", "secondValue");
 
-		FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMap(queryParams));
+		String link = FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMap(queryParams));
+		assertThat(link, endsWith("/sample/mapsupport?firstKey=firstValue&secondKey=secondValue"));
 	}
 
 	@Test
 	public void mapsAreOkWhenTheyAreNull() {
-		String link = FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMap(null));
+		String link = FastLinks.linkTo(methodOn(SampleController.class).optionalMap(null));
 		assertThat(link, endsWith("/sample/mapsupport"));
 	}
 
 	@Test(expected = IllegalArgumentException.class)
-	public void multimapsInListAreNotSupported() {
+	public void rejectsMissingRequiredMaps() {
+		FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMap(null));
+	}
+
+	@Test
+	public void multimapParameters() {
 		MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
 		queryParams.put("key1", Arrays.asList("value1a", "value1b"));
 		queryParams.put("key2", Arrays.asList("value2a", "value2b"));
 
-		FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMultimap(queryParams));
+		String link = FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMultimap(queryParams));
+		assertThat(link, endsWith("/sample/multivaluemapsupport?key1=value1a&key1=value1b&key2=value2a&key2=value2b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMissingRequiredParameters() {
+		FastLinks.linkTo(methodOn(SampleController.class).sampleMethod(1L, null, 2L));
+	}
+
+	@Test
+	public void methodParametersWinOverObjectParams() {
+		String link = FastLinks.linkTo(methodOn(ObjectParamController.class, "objectParam").overlap("method"));
+
+		assertEquals("http://localhost/method/sample", link);
+	}
+
+	@Test
+	public void moreSimpleTypes() {
+		UUID uuid = UUID.randomUUID();
+		String link = FastLinks.linkTo(methodOn(SampleController.class).simpleTypes(uuid, (short) 1, 2.5d));
+
+		assertThat(link, endsWith("/sample/" + uuid + "/1?value=2.5"));
 	}
 
 	@Test
 	public void multimapsAreOkWhenTheyAreNull() {
-		String link = FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMultimap(null));
+		String link = FastLinks.linkTo(methodOn(SampleController.class).optionalMultimap(null));
 		assertThat(link, endsWith("/sample/multivaluemapsupport"));
 	}
 
 	@Test
 	public void subclassing() {
-		String link1 = FastLinks.linkTo(methodOn(SampleController.class).sampleMethodWithMultimap(null));
-		String link2 = FastLinks.linkTo(methodOn(SampleSubController.class).sampleMethodWithMultimap(null));
+		String link1 = FastLinks.linkTo(methodOn(SampleController.class).optionalMultimap(null));
+		String link2 = FastLinks.linkTo(methodOn(SampleSubController.class).optionalMultimap(null));
 		assertThat(link1, endsWith("/sample/multivaluemapsupport"));
 		assertThat(link2, endsWith("/sub/sample/multivaluemapsupport"));
 	}
@@ -250,6 +284,112 @@ public class FastLinksUnitTest extends TestUtils {
 		assertEquals("http://localhost/objectParam/sample/1", link);
 	}
 
+	@Test
+	public void rendersBaseUrisContainingEscapedCharactersAsIs() {
+		BaseUris.setBaseUri("http://localhost/with%20blank");
+
+		try {
+			String link = FastLinks.linkTo(methodOn(ObjectParamController.class, "objectParam").sampleMethodTime(1L));
+
+			assertEquals("http://localhost/with%20blank/objectParam/sample/1", link);
+		} finally {
+			BaseUris.reset();
+		}
+	}
+
+	@Test
+	public void templateHandleBuildsSameLinkAsMethodOn() {
+		FastLinkHandle handle = FastLinks.template(SampleController.class, "sampleMethod", Long.class, Long.class,
+				Long.class);
+
+		assertEquals(FastLinks.linkTo(methodOn(SampleController.class).sampleMethod(1L, 2L, 3L)),
+				handle.expand(1L, 2L, 3L));
+		assertThat(handle.expand(3L, 4L, 5L), endsWith("/sample/3?id1=4&id2=5"));
+	}
+
+	@Test
+	public void templateHandleBindsTypeParameters() {
+		FastLinkHandle handle = FastLinks.template(ObjectParamController.class, "sampleMethodTime", Long.class)
+				.withTypeParameters("objectParam");
+
+		assertEquals("http://localhost/objectParam/sample/1", handle.expand(1L));
+	}
+
+	@Test
+	public void deferredLinkRendersSameHrefAsLinkTo() {
+		Link link = FastLinks.link(methodOn(SampleController.class).sampleMethod(1L, 2L, 3L), "foo");
+
+		assertThat(link, is(instanceOf(DeferredLink.class)));
+		assertEquals("foo", link.getRel());
+		assertEquals(FastLinks.linkTo(methodOn(SampleController.class).sampleMethod(1L, 2L, 3L)), link.getHref());
+		assertEquals(new Link(link.getHref(), "foo"), link);
+	}
+
+	@Test
+	public void deferredLinkDoesNotSeeChangesToArguments() {
+		List<Long> ids = new ArrayList<Long>(Arrays.asList(2L, 3L));
+		Link link = FastLinks.link(methodOn(SampleController.class).listParam(1L, ids), "foo");
+		ids.add(4L);
+
+		assertThat(link.getHref(), endsWith("/sample/list?id=1&ids=2&ids=3"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void deferredLinkRejectsArgumentsWhenCreated() {
+		FastLinks.link(methodOn(SampleController.class).encodedParams("with blank", "foo"), "foo");
+	}
+
+	@Test
+	public void templateHandleCreatesDeferredLink() {
+		FastLinkHandle handle = FastLinks.template(ObjectParamController.class, "sampleMethodTime", Long.class)
+				.withTypeParameters("objectParam");
+
+		assertEquals("http://localhost/objectParam/sample/1", handle.link(Link.REL_SELF, 1L).getHref());
+	}
+
+	@Test
+	public void templateHandleUsesLinkFactoryOfCurrentRequest() {
+		FastLinkHandle handle = FastLinks.template(SampleController.class, "sampleMethod", Long.class, Long.class,
+				Long.class);
+		String href = handle.expand(1L, 2L, 3L);
+
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.refresh();
+		FastLinkTemplateCachingFactory factory = new FastLinkTemplateCachingFactory();
+		factory.setApplicationContext(context);
+		request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+
+		try {
+			assertEquals(href, handle.expand(1L, 2L, 3L));
+			assertThat(factory.size(), is(1));
+		} finally {
+			factory.destroy();
+			context.close();
+		}
+	}
+
+	@Test
+	public void templateHandleLinkDoesNotSeeChangesToArgumentsArray() {
+		FastLinkHandle handle = FastLinks.template(SampleController.class, "sampleMethod", Long.class, Long.class,
+				Long.class);
+
+		Object[] arguments = { 1L, 2L, 3L };
+		Link link = handle.link(Link.REL_SELF, arguments);
+		arguments[0] = 4L;
+
+		assertThat(link.getHref(), endsWith("/sample/1?id1=2&id2=3"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void templateHandleRejectsUnknownMethod() {
+		FastLinks.template(SampleController.class, "sampleMethod", String.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void templateHandleRejectsWrongNumberOfArguments() {
+		FastLinks.template(SampleController.class, "listParam", Long.class, List.class).expand(1L);
+	}
+
 	interface SampleController {
 
 		@RequestMapping("/sample/list")
@@ -264,6 +404,12 @@ public class FastLinksUnitTest extends TestUtils {
 		@RequestMapping("/sample/{id}")
 		HttpEntity<?> sampleMethod(@PathVariable("id") Long id, @RequestParam("id1") Long id1, @RequestParam("id2") Long id2);
 
+		@RequestMapping("/sample/{id}")
+		HttpEntity<?> optionalParam(@PathVariable("id") Long id, @RequestParam("id1") Long id1, @RequestParam(value = "id2", required = false) Long id2);
+
+		@RequestMapping("/sample/{id}/{count}")
+		HttpEntity<?> simpleTypes(@PathVariable("id") UUID id, @PathVariable("count") short count, @RequestParam("value") double value);
+
 		@RequestMapping("/sample/{date}")
 		HttpEntity<?> sampleMethodDate(@PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) DateMidnight time);
 
@@ -316,6 +462,12 @@ public class FastLinksUnitTest extends TestUtils {
 
 		@RequestMapping("/sample/multivaluemapsupport")
 		HttpEntity<?> sampleMethodWithMultimap(@RequestParam MultiValueMap<String, String> queryParams);
+
+		@RequestMapping("/sample/mapsupport")
+		HttpEntity<?> optionalMap(@RequestParam(required = false) Map<String, String> queryParams);
+
+		@RequestMapping("/sample/multivaluemapsupport")
+		HttpEntity<?> optionalMultimap(@RequestParam(required = false) MultiValueMap<String, String> queryParams);
 	}
 
 	@RequestMapping("/sub")
@@ -327,6 +479,9 @@ public class FastLinksUnitTest extends TestUtils {
 		@RequestMapping("/sample/{id}")
 		HttpEntity<?> sampleMethodTime(@PathVariable("id") Long id);
 
+		@RequestMapping("/sample")
+		HttpEntity<?> overlap(@PathVariable("context") String context);
+
 	}
 
 	enum TestEnum {
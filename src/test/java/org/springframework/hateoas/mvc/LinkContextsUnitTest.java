@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.hateoas.TestUtils;
+import org.springframework.hateoas.core.LinkContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Unit tests for {@link LinkContext} and {@link LinkContexts}.
+ */
+public class LinkContextsUnitTest extends TestUtils {
+
+	ExecutorService pool = Executors.newFixedThreadPool(4);
+
+	@After
+	public void tearDown() {
+
+		pool.shutdownNow();
+		LinkContext.restore(null);
+	}
+
+	@Test
+	public void capturesBaseUriOfCurrentRequest() {
+
+		request.addHeader("X-Forwarded-Host", "api.example.com");
+		request.addHeader("X-Forwarded-Proto", "https");
+
+		assertThat(LinkContexts.capture().getBaseUri(), is(URI.create("https://api.example.com")));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsCaptureWithoutRequestOrContext() {
+
+		RequestContextHolder.resetRequestAttributes();
+		LinkContexts.capture();
+	}
+
+	@Test
+	public void buildsLinksOnWorkerThreadsOfPropagatingExecutor() throws Exception {
+
+		request.addHeader("X-Forwarded-Host", "api.example.com");
+
+		ExecutorService executor = LinkContexts.propagating(pool);
+		List<Future<String>> hrefs = new ArrayList<Future<String>>();
+
+		for (int i = 0; i < 20; i++) {
+
+			final long id = i;
+
+			hrefs.add(executor.submit(new Callable<String>() {
+
+				@Override
+				public String call() throws Exception {
+					return linkTo(methodOn(PersonController.class).show(id)).withSelfRel().getHref();
+				}
+			}));
+		}
+
+		for (int i = 0; i < hrefs.size(); i++) {
+			assertThat(hrefs.get(i).get(), is("http://api.example.com/people/" + i));
+		}
+	}
+
+	@Test
+	public void restoresPreviousContextAfterWrappedTask() throws Exception {
+
+		LinkContext outer = new LinkContext(URI.create("http://outer"));
+		LinkContext inner = new LinkContext(URI.create("http://inner"));
+
+		outer.bind();
+
+		String href = inner.wrap(new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				return linkTo(PersonController.class).withSelfRel().getHref();
+			}
+		}).call();
+
+		assertThat(href, is("http://inner/people"));
+		assertThat(LinkContext.getCurrent(), is(outer));
+		assertThat(linkTo(PersonController.class).withSelfRel().getHref(), is("http://outer/people"));
+	}
+
+	@Test
+	public void runsTasksAsTheyAreWithoutContextToCapture() throws Exception {
+
+		RequestContextHolder.resetRequestAttributes();
+
+		Future<LinkContext> context = LinkContexts.propagating(pool).submit(new Callable<LinkContext>() {
+
+			@Override
+			public LinkContext call() throws Exception {
+				return LinkContext.getCurrent();
+			}
+		});
+
+		assertThat(context.get(), is(nullValue()));
+	}
+
+	@Test
+	public void runsTasksAsTheyAreWithNonServletRequest() throws Exception {
+
+		RequestContextHolder.setRequestAttributes(mock(RequestAttributes.class));
+
+		Future<LinkContext> context = LinkContexts.propagating(pool).submit(new Callable<LinkContext>() {
+
+			@Override
+			public LinkContext call() throws Exception {
+				return LinkContext.getCurrent();
+			}
+		});
+
+		assertThat(context.get(), is(nullValue()));
+	}
+
+	@RequestMapping("/people")
+	static class PersonController {
+
+		@RequestMapping("/{id}")
+		HttpEntity<Void> show(@PathVariable Long id) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link MappingLinkTemplate}.
+ */
+public class MappingLinkTemplateUnitTest {
+
+	static final String[] BASES = { "http://localhost", "https://foo.example.com:8080/context/servlet" };
+	static final String[] MAPPINGS = { "/people", "/people/{id}/addresses", "people/{id}", "/a//b/", "/",
+			"/v{version}/x", "/{a}{b}", "/{id:[0-9]+}" };
+	static final Object[][] PARAMETERS = { { 15, 2L }, { "abc", "def" }, { "a.b", "~c" }, { "x-y_z", "..." } };
+	static final Object[][] ENCODED_PARAMETERS = { { "with blank", "a;b=c" }, { "\u00e4\u20ac", "\ud83d\ude00" },
+			{ "50%", "a+b&c" }, { "@!$'()*,", "\"<>[]\\^`|" } };
+
+	@Test
+	public void rendersSameUriAsUriComponentsExpansion() {
+
+		for (String base : BASES) {
+			for (String mapping : MAPPINGS) {
+				for (Object[] parameters : PARAMETERS) {
+
+					String href = MappingLinkTemplate.compile(mapping).expand(base, parameters);
+
+					assertThat(href, is(notNullValue()));
+					assertThat(href, is(expand(base, mapping, parameters)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void encodesValuesLikeUriComponentsExpansion() {
+
+		for (String mapping : MAPPINGS) {
+			for (Object[] parameters : ENCODED_PARAMETERS) {
+
+				String href = MappingLinkTemplate.compile(mapping).expand("http://localhost", parameters);
+
+				assertThat(href, is(notNullValue()));
+				assertThat(href, is(expand("http://localhost", mapping, parameters)));
+			}
+		}
+	}
+
+	@Test
+	public void fallsBackForValuesRequiringEncodingIfDisabled() {
+
+		MappingLinkTemplate template = MappingLinkTemplate.compile("/people/{id}", false);
+
+		assertThat(template.expand("http://localhost", new Object[] { "with blank" }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { "\u00e4" }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { "abc" }), is("http://localhost/people/abc"));
+	}
+
+	@Test
+	public void fallsBackForValuesSpanningSegmentsOrRequiringNormalization() {
+
+		MappingLinkTemplate template = MappingLinkTemplate.compile("/people/{id}");
+
+		assertThat(template.expand("http://localhost", new Object[] { "a/b" }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { "a?b" }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { "a#b" }), is(nullValue()));
+		assertThat(MappingLinkTemplate.compile("{id}").expand("http://localhost", new Object[] { "a:b" }),
+				is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { ".." }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { "" }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[] { null }), is(nullValue()));
+		assertThat(template.expand("http://localhost", new Object[0]), is(nullValue()));
+		assertThat(template.expand("http://localhost", null), is(nullValue()));
+	}
+
+	@Test
+	public void fallsBackForNonSimpleBaseUris() {
+
+		MappingLinkTemplate template = MappingLinkTemplate.compile("/people");
+
+		assertThat(template.expand("http://localhost/", new Object[0]), is(nullValue()));
+		assertThat(template.expand("http://localhost/foo%20bar", new Object[0]), is(nullValue()));
+		assertThat(template.expand("http://localhost?foo", new Object[0]), is(nullValue()));
+		assertThat(template.expand("http://[::1]:8080", new Object[0]), is(nullValue()));
+		assertThat(template.expand("/relative", new Object[0]), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotCompileMappingsRequiringEncodingOrParsing() {
+
+		assertThat(MappingLinkTemplate.compile(null).isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/foo bar").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/foo?bar").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/foo#bar").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/foo/../bar").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("//host/foo").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("http://host/foo").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/{?query}").isCompiled(), is(false));
+		assertThat(MappingLinkTemplate.compile("/{}").isCompiled(), is(false));
+	}
+
+	private static String expand(String base, String mapping, Object... parameters) {
+
+		UriComponents components = UriComponentsBuilder.fromUriString(mapping).build().expand(parameters);
+		return new ControllerLinkBuilder(UriComponentsBuilder.fromUriString(base)).slash(components).toString();
+	}
+}